@@ -6,4 +6,5 @@ import lombok.experimental.UtilityClass;
 public class AppHeaders {
   public static final String RESPONSE_TIME_HEADER = "X-Response-Time";
   public static final String API_KEY_HEADER = "Api-Key";
+  public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
 }
@@ -0,0 +1,52 @@
+package com.mycompany.microservice.api.controllers.management;
+
+import com.mycompany.microservice.api.constants.AppUrls;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.responses.management.AuditTrailManagementResponse;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess;
+import com.mycompany.microservice.api.services.AuditTrailService;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping(AuditTrailManagementController.BASE_URL)
+@RequiredArgsConstructor
+public class AuditTrailManagementController {
+  public static final String BASE_URL = AppUrls.MANAGEMENT + "/audit-trail";
+
+  private final AuditTrailService service;
+
+  /*
+   * ex: ?entity=company&id=1&from=2024-01-01T00:00:00&to=2024-02-01T00:00:00
+   * */
+  @ResponseStatus(HttpStatus.OK)
+  @GetMapping
+  public ApiListPaginationSuccess<AuditTrailManagementResponse> findAll(
+      @RequestParam("entity") final String entityName,
+      @RequestParam(value = "id", required = false) final Long entityId,
+      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime from,
+      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime to,
+      @PageableDefault(sort = "occurredAt", direction = Sort.Direction.DESC)
+          final Pageable pageable) {
+    log.debug(
+        "[request] retrieve audit trail of {} {} from {} to {}", entityName, entityId, from, to);
+    return ApiListPaginationSuccess.of(
+        this.service.findAll(entityName, entityId, from, to, pageable),
+        AuditTrailManagementResponse::of,
+        PaginationCountEnum.EXACT);
+  }
+}
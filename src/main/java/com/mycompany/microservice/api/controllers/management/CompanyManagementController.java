@@ -7,10 +7,14 @@ import com.mycompany.microservice.api.mappers.CompanyMapper;
 import com.mycompany.microservice.api.requests.management.CreateCompanyManagementRequest;
 import com.mycompany.microservice.api.requests.management.UpdateCompanyManagementRequest;
 import com.mycompany.microservice.api.responses.management.CompanyManagementResponse;
+import com.mycompany.microservice.api.services.CompanyImportService;
+import com.mycompany.microservice.api.services.CompanyImportService.ImportReport;
 import com.mycompany.microservice.api.services.CompanyService;
+import java.io.InputStream;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -28,4 +32,16 @@ public class CompanyManagementController
 
   @Getter private final CompanyService service;
   @Getter private final CompanyMapper mapper;
+  private final CompanyImportService importService;
+
+  /*
+   * text/csv body with a header row, columns are the create request properties.
+   * Conflicting rows are skipped and reported.
+   * */
+  @ResponseStatus(HttpStatus.OK)
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ImportReport importCsv(final InputStream csv) {
+    log.info("[request] import companies");
+    return this.importService.importCsv(csv);
+  }
 }
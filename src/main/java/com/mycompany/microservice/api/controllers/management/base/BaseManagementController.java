@@ -1,16 +1,42 @@
 package com.mycompany.microservice.api.controllers.management.base;
 
+import static com.mycompany.microservice.api.responses.shared.ApiListCursorSuccess.CURSOR_PARAMS;
+import static com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess.PaginationLink.COUNT_PARAMS;
+import static java.lang.String.format;
+
 import com.mycompany.microservice.api.entities.base.BaseEntity;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
 import com.mycompany.microservice.api.mappers.base.ManagementBaseMapper;
+import com.mycompany.microservice.api.responses.shared.ApiListCursorSuccess;
 import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess;
 import com.mycompany.microservice.api.services.base.BaseService;
+import com.mycompany.microservice.api.utils.CursorUtils;
+import com.querydsl.core.types.Predicate;
 import jakarta.persistence.Table;
 import jakarta.validation.Valid;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -24,6 +50,13 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public abstract class BaseManagementController<E extends BaseEntity, C, U, R> {
 
+  public static final String FIELDS_PARAMS = "fields";
+  public static final String FILTER_PARAMS = "filter";
+
+  private static final String ID = "id";
+
+  private Set<String> projectableFields;
+
   public abstract ManagementBaseMapper<E, C, U, R> getMapper();
 
   public abstract BaseService<E> getService();
@@ -36,13 +69,71 @@ public abstract class BaseManagementController<E extends BaseEntity, C, U, R> {
     return this.getMapper().toManagementResponse(entity);
   }
 
+  /*
+   * Sparse fieldset (ex: fields=id,slug,name), only the requested columns are selected.
+   * */
+  @ResponseStatus(HttpStatus.OK)
+  @GetMapping(value = "/{id}", params = FIELDS_PARAMS)
+  public Map<String, Object> findById(
+      @PathVariable("id") final Long id, @RequestParam(FIELDS_PARAMS) final String fields) {
+    log.debug("[request] retrieve {} with id {} and fields {}", this.getName(), id, fields);
+    return this.getService().findById(id, this.getFields(fields));
+  }
+
   @ResponseStatus(HttpStatus.OK)
   @GetMapping
-  public ApiListPaginationSuccess<R> findAll(final Pageable pageable) {
-    log.debug("[request] retrieve all {}", this.getName());
-    final Page<E> entities = this.getService().findAll(pageable);
-    final Page<R> response = entities.map(this.getMapper()::toManagementResponse);
-    return ApiListPaginationSuccess.of(response);
+  public ApiListPaginationSuccess<R> findAll(
+      @RequestParam(value = COUNT_PARAMS, required = false) final String count,
+      @RequestParam(value = FILTER_PARAMS, required = false) final List<String> filters,
+      final Pageable pageable) {
+    log.debug("[request] retrieve all {} with filters {}", this.getName(), filters);
+    final PaginationCountEnum countStrategy =
+        count == null ? this.getDefaultPaginationCount() : PaginationCountEnum.fromName(count);
+    final Predicate predicate = this.getService().getFilterPredicate(filters);
+    final Slice<E> entities = this.getService().findAll(predicate, pageable, countStrategy);
+    return ApiListPaginationSuccess.of(
+        entities, this.getMapper()::toManagementResponse, countStrategy);
+  }
+
+  @ResponseStatus(HttpStatus.OK)
+  @GetMapping(params = {FIELDS_PARAMS, "!" + CURSOR_PARAMS})
+  public ApiListPaginationSuccess<Map<String, Object>> findAll(
+      @RequestParam(FIELDS_PARAMS) final String fields,
+      @RequestParam(value = COUNT_PARAMS, required = false) final String count,
+      @RequestParam(value = FILTER_PARAMS, required = false) final List<String> filters,
+      final Pageable pageable) {
+    log.debug("[request] retrieve all {} with fields {}", this.getName(), fields);
+    final PaginationCountEnum countStrategy =
+        count == null ? this.getDefaultPaginationCount() : PaginationCountEnum.fromName(count);
+    final Predicate predicate = this.getService().getFilterPredicate(filters);
+    final Slice<Map<String, Object>> response =
+        this.getService().findAll(this.getFields(fields), predicate, pageable, countStrategy);
+    return ApiListPaginationSuccess.of(response, countStrategy);
+  }
+
+  /*
+   * Opt-in keyset pagination, selected by the presence of the cursor param (empty for the first
+   * page). It seeks on the (sort key, id) index and never counts rows, offset pagination above is
+   * kept for UIs that need page numbers.
+   * */
+  @ResponseStatus(HttpStatus.OK)
+  @GetMapping(params = CURSOR_PARAMS)
+  public ApiListCursorSuccess<R> findAllByCursor(
+      @RequestParam(CURSOR_PARAMS) final String cursor,
+      @RequestParam(value = FIELDS_PARAMS, required = false) final String fields,
+      @RequestParam(value = FILTER_PARAMS, required = false) final List<String> filters,
+      final Pageable pageable) {
+    log.debug("[request] retrieve all {} by cursor", this.getName());
+    if (fields != null) {
+      throw new BadRequestException("fields is not supported with cursor pagination");
+    }
+    final Sort sort = this.getCursorSort(pageable.getSort());
+    final ScrollPosition position = CursorUtils.decode(cursor, this.getEntityClass(), sort);
+    final Predicate predicate = this.getService().getFilterPredicate(filters);
+    final Window<E> entities =
+        this.getService().findAll(predicate, position, sort, pageable.getPageSize());
+    final Window<R> response = entities.map(this.getMapper()::toManagementResponse);
+    return ApiListCursorSuccess.of(response, pageable);
   }
 
   @ResponseStatus(HttpStatus.CREATED)
@@ -65,11 +156,27 @@ public abstract class BaseManagementController<E extends BaseEntity, C, U, R> {
     return this.getMapper().toManagementResponse(entity);
   }
 
+  /*
+   * With an If-Match header holding the updatedAt of the entity, only the patched columns are
+   * updated in a single statement, 412 is returned if the entity was modified in between.
+   * */
   @ResponseStatus(HttpStatus.OK)
   @PatchMapping("/{id}")
-  public R patch(@PathVariable("id") final Long id, @RequestBody final U request) {
+  public R patch(
+      @PathVariable("id") final Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+      @RequestBody final U request) {
     log.info("[request] patch  '{}' {}", id, request);
 
+    if (ifMatch != null) {
+      final E changes =
+          this.getMapper().patch(request, BeanUtils.instantiateClass(this.getEntityClass()));
+      final E entity =
+          this.getService()
+              .patch(id, this.getVersion(ifMatch), changes, this.getPatchedProperties(request));
+      return this.getMapper().toManagementResponse(entity);
+    }
+
     final E original = this.getService().findById(id);
     final E merged = this.getMapper().patch(request, original);
     final E entity = this.getService().update(merged);
@@ -84,12 +191,106 @@ public abstract class BaseManagementController<E extends BaseEntity, C, U, R> {
     this.getService().delete(id);
   }
 
+  /*
+   * Count strategy used when the request does not define one, override it for large tables.
+   * */
+  protected PaginationCountEnum getDefaultPaginationCount() {
+    return PaginationCountEnum.EXACT;
+  }
+
+  /*
+   * Properties allowed as cursor sort key, each one must be indexed together with the id.
+   * */
+  protected Set<String> getCursorSortableProperties() {
+    return Set.of(ID, "createdAt", "updatedAt");
+  }
+
+  /*
+   * Properties allowed in sparse fieldsets, by default the response properties mapped to a column.
+   * */
+  protected Set<String> getProjectableFields() {
+    if (this.projectableFields == null) {
+      final Class<?> responseClass =
+          (Class<?>)
+              ((ParameterizedType) this.getClass().getGenericSuperclass())
+                  .getActualTypeArguments()[3];
+      this.projectableFields =
+          Arrays.stream(responseClass.getRecordComponents())
+              .map(RecordComponent::getName)
+              .filter(name -> ReflectionUtils.findField(this.getEntityClass(), name) != null)
+              .collect(Collectors.toUnmodifiableSet());
+    }
+    return this.projectableFields;
+  }
+
+  private List<String> getFields(final String fields) {
+    final List<String> requested =
+        Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(f -> !f.isEmpty())
+            .distinct()
+            .toList();
+
+    if (requested.isEmpty() || !this.getProjectableFields().containsAll(requested)) {
+      throw new BadRequestException(
+          format("fields must be a list of %s", new TreeSet<>(this.getProjectableFields())));
+    }
+    return requested;
+  }
+
+  private Set<String> getPatchedProperties(final U request) {
+    final Set<String> properties = new LinkedHashSet<>();
+    for (final RecordComponent component : request.getClass().getRecordComponents()) {
+      final Object value = ReflectionUtils.invokeMethod(component.getAccessor(), request);
+      if (value != null
+          && ReflectionUtils.findField(this.getEntityClass(), component.getName()) != null) {
+        properties.add(component.getName());
+      }
+    }
+
+    if (properties.isEmpty()) {
+      throw new BadRequestException("request does not have any property to update");
+    }
+    return properties;
+  }
+
+  private LocalDateTime getVersion(final String ifMatch) {
+    try {
+      return LocalDateTime.parse(StringUtils.removeStart(ifMatch.trim(), "W/").replace("\"", ""));
+    } catch (final DateTimeParseException ex) {
+      throw new BadRequestException(
+          format("%s must be the updatedAt of the entity", HttpHeaders.IF_MATCH));
+    }
+  }
+
+  private Sort getCursorSort(final Sort requested) {
+    final List<Sort.Order> orders =
+        requested.stream().filter(order -> !ID.equals(order.getProperty())).toList();
+
+    if (orders.isEmpty()) {
+      final Sort.Order idOrder = requested.getOrderFor(ID);
+      return Sort.by(idOrder != null ? idOrder : Sort.Order.asc(ID));
+    }
+
+    final Sort.Order order = orders.getFirst();
+    if (orders.size() > 1 || !this.getCursorSortableProperties().contains(order.getProperty())) {
+      throw new BadRequestException(
+          format(
+              "cursor pagination only supports sorting by one of %s",
+              this.getCursorSortableProperties()));
+    }
+
+    // The id is used as tie-breaker with the same direction to keep a single index scan.
+    return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+  }
+
   private String getName() {
-    final Class<E> entityModelClass =
-        (Class<E>)
-            ((ParameterizedType) this.getClass().getGenericSuperclass())
-                .getActualTypeArguments()[0];
-    final Table annotation = entityModelClass.getAnnotation(Table.class);
+    final Table annotation = this.getEntityClass().getAnnotation(Table.class);
     return annotation.name();
   }
+
+  private Class<E> getEntityClass() {
+    return (Class<E>)
+        ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+  }
 }
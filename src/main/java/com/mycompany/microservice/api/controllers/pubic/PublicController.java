@@ -1,7 +1,7 @@
 package com.mycompany.microservice.api.controllers.pubic;
 
 import com.mycompany.microservice.api.constants.AppUrls;
-import com.mycompany.microservice.api.rabbitmq.publishers.EventPublisher;
+import com.mycompany.microservice.api.services.OutboxService;
 import com.mycompany.microservice.api.services.WebhookSiteService;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +21,7 @@ import reactor.core.publisher.Mono;
 public class PublicController {
   public static final String BASE_URL = AppUrls.PUBLIC;
 
-  private final EventPublisher eventPublisher;
+  private final OutboxService outboxService;
   private final WebhookSiteService webhookSiteService;
 
   @Value("${rabbitmq.publishers.webhook.exchange}")
@@ -39,7 +39,7 @@ public class PublicController {
   @GetMapping("/publish")
   @ResponseStatus(HttpStatus.OK)
   public String publish() {
-    this.eventPublisher.publish(this.exchange, this.routingKey, Map.of("test", "test"));
+    this.outboxService.append(this.exchange, this.routingKey, Map.of("test", "test"));
     return "published";
   }
 
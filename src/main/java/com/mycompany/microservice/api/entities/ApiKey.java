@@ -5,6 +5,7 @@ import static com.mycompany.microservice.api.entities.ApiKey.TABLE_NAME;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mycompany.microservice.api.entities.base.BaseEntity;
 import io.hypersistence.utils.hibernate.id.BatchSequenceGenerator;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -19,6 +20,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -30,6 +34,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TABLE_NAME)
 @Table(name = TABLE_NAME, schema = "public")
 public class ApiKey extends BaseEntity {
   public static final String TABLE_NAME = "api_key";
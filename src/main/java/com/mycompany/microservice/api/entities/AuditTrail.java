@@ -0,0 +1,44 @@
+package com.mycompany.microservice.api.entities;
+
+import static com.mycompany.microservice.api.entities.AuditTrail.TABLE_NAME;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/*
+ * Read only, rows are written with COPY by the AuditTrailWriter.
+ * */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = TABLE_NAME, schema = "public")
+public class AuditTrail implements Serializable {
+  public static final String TABLE_NAME = "audit_trail";
+
+  @Serial private static final long serialVersionUID = -1538208746129841379L;
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private String entityName;
+
+  @Column(nullable = false)
+  private Long entityId;
+
+  @Column(nullable = false)
+  private String operation;
+
+  @Column private String auditor;
+
+  @Column(nullable = false)
+  private LocalDateTime occurredAt;
+}
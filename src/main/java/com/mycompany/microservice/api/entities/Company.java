@@ -6,6 +6,7 @@ import static org.apache.commons.lang3.StringUtils.getDigits;
 import com.mycompany.microservice.api.entities.base.BaseEntity;
 import com.mycompany.microservice.api.enums.UserRolesEnum;
 import io.hypersistence.utils.hibernate.id.BatchSequenceGenerator;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -27,6 +28,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Parameter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -40,6 +44,9 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TABLE_NAME)
 @Table(name = TABLE_NAME, schema = "public")
 public class Company extends BaseEntity {
   public static final String TABLE_NAME = "company";
@@ -103,7 +110,7 @@ public class Company extends BaseEntity {
 
   @PrePersist
   @PreUpdate
-  private void preSave() {
+  public void preSave() {
     this.phone = getDigits(this.phone);
     this.federalTaxId = getDigits(this.federalTaxId);
     this.stateTaxId = getDigits(this.stateTaxId);
@@ -0,0 +1,74 @@
+package com.mycompany.microservice.api.entities;
+
+import static com.mycompany.microservice.api.entities.OutboxEvent.TABLE_NAME;
+
+import io.hypersistence.utils.hibernate.id.BatchSequenceGenerator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+/*
+ * Message waiting to be published by the OutboxRelay, see OutboxService.
+ * */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = TABLE_NAME, schema = "public")
+public class OutboxEvent implements Serializable {
+  public static final String TABLE_NAME = "outbox_event";
+
+  @Serial private static final long serialVersionUID = 2471836092853196120L;
+
+  // rows are often inserted in bulk (ex: BaseService.updateWhere), ids are fetched by batch.
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = TABLE_NAME)
+  @GenericGenerator(
+      name = TABLE_NAME,
+      type = BatchSequenceGenerator.class,
+      parameters = {
+        @Parameter(name = "sequence", value = TABLE_NAME + "_id_seq"),
+        @Parameter(name = "fetch_size", value = "100")
+      })
+  private Long id;
+
+  @Column(nullable = false)
+  private String exchange;
+
+  @Column(nullable = false)
+  private String routingKey;
+
+  @Column(nullable = false)
+  private String payload;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  // managed by the OutboxRelay (see OutboxEventRepository), defaults on insert.
+  @Column(insertable = false, updatable = false)
+  private int attempts;
+
+  @Column(insertable = false, updatable = false)
+  private String lastError;
+
+  @Column(insertable = false, updatable = false)
+  private LocalDateTime availableAt;
+
+  @Column(insertable = false, updatable = false)
+  private LocalDateTime parkedAt;
+}
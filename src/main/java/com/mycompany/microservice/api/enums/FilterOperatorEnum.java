@@ -0,0 +1,40 @@
+package com.mycompany.microservice.api.enums;
+
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.querydsl.core.types.Ops;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * Operators of the management filter param (ex: filter=createdAt:gte:2024-01-01T00:00:00).
+ * Range operators are only allowed on numbers and dates.
+ * */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public enum FilterOperatorEnum {
+  EQ("eq", Ops.EQ, false),
+  GT("gt", Ops.GT, true),
+  GTE("gte", Ops.GOE, true),
+  LT("lt", Ops.LT, true),
+  LTE("lte", Ops.LOE, true);
+
+  private final String name;
+  private final Ops operator;
+  private final boolean range;
+
+  public static FilterOperatorEnum fromName(final String name) {
+    return Arrays.stream(values())
+        .filter(value -> value.name.equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new BadRequestException(
+                    format(
+                        "filter operator '%s' is not supported, use one of %s",
+                        name, Arrays.stream(values()).map(FilterOperatorEnum::getName).toList())));
+  }
+}
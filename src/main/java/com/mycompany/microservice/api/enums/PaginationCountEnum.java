@@ -0,0 +1,39 @@
+package com.mycompany.microservice.api.enums;
+
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * How the total of a paginated listing is computed:
+ * - exact: count(*) on every page.
+ * - estimated: postgres planner statistics (pg_class.reltuples), exact when filtered.
+ * - cached: exact count kept for a short TTL.
+ * - none: no count, only tells if a next page exists.
+ * */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public enum PaginationCountEnum {
+  EXACT("exact"),
+  ESTIMATED("estimated"),
+  CACHED("cached"),
+  NONE("none");
+
+  private final String name;
+
+  public static PaginationCountEnum fromName(final String name) {
+    return Arrays.stream(values())
+        .filter(value -> value.name.equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new BadRequestException(
+                    format(
+                        "count '%s' is not supported, use one of %s",
+                        name, Arrays.stream(values()).map(PaginationCountEnum::getName).toList())));
+  }
+}
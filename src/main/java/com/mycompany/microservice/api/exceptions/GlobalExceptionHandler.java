@@ -18,15 +18,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.LazyInitializationException;
+import org.hibernate.exception.JDBCConnectionException;
 import org.hibernate.validator.internal.engine.path.PathImpl;
 import org.jetbrains.annotations.NotNull;
 import org.postgresql.util.PSQLException;
 import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.*;
 import org.springframework.lang.NonNull;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -135,6 +138,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     return this.buildProblemDetail(BAD_REQUEST, errorDetail);
   }
 
+  /*
+   * No database connection available in time (bulkhead full or pool timeout), retry later.
+   * */
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ExceptionHandler({
+    CannotCreateTransactionException.class,
+    DataAccessResourceFailureException.class,
+    JDBCConnectionException.class
+  })
+  public ProblemDetail handleDatabaseUnavailableException(
+      final Exception ex, final WebRequest request) {
+    log.warn(ex.getMessage(), ex);
+    return this.buildProblemDetail(
+        HttpStatus.SERVICE_UNAVAILABLE, "database unavailable, please retry later");
+  }
+
   /*
    *  When authorizing user at controller or service layer using @PreAuthorize it throws
    * AccessDeniedException, and it's a developer's responsibility to catch it
@@ -0,0 +1,16 @@
+package com.mycompany.microservice.api.exceptions;
+
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+
+import java.io.Serial;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = PRECONDITION_FAILED)
+public class PreconditionFailedException extends RootException {
+
+  @Serial private static final long serialVersionUID = -4170385620413394155L;
+
+  public PreconditionFailedException(final String message) {
+    super(PRECONDITION_FAILED, message);
+  }
+}
@@ -1,9 +1,12 @@
 package com.mycompany.microservice.api.infra.auditors;
 
 import com.mycompany.microservice.api.facades.AuthFacade;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.lang.NonNull;
@@ -12,7 +15,9 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @Configuration(proxyBeanMethods = false)
-@EnableJpaAuditing(auditorAwareRef = "auditorProvider")
+@EnableJpaAuditing(
+    auditorAwareRef = "auditorProvider",
+    dateTimeProviderRef = "auditingDateTimeProvider")
 public class AuditorConfig {
 
   @Bean
@@ -20,6 +25,15 @@ public class AuditorConfig {
     return new AuditorAwareImpl();
   }
 
+  /*
+   * Timestamp columns keep microseconds: createdAt/updatedAt returned by a create or an update
+   * match the stored value, so updatedAt can be sent back as If-Match.
+   * */
+  @Bean
+  public DateTimeProvider auditingDateTimeProvider() {
+    return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+  }
+
   public static class AuditorAwareImpl implements AuditorAware<String> {
 
     @Override
@@ -0,0 +1,477 @@
+package com.mycompany.microservice.api.infra.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * CompressingResponseWrapper:
+ *
+ * <p>Buffers the body until it reaches the policy minimum size, then gzips it with a pooled
+ * deflater if its content type is supported and it is not already encoded (Content-Encoding set by
+ * the handler). Smaller bodies are written as they are, with their length. The response is not
+ * committed while buffering and the gzip headers are only set with the first compressed bytes, so
+ * an error before that is sent as is. finish() completes the body, release() returns the deflater
+ * and must always be called.
+ */
+public class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+  public static final String GZIP = "gzip";
+
+  @Getter private final CompressionPolicy policy;
+  private final DeflaterPool deflaterPool;
+
+  private State state = State.BUFFERING;
+  @Getter private Outcome outcome = Outcome.UNFINISHED;
+  @Getter private long bytesIn;
+  @Getter private long bytesOut;
+  @Getter private long deflateNanos;
+  private boolean encodingSent;
+
+  private byte[] buffer;
+  private int buffered;
+  private long contentLength = -1;
+  private Deflater deflater;
+  private GzipOutputStream gzip;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  public CompressingResponseWrapper(
+      final HttpServletResponse response,
+      final CompressionPolicy policy,
+      final DeflaterPool deflaterPool) {
+    super(response);
+    this.policy = policy;
+    this.deflaterPool = deflaterPool;
+  }
+
+  /*
+   * Caches must key the responses of a compressed route by Accept-Encoding, whether this one is
+   * compressed or not (small body, client without gzip). Keeps the other Vary values.
+   * */
+  public static void vary(final HttpServletResponse response) {
+    for (final String header : response.getHeaders(HttpHeaders.VARY)) {
+      for (final String value : header.split(",")) {
+        if (HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(value.trim())
+            || "*".equals(value.trim())) {
+          return;
+        }
+      }
+    }
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  /*
+   * Writes what is still buffered, or the gzip trailer.
+   * */
+  public void finish() throws IOException {
+    if (this.writer != null) {
+      this.writer.flush();
+    }
+    if (this.state == State.BUFFERING) {
+      if (this.encodingSent) {
+        this.compress();
+      } else {
+        if (this.contentLength < 0) {
+          this.contentLength = this.buffered;
+        }
+        this.passThrough(Outcome.TOO_SMALL);
+      }
+    }
+    if (this.gzip != null) {
+      this.gzip.finish();
+      this.collect();
+    }
+  }
+
+  public void release() {
+    this.collect();
+    if (this.deflater != null) {
+      this.deflaterPool.release(this.deflater, this.policy.level());
+      this.deflater = null;
+    }
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() {
+    if (this.writer != null) {
+      throw new IllegalStateException("getWriter() has already been called");
+    }
+    return this.stream();
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (this.writer == null) {
+      if (this.outputStream != null) {
+        throw new IllegalStateException("getOutputStream() has already been called");
+      }
+      this.writer =
+          new PrintWriter(new OutputStreamWriter(this.stream(), this.getCharacterEncoding()));
+    }
+    return this.writer;
+  }
+
+  /*
+   * Committing while buffering would send the headers before the Content-Encoding is known.
+   * */
+  @Override
+  public void flushBuffer() throws IOException {
+    if (this.writer != null) {
+      this.writer.flush();
+    }
+    if (this.state != State.BUFFERING) {
+      if (this.gzip != null) {
+        this.gzip.flush();
+      }
+      super.flushBuffer();
+    }
+  }
+
+  @Override
+  public void setContentLength(final int len) {
+    this.setContentLengthLong(len);
+  }
+
+  @Override
+  public void setContentLengthLong(final long len) {
+    switch (this.state) {
+      case BUFFERING -> {
+        this.contentLength = len;
+        if (len < this.policy.minSize() && !this.encodingSent) {
+          this.passThrough(Outcome.TOO_SMALL);
+        }
+      }
+      case PASS_THROUGH -> super.setContentLengthLong(len);
+      case COMPRESSING -> {
+        // length of the uncompressed body
+      }
+    }
+  }
+
+  @Override
+  public void setHeader(final String name, final String value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+      this.setContentLengthLong(Long.parseLong(value));
+    } else {
+      super.setHeader(name, value);
+    }
+  }
+
+  @Override
+  public void addHeader(final String name, final String value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && value != null) {
+      this.setContentLengthLong(Long.parseLong(value));
+    } else {
+      super.addHeader(name, value);
+    }
+  }
+
+  @Override
+  public void setIntHeader(final String name, final int value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      this.setContentLengthLong(value);
+    } else {
+      super.setIntHeader(name, value);
+    }
+  }
+
+  @Override
+  public void addIntHeader(final String name, final int value) {
+    if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+      this.setContentLengthLong(value);
+    } else {
+      super.addIntHeader(name, value);
+    }
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    this.restart();
+    this.encodingSent = false;
+    vary(this);
+  }
+
+  @Override
+  public void resetBuffer() {
+    super.resetBuffer();
+    this.restart();
+  }
+
+  @Override
+  public void sendError(final int sc) throws IOException {
+    this.restart();
+    super.sendError(sc);
+  }
+
+  @Override
+  public void sendError(final int sc, final String msg) throws IOException {
+    this.restart();
+    super.sendError(sc, msg);
+  }
+
+  @Override
+  public void sendRedirect(final String location) throws IOException {
+    this.restart();
+    super.sendRedirect(location);
+  }
+
+  private void write(final byte[] b, final int off, final int len) throws IOException {
+    this.bytesIn += len;
+    if (this.state == State.BUFFERING) {
+      if (this.buffered + len < this.policy.minSize()) {
+        if (this.buffer == null) {
+          this.buffer = new byte[(int) this.policy.minSize()];
+        }
+        System.arraycopy(b, off, this.buffer, this.buffered, len);
+        this.buffered += len;
+        return;
+      }
+      this.decide();
+    }
+    if (this.state == State.COMPRESSING) {
+      this.gzip.write(b, off, len);
+    } else {
+      super.getOutputStream().write(b, off, len);
+    }
+  }
+
+  private void flush() throws IOException {
+    if (this.state == State.COMPRESSING) {
+      this.gzip.flush();
+    } else if (this.state == State.PASS_THROUGH) {
+      super.getOutputStream().flush();
+    }
+  }
+
+  private void decide() throws IOException {
+    if (this.encodingSent) {
+      this.compress();
+    } else if (this.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+      this.passThrough(Outcome.ENCODED);
+    } else if (!this.policy.supports(this.getContentType())) {
+      this.passThrough(Outcome.CONTENT_TYPE);
+    } else {
+      this.compress();
+    }
+  }
+
+  private void compress() throws IOException {
+    this.state = State.COMPRESSING;
+    this.outcome = Outcome.COMPRESSED;
+    this.deflater = this.deflaterPool.borrow(this.policy.level());
+    this.gzip = new GzipOutputStream(super.getOutputStream(), this.deflater, this::sendEncoding);
+    if (this.buffered > 0) {
+      this.gzip.write(this.buffer, 0, this.buffered);
+    }
+    this.buffered = 0;
+  }
+
+  private void sendEncoding() {
+    if (!this.encodingSent) {
+      this.encodingSent = true;
+      super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+  }
+
+  private void passThrough(final Outcome outcome) {
+    this.state = State.PASS_THROUGH;
+    this.outcome = outcome;
+    if (this.contentLength >= 0) {
+      super.setContentLengthLong(this.contentLength);
+    }
+    if (this.buffered > 0) {
+      try {
+        super.getOutputStream().write(this.buffer, 0, this.buffered);
+      } catch (final IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+    this.bytesOut = this.bytesIn;
+    this.buffered = 0;
+  }
+
+  /*
+   * The body written so far is discarded by the container (reset, error page or redirect). The
+   * container can not remove a header: once the gzip headers are sent, the next body is gzipped too.
+   * */
+  private void restart() {
+    this.release();
+    this.gzip = null;
+    this.state = State.BUFFERING;
+    this.outcome = Outcome.UNFINISHED;
+    this.buffered = 0;
+    this.contentLength = -1;
+    this.bytesIn = 0;
+    this.bytesOut = 0;
+    this.deflateNanos = 0;
+  }
+
+  private void collect() {
+    if (this.gzip != null) {
+      this.bytesOut = this.gzip.written;
+      this.deflateNanos = this.gzip.deflateNanos;
+    } else if (this.state == State.PASS_THROUGH) {
+      this.bytesOut = this.bytesIn;
+    }
+  }
+
+  private ServletOutputStream stream() {
+    if (this.outputStream == null) {
+      this.outputStream = new CompressingOutputStream();
+    }
+    return this.outputStream;
+  }
+
+  private enum State {
+    BUFFERING,
+    COMPRESSING,
+    PASS_THROUGH
+  }
+
+  @Getter
+  public enum Outcome {
+    COMPRESSED("compressed"),
+    TOO_SMALL("too_small"),
+    CONTENT_TYPE("content_type"),
+    ENCODED("already_encoded"),
+    UNFINISHED("unfinished");
+
+    private final String name;
+
+    Outcome(final String name) {
+      this.name = name;
+    }
+  }
+
+  private final class CompressingOutputStream extends ServletOutputStream {
+
+    private final byte[] single = new byte[1];
+
+    @Override
+    public void write(final int b) throws IOException {
+      this.single[0] = (byte) b;
+      CompressingResponseWrapper.this.write(this.single, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      CompressingResponseWrapper.this.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      CompressingResponseWrapper.this.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      CompressingResponseWrapper.this.finish();
+      CompressingResponseWrapper.super.getOutputStream().close();
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(final WriteListener writeListener) {
+      throw new UnsupportedOperationException("non-blocking writes are not compressed");
+    }
+  }
+
+  /*
+   * GZIPOutputStream allocates its own deflater: header, raw deflate from the pooled deflater, crc
+   * and length trailer (RFC 1952). The header is written with the first deflated bytes, after
+   * onStart. Only the native deflate calls are timed.
+   * */
+  private static final class GzipOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] HEADER = {
+      0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final CRC32 crc = new CRC32();
+    private final Runnable onStart;
+    private long written;
+    private long deflateNanos;
+    private boolean started;
+    private boolean finished;
+
+    GzipOutputStream(final OutputStream out, final Deflater deflater, final Runnable onStart) {
+      super(out, deflater, 8192);
+      this.onStart = onStart;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      super.write(b, off, len);
+      this.crc.update(b, off, len);
+    }
+
+    /*
+     * The response is committed by a flush, the headers can not be set later.
+     * */
+    @Override
+    public void flush() throws IOException {
+      this.start();
+      super.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+      if (this.finished) {
+        return;
+      }
+      this.finished = true;
+      super.finish();
+      this.start();
+      final byte[] trailer = new byte[8];
+      writeInt(trailer, 0, this.crc.getValue());
+      writeInt(trailer, 4, this.def.getBytesRead());
+      this.out.write(trailer);
+      this.written += trailer.length;
+    }
+
+    @Override
+    protected void deflate() throws IOException {
+      final long start = System.nanoTime();
+      final int len = this.def.deflate(this.buf, 0, this.buf.length);
+      this.deflateNanos += System.nanoTime() - start;
+      if (len > 0) {
+        this.start();
+        this.out.write(this.buf, 0, len);
+        this.written += len;
+      }
+    }
+
+    private void start() throws IOException {
+      if (!this.started) {
+        this.started = true;
+        this.onStart.run();
+        this.out.write(HEADER);
+        this.written += HEADER.length;
+      }
+    }
+
+    private static void writeInt(final byte[] b, final int off, final long value) {
+      b[off] = (byte) value;
+      b[off + 1] = (byte) (value >> 8);
+      b[off + 2] = (byte) (value >> 16);
+      b[off + 3] = (byte) (value >> 24);
+    }
+  }
+}
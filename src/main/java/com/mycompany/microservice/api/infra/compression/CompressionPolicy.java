@@ -0,0 +1,56 @@
+package com.mycompany.microservice.api.infra.compression;
+
+import com.mycompany.microservice.api.infra.compression.CompressionProperties.Policy;
+import java.util.List;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * CompressionPolicy:
+ *
+ * <p>Parsed CompressionProperties.Policy, matched against every request.
+ */
+public record CompressionPolicy(
+    String name, List<PathPattern> paths, long minSize, List<MediaType> contentTypes, int level) {
+
+  public static CompressionPolicy of(final Policy policy) {
+    return new CompressionPolicy(
+        policy.name(),
+        policy.paths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+        policy.minSize().toBytes(),
+        MediaType.parseMediaTypes(policy.contentTypes()),
+        policy.level());
+  }
+
+  public boolean matches(final PathContainer path) {
+    for (final PathPattern pattern : this.paths) {
+      if (pattern.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Parameters are ignored (ex: application/json;charset=UTF-8 is application/json).
+   * */
+  public boolean supports(final String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    try {
+      final MediaType mediaType = MediaType.parseMediaType(contentType);
+      for (final MediaType supported : this.contentTypes) {
+        if (supported.includes(mediaType)) {
+          return true;
+        }
+      }
+      return false;
+    } catch (final InvalidMediaTypeException ex) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.microservice.api.infra.compression;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * CompressionProperties:
+ *
+ * <p>Response compression (http.compression): the first policy whose paths match the request
+ * applies, responses of other routes are never compressed.
+ */
+@ConfigurationProperties("http.compression")
+public record CompressionProperties(boolean enabled, int poolSize, List<Policy> policies) {
+
+  /*
+   * level: 1 (fastest) to 9 (smallest), minSize: smaller bodies are sent as they are.
+   * */
+  public record Policy(
+      String name, List<String> paths, DataSize minSize, List<String> contentTypes, int level) {}
+}
@@ -0,0 +1,52 @@
+package com.mycompany.microservice.api.infra.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * DeflaterPool:
+ *
+ * <p>Raw (nowrap) deflaters kept per level, so a response does not allocate and free the native
+ * zlib state. A deflater is created when none is idle and ended when the pool of its level is full
+ * (http.compression.deflaters.created tells whether the pool is big enough).
+ */
+public class DeflaterPool {
+
+  private final BlockingQueue<Deflater>[] idle;
+  private final Counter created;
+
+  @SuppressWarnings("unchecked")
+  public DeflaterPool(final int size, final MeterRegistry meterRegistry) {
+    this.idle = new BlockingQueue[Deflater.BEST_COMPRESSION + 1];
+    for (int level = 0; level < this.idle.length; level++) {
+      this.idle[level] = new ArrayBlockingQueue<>(size);
+    }
+    this.created =
+        Counter.builder("http.compression.deflaters.created")
+            .description("deflaters created because none was idle")
+            .register(meterRegistry);
+  }
+
+  public Deflater borrow(final int level) {
+    final Deflater deflater = this.idle[level].poll();
+    if (deflater != null) {
+      return deflater;
+    }
+    this.created.increment();
+    return new Deflater(level, true);
+  }
+
+  public void release(final Deflater deflater, final int level) {
+    deflater.reset();
+    if (!this.idle[level].offer(deflater)) {
+      deflater.end();
+    }
+  }
+
+  public int idle(final int level) {
+    return this.idle[level].size();
+  }
+}
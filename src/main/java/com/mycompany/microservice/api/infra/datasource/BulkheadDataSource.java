@@ -0,0 +1,171 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import static java.lang.String.format;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * BulkheadDataSource:
+ *
+ * <p>Database access bulkhead in front of a Hikari pool. A fair semaphore sized to the pool bounds
+ * how many (virtual) threads hold or wait for a connection, callers wait at most the configured
+ * time and fail fast afterward (503). The wait is recorded per endpoint, so pool starvation can be
+ * told apart from slow SQL.
+ */
+@Slf4j
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private static final String NO_ENDPOINT = "none";
+  private static final String DEFAULT_POOL = "default";
+
+  private final Semaphore semaphore;
+  private final int permits;
+  private final long maxWaitInMs;
+  private final String pool;
+  private final MeterRegistry meterRegistry;
+  private final Counter rejected;
+
+  public BulkheadDataSource(
+      final HikariDataSource dataSource,
+      final long maxWaitInMs,
+      final MeterRegistry meterRegistry) {
+    super(dataSource);
+    this.permits = dataSource.getMaximumPoolSize();
+    this.semaphore = new Semaphore(this.permits, true);
+    this.maxWaitInMs = maxWaitInMs;
+    this.pool = Objects.requireNonNullElse(dataSource.getPoolName(), DEFAULT_POOL);
+    this.meterRegistry = meterRegistry;
+
+    this.rejected =
+        Counter.builder("db.bulkhead.rejected").tag("pool", this.pool).register(meterRegistry);
+    Gauge.builder("db.bulkhead.active", this, b -> b.permits - b.semaphore.availablePermits())
+        .tag("pool", this.pool)
+        .register(meterRegistry);
+    Gauge.builder("db.bulkhead.idle", this.semaphore, Semaphore::availablePermits)
+        .tag("pool", this.pool)
+        .register(meterRegistry);
+    Gauge.builder("db.bulkhead.pending", this.semaphore, Semaphore::getQueueLength)
+        .tag("pool", this.pool)
+        .register(meterRegistry);
+  }
+
+  @NonNull
+  @Override
+  public Connection getConnection() throws SQLException {
+    this.acquire();
+    try {
+      return this.releaseOnClose(super.getConnection());
+    } catch (final SQLException | RuntimeException ex) {
+      this.semaphore.release();
+      throw ex;
+    }
+  }
+
+  @NonNull
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    this.acquire();
+    try {
+      return this.releaseOnClose(super.getConnection(username, password));
+    } catch (final SQLException | RuntimeException ex) {
+      this.semaphore.release();
+      throw ex;
+    }
+  }
+
+  private void acquire() throws SQLException {
+    final String endpoint = getEndpoint();
+    final long start = System.nanoTime();
+
+    boolean acquired = false;
+    try {
+      acquired = this.semaphore.tryAcquire(this.maxWaitInMs, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      Timer.builder("db.bulkhead.wait")
+          .description("time waiting for a database connection permit")
+          .tag("pool", this.pool)
+          .tag("endpoint", endpoint)
+          .tag("outcome", acquired ? "acquired" : "rejected")
+          .publishPercentileHistogram()
+          .register(this.meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    if (!acquired) {
+      this.rejected.increment();
+      log.warn("[bulkhead] '{}' full for endpoint '{}'", this.pool, endpoint);
+      throw new SQLTransientConnectionException(
+          format(
+              "database bulkhead '%s' full, no connection available after %s ms",
+              this.pool, this.maxWaitInMs));
+    }
+  }
+
+  private Connection releaseOnClose(final Connection connection) {
+    final AtomicBoolean released = new AtomicBoolean();
+    final InvocationHandler handler =
+        (final Object proxy, final Method method, final Object[] args) -> {
+          switch (method.getName()) {
+            case "getTargetConnection":
+              return connection;
+            case "close":
+              try {
+                connection.close();
+              } finally {
+                if (released.compareAndSet(false, true)) {
+                  this.semaphore.release();
+                }
+              }
+              return null;
+            default:
+              try {
+                return method.invoke(connection, args);
+              } catch (final InvocationTargetException ex) {
+                throw ex.getTargetException();
+              }
+          }
+        };
+
+    return (Connection)
+        Proxy.newProxyInstance(
+            ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class},
+            handler);
+  }
+
+  private static String getEndpoint() {
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return NO_ENDPOINT;
+    }
+    final Object pattern =
+        attributes.getAttribute(
+            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    return pattern != null ? pattern.toString() : NO_ENDPOINT;
+  }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.NonNull;
+
+/*
+ * Wraps the primary pool created by spring boot:
+ * - in a BulkheadDataSource (see database.bulkhead).
+ * - in a LazyConnectionDataSourceProxy: the physical connection is only fetched at the first
+ *   statement, so transactions served entirely from the cache never touch the pool.
+ * - when replicas are configured, read-only transactions and read-only scopes are sent to the
+ *   replicas (ReplicaRoutingDataSource) and everything else to the primary.
+ * */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class DataSourceConfig {
+
+  public static final String PRIMARY_DATASOURCE = "dataSource";
+
+  @Bean
+  public static BeanPostProcessor dataSourcePostProcessor(
+      final Environment environment,
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(
+          @NonNull final Object bean, @NonNull final String beanName) {
+        if (!PRIMARY_DATASOURCE.equals(beanName)
+            || !(bean instanceof final HikariDataSource primary)) {
+          return bean;
+        }
+
+        final BulkheadDataSource bulkhead =
+            new BulkheadDataSource(
+                primary,
+                environment.getRequiredProperty("database.bulkhead.max-wait-in-ms", Long.class),
+                meterRegistry.getObject());
+
+        final ReplicaRoutingDataSource replicas = replicaRoutingDataSource.getIfAvailable();
+        if (replicas == null) {
+          return lazy(primary, bulkhead);
+        }
+
+        replicas.setPrimary(primary, bulkhead);
+        final LazyConnectionDataSourceProxy proxy =
+            lazy(primary, new ReadOnlyRoutingDataSource(bulkhead, replicas));
+        proxy.setReadOnlyDataSource(replicas);
+        log.info("[datasource] read-only transactions routed to replicas");
+        return proxy;
+      }
+    };
+  }
+
+  /*
+   * Defaults are taken from the pool config, otherwise the proxy borrows a connection to read them.
+   * */
+  private static LazyConnectionDataSourceProxy lazy(
+      final HikariDataSource primary, final DataSource target) {
+    final LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(target);
+    proxy.setDefaultAutoCommit(primary.isAutoCommit());
+    if (primary.getTransactionIsolation() != null) {
+      proxy.setDefaultTransactionIsolationName(primary.getTransactionIsolation());
+    }
+    return proxy;
+  }
+}
@@ -0,0 +1,31 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Sends connections requested inside a read-only scope without a physical transaction
+ * (ex: @Transactional(readOnly = true, propagation = SUPPORTS)) to the read-only datasource.
+ * Physical read-only transactions are already routed by LazyConnectionDataSourceProxy.
+ * */
+public class ReadOnlyRoutingDataSource extends DelegatingDataSource {
+
+  private final DataSource readOnlyDataSource;
+
+  public ReadOnlyRoutingDataSource(final DataSource primary, final DataSource readOnlyDataSource) {
+    super(primary);
+    this.readOnlyDataSource = readOnlyDataSource;
+  }
+
+  @NonNull
+  @Override
+  public Connection getConnection() throws SQLException {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        ? this.readOnlyDataSource.getConnection()
+        : super.getConnection();
+  }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Enabled when database.replicas.urls is set (comma separated jdbc urls), it is plugged in front
+ * of the primary by DataSourceConfig.
+ * */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${database.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+  @Value("${database.replicas.urls}")
+  private String urls;
+
+  @Value("${database.replicas.max-lag-in-ms}")
+  private long maxLagInMs;
+
+  @Value("${database.bulkhead.max-wait-in-ms}")
+  private long bulkheadMaxWaitInMs;
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(final MeterRegistry meterRegistry) {
+    return new ReplicaRoutingDataSource(
+        Arrays.asList(this.urls.split(",")),
+        this.maxLagInMs,
+        this.bulkheadMaxWaitInMs,
+        meterRegistry);
+  }
+}
@@ -0,0 +1,173 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * ReplicaRoutingDataSource:
+ *
+ * <p>Read-only datasource of the LazyConnectionDataSourceProxy (see DataSourceConfig). It balances
+ * connections across the replicas whose replication lag is under the limit and falls back to the
+ * primary when none is available or when the current request is pinned to the primary. Each replica
+ * pool has its own bulkhead.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+  private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+  private static final String LAG_QUERY =
+      """
+      SELECT COALESCE(
+        CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)
+      """;
+
+  private final List<String> urls;
+  private final long maxLagInMs;
+  private final long bulkheadMaxWaitInMs;
+  private final MeterRegistry meterRegistry;
+  private final List<Replica> replicas = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+
+  private DataSource primary;
+
+  public ReplicaRoutingDataSource(
+      final List<String> urls,
+      final long maxLagInMs,
+      final long bulkheadMaxWaitInMs,
+      final MeterRegistry meterRegistry) {
+    this.urls = urls;
+    this.maxLagInMs = maxLagInMs;
+    this.bulkheadMaxWaitInMs = bulkheadMaxWaitInMs;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public static void pinToPrimary() {
+    PINNED_TO_PRIMARY.set(true);
+  }
+
+  public static void unpin() {
+    PINNED_TO_PRIMARY.remove();
+  }
+
+  /*
+   * Replica pools copy the primary pool settings (credentials, sizes, driver properties).
+   * */
+  public synchronized void setPrimary(final HikariDataSource pool, final DataSource primary) {
+    this.primary = primary;
+
+    for (int i = 0; i < this.urls.size(); i++) {
+      final HikariConfig config = new HikariConfig();
+      pool.copyStateTo(config);
+      config.setJdbcUrl(this.urls.get(i).trim());
+      config.setPoolName("replica-" + i);
+      config.setReadOnly(true);
+      // An unreachable replica must not stop the boot: it stays unavailable until a lag check
+      // succeeds.
+      config.setInitializationFailTimeout(-1);
+      config.setMetricRegistry(null);
+      config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(this.meterRegistry));
+
+      final HikariDataSource replicaPool = new HikariDataSource(config);
+      final Replica replica =
+          new Replica(
+              config.getPoolName(),
+              replicaPool,
+              new BulkheadDataSource(replicaPool, this.bulkheadMaxWaitInMs, this.meterRegistry));
+      Gauge.builder("db.replica.lag", replica, r -> r.lagInMs)
+          .tag("pool", replica.name)
+          .baseUnit("milliseconds")
+          .register(this.meterRegistry);
+      Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+          .tag("pool", replica.name)
+          .register(this.meterRegistry);
+      this.replicas.add(replica);
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return this.determineDataSource().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return this.determineDataSource().getConnection(username, password);
+  }
+
+  @Scheduled(fixedDelayString = "${database.replicas.lag-check-interval-in-ms}")
+  public void checkReplicationLag() {
+    for (final Replica replica : this.replicas) {
+      try (final Connection connection = replica.dataSource.getConnection();
+          final Statement statement = connection.createStatement();
+          final ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+        resultSet.next();
+        replica.lagInMs = resultSet.getDouble(1);
+      } catch (final SQLException ex) {
+        log.warn("[replica] unable to check replication lag of '{}'", replica.name, ex);
+        replica.lagInMs = Double.NaN;
+      }
+
+      final boolean available = replica.lagInMs <= this.maxLagInMs;
+      if (available != replica.available) {
+        log.info(
+            "[replica] '{}' available: {} (lag {} ms)", replica.name, available, replica.lagInMs);
+      }
+      replica.available = available;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    this.replicas.forEach(replica -> replica.dataSource.close());
+  }
+
+  @NonNull
+  private DataSource determineDataSource() {
+    if (!Boolean.TRUE.equals(PINNED_TO_PRIMARY.get())) {
+      final int size = this.replicas.size();
+      final int start = Math.floorMod(this.next.getAndIncrement(), Math.max(size, 1));
+      for (int i = 0; i < size; i++) {
+        final Replica replica = this.replicas.get((start + i) % size);
+        if (replica.available) {
+          return replica.bulkhead;
+        }
+      }
+    }
+    return this.primary;
+  }
+
+  private static final class Replica {
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final DataSource bulkhead;
+    // Unavailable until the first lag check.
+    private volatile double lagInMs = Double.NaN;
+    private volatile boolean available;
+
+    private Replica(
+        final String name, final HikariDataSource dataSource, final DataSource bulkhead) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.bulkhead = bulkhead;
+    }
+  }
+}
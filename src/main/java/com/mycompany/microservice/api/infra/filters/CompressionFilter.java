@@ -0,0 +1,168 @@
+package com.mycompany.microservice.api.infra.filters;
+
+import com.mycompany.microservice.api.infra.compression.CompressingResponseWrapper;
+import com.mycompany.microservice.api.infra.compression.CompressingResponseWrapper.Outcome;
+import com.mycompany.microservice.api.infra.compression.CompressionPolicy;
+import com.mycompany.microservice.api.infra.compression.CompressionProperties;
+import com.mycompany.microservice.api.infra.compression.DeflaterPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/*
+ * Gzips the responses of the routes with a compression policy (http.compression.policies) when the
+ * client accepts it, all their responses vary on Accept-Encoding. Records the outcome of each response (http.compression.responses), the bytes
+ * before and after compression, the bytes saved and the time spent deflating.
+ * Async responses are finished on their last dispatch (same as ShallowEtagHeaderFilter).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(value = "http.compression.enabled", havingValue = "true")
+public class CompressionFilter extends OncePerRequestFilter {
+
+  private final List<CompressionPolicy> policies;
+  private final DeflaterPool deflaterPool;
+  private final MeterRegistry meterRegistry;
+
+  public CompressionFilter(
+      final CompressionProperties properties, final MeterRegistry meterRegistry) {
+    this.policies = properties.policies().stream().map(CompressionPolicy::of).toList();
+    this.deflaterPool = new DeflaterPool(properties.poolSize(), meterRegistry);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final @NonNull HttpServletRequest request,
+      final @NonNull HttpServletResponse response,
+      final @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+
+    CompressingResponseWrapper wrapper =
+        WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+    if (wrapper == null) {
+      final CompressionPolicy policy = this.resolvePolicy(request);
+      if (policy != null) {
+        CompressingResponseWrapper.vary(response);
+      }
+      if (policy == null || !acceptsGzip(request)) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+      wrapper = new CompressingResponseWrapper(response, policy, this.deflaterPool);
+    }
+
+    try {
+      filterChain.doFilter(request, wrapper);
+      if (!this.isAsyncStarted(request)) {
+        wrapper.finish();
+      }
+    } finally {
+      if (!this.isAsyncStarted(request)) {
+        wrapper.release();
+        this.record(wrapper);
+      }
+    }
+  }
+
+  private CompressionPolicy resolvePolicy(final HttpServletRequest request) {
+    if (HttpMethod.HEAD.matches(request.getMethod())) {
+      return null;
+    }
+    final PathContainer path =
+        RequestPath.parse(request.getRequestURI(), request.getContextPath())
+            .pathWithinApplication();
+    for (final CompressionPolicy policy : this.policies) {
+      if (policy.matches(path)) {
+        return policy;
+      }
+    }
+    return null;
+  }
+
+  /*
+   * gzip or * in Accept-Encoding, unless its quality is 0.
+   * */
+  private static boolean acceptsGzip(final HttpServletRequest request) {
+    final Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+    while (headers != null && headers.hasMoreElements()) {
+      for (final String coding : headers.nextElement().split(",")) {
+        final String[] parts = coding.split(";");
+        final String name = parts[0].trim();
+        if (!CompressingResponseWrapper.GZIP.equalsIgnoreCase(name) && !"*".equals(name)) {
+          continue;
+        }
+        if (parts.length == 1) {
+          return true;
+        }
+        final String quality = parts[1].trim();
+        try {
+          return !quality.startsWith("q=") || Double.parseDouble(quality.substring(2)) > 0;
+        } catch (final NumberFormatException ex) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void record(final CompressingResponseWrapper wrapper) {
+    final String policy = wrapper.getPolicy().name();
+    Counter.builder("http.compression.responses")
+        .description("responses of the routes with a compression policy, by outcome")
+        .tags("policy", policy, "outcome", wrapper.getOutcome().getName())
+        .register(this.meterRegistry)
+        .increment();
+
+    if (wrapper.getOutcome() != Outcome.COMPRESSED) {
+      return;
+    }
+    Counter.builder("http.compression.bytes.in")
+        .description("bytes before compression")
+        .baseUnit("bytes")
+        .tags("policy", policy)
+        .register(this.meterRegistry)
+        .increment(wrapper.getBytesIn());
+    Counter.builder("http.compression.bytes.out")
+        .description("bytes after compression")
+        .baseUnit("bytes")
+        .tags("policy", policy)
+        .register(this.meterRegistry)
+        .increment(wrapper.getBytesOut());
+    Counter.builder("http.compression.bytes.saved")
+        .description("bytes saved by compression")
+        .baseUnit("bytes")
+        .tags("policy", policy)
+        .register(this.meterRegistry)
+        .increment(Math.max(0, wrapper.getBytesIn() - wrapper.getBytesOut()));
+    Timer.builder("http.compression.deflate")
+        .description("time spent deflating a response")
+        .tags("policy", policy)
+        .register(this.meterRegistry)
+        .record(wrapper.getDeflateNanos(), TimeUnit.NANOSECONDS);
+  }
+}
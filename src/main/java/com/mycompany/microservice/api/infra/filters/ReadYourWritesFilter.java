@@ -0,0 +1,61 @@
+package com.mycompany.microservice.api.infra.filters;
+
+import static com.mycompany.microservice.api.constants.AppHeaders.READ_YOUR_WRITES_HEADER;
+
+import com.mycompany.microservice.api.infra.datasource.ReplicaRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+ * Read-your-writes: write requests are served by the primary and return a token (the end of the
+ * pinning window), requests sending it back are also served by the primary until it expires,
+ * so the client never reads from a replica that did not replay its writes yet.
+ */
+@Component
+@ConditionalOnExpression("!'${database.replicas.urls:}'.isBlank()")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private static final Set<String> READ_METHODS =
+      Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+  @Value("${database.replicas.read-your-writes-window-in-ms}")
+  private long windowInMs;
+
+  @Override
+  protected void doFilterInternal(
+      final @NonNull HttpServletRequest request,
+      final @NonNull HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+
+    final long now = System.currentTimeMillis();
+    final boolean write = !READ_METHODS.contains(request.getMethod());
+    final long pinnedUntil = NumberUtils.toLong(request.getHeader(READ_YOUR_WRITES_HEADER));
+
+    if (write) {
+      response.setHeader(READ_YOUR_WRITES_HEADER, String.valueOf(now + this.windowInMs));
+    }
+
+    // Tokens further than the window are not trusted.
+    if (write || (pinnedUntil > now && pinnedUntil <= now + this.windowInMs)) {
+      ReplicaRoutingDataSource.pinToPrimary();
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaRoutingDataSource.unpin();
+    }
+  }
+}
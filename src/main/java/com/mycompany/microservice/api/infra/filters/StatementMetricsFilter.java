@@ -0,0 +1,84 @@
+package com.mycompany.microservice.api.infra.filters;
+
+import com.mycompany.microservice.api.infra.metrics.StatementCounter;
+import com.mycompany.microservice.api.infra.metrics.StatementCounter.Statements;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*
+ * Records the number of SQL statements of each request (db.statements, by uri pattern) and warns
+ * when the same statement runs more than the threshold (N+1, db.statements.repeated).
+ * Runs before the security filters, so authentication lookups are counted.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+  private static final String UNKNOWN_URI = "UNKNOWN";
+
+  private final MeterRegistry meterRegistry;
+  private final int repeatedThreshold;
+
+  public StatementMetricsFilter(
+      final MeterRegistry meterRegistry,
+      @Value("${database.statements.repeated-threshold}") final int repeatedThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.repeatedThreshold = repeatedThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final @NonNull HttpServletRequest request,
+      final @NonNull HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+
+    StatementCounter.begin();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      this.record(request, StatementCounter.end());
+    }
+  }
+
+  private void record(final HttpServletRequest request, final Statements statements) {
+    final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    final String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+
+    DistributionSummary.builder("db.statements")
+        .description("SQL statements per request")
+        .tags("method", request.getMethod(), "uri", uri)
+        .publishPercentileHistogram()
+        .register(this.meterRegistry)
+        .record(statements.getTotal());
+
+    final Map<String, Integer> repeated = statements.getRepeated(this.repeatedThreshold);
+    if (repeated.isEmpty()) {
+      return;
+    }
+    Counter.builder("db.statements.repeated")
+        .description("requests running the same statement more than the threshold (N+1)")
+        .tags("method", request.getMethod(), "uri", uri)
+        .register(this.meterRegistry)
+        .increment();
+    repeated.forEach(
+        (shape, count) ->
+            log.warn("[N+1] {} '{}' ran {} times: {}", request.getMethod(), uri, count, shape));
+  }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.microservice.api.infra.json;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * BlackbirdConfig:
+ *
+ * <p>Jackson module replacing the reflective getter, setter and constructor calls with generated
+ * lambdas (fields are still accessed by reflection). Spring Boot registers the module bean in the
+ * MVC ObjectMapper, RabbitConfig in the AMQP converters and this configuration in JsonUtils.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(value = "json.blackbird.enabled", havingValue = "true")
+public class BlackbirdConfig {
+
+  @Bean
+  public BlackbirdModule blackbirdModule() {
+    final BlackbirdModule module = new BlackbirdModule();
+    JsonUtils.registerModule(module);
+    return module;
+  }
+}
@@ -0,0 +1,39 @@
+package com.mycompany.microservice.api.infra.json;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * CborConfig:
+ *
+ * <p>Route-scoped CBOR converter (json.cbor.routes). The mapper comes from the Spring Boot builder,
+ * so it has the same settings and modules as the JSON one. Spring MVC registers an unrestricted
+ * CBOR converter by default (jackson-dataformat-cbor is on the classpath) and Spring Boot keeps it
+ * after the bean, it is removed from the MVC converters.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CborConfig implements WebMvcConfigurer {
+
+  @Bean
+  public RouteScopedCborHttpMessageConverter cborHttpMessageConverter(
+      final Jackson2ObjectMapperBuilder builder,
+      @Value("${json.cbor.routes}") final List<String> routes) {
+    return new RouteScopedCborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build(), routes);
+  }
+
+  @Override
+  public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+    converters.removeIf(
+        converter ->
+            converter instanceof MappingJackson2CborHttpMessageConverter
+                && !(converter instanceof RouteScopedCborHttpMessageConverter));
+  }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.microservice.api.infra.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * RouteScopedCborHttpMessageConverter:
+ *
+ * <p>CBOR (application/cbor) request and response bodies, only on the configured routes: elsewhere
+ * a CBOR body is rejected (415) and a CBOR-only Accept header is not acceptable (406). JSON stays
+ * the default everywhere, the JSON converter comes first. Outside a servlet request (ex:
+ * RestTemplate) the converter is not restricted.
+ */
+public class RouteScopedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+  private final List<PathPattern> routes;
+
+  public RouteScopedCborHttpMessageConverter(
+      final ObjectMapper objectMapper, final List<String> routes) {
+    super(objectMapper);
+    this.routes = routes.stream().map(PathPatternParser.defaultInstance::parse).toList();
+  }
+
+  @Override
+  protected boolean canRead(@Nullable final MediaType mediaType) {
+    return super.canRead(mediaType) && this.isAllowedRoute();
+  }
+
+  @Override
+  protected boolean canWrite(@Nullable final MediaType mediaType) {
+    return super.canWrite(mediaType) && this.isAllowedRoute();
+  }
+
+  private boolean isAllowedRoute() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs)) {
+      return true;
+    }
+    final PathContainer path = requestPath(attrs.getRequest()).pathWithinApplication();
+    for (final PathPattern route : this.routes) {
+      if (route.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Already parsed by the DispatcherServlet for the handler mapping.
+   * */
+  private static RequestPath requestPath(final HttpServletRequest request) {
+    return ServletRequestPathUtils.hasParsedRequestPath(request)
+        ? ServletRequestPathUtils.getParsedRequestPath(request)
+        : RequestPath.parse(request.getRequestURI(), request.getContextPath());
+  }
+}
@@ -0,0 +1,145 @@
+package com.mycompany.microservice.api.infra.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+/**
+ * RepositoryMetricsInterceptor:
+ *
+ * <p>Outermost advice of a repository proxy (before the cache interceptor). Per repository method
+ * it records the latency (repository.invocations), the rows returned (repository.rows) and, for
+ * {@link Cacheable} methods, whether it was served without any SQL statement (repository.cache, hit
+ * also counts the hibernate second-level cache).
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+  private final MeterRegistry meterRegistry;
+  private final Class<?> repositoryInterface;
+  private final List<CacheMissListener> cacheMissListeners;
+  private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+  public RepositoryMetricsInterceptor(
+      final MeterRegistry meterRegistry,
+      final Class<?> repositoryInterface,
+      final List<CacheMissListener> cacheMissListeners) {
+    this.meterRegistry = meterRegistry;
+    this.repositoryInterface = repositoryInterface;
+    this.cacheMissListeners = cacheMissListeners;
+  }
+
+  @Override
+  public Object invoke(final @NonNull MethodInvocation invocation) throws Throwable {
+    final Meters methodMeters =
+        this.meters.computeIfAbsent(invocation.getMethod(), this::createMeters);
+    final long statements = StatementCounter.count();
+    final long start = System.nanoTime();
+
+    final Object result;
+    try {
+      result = invocation.proceed();
+    } catch (final Throwable ex) {
+      methodMeters.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw ex;
+    }
+
+    methodMeters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    final long rows = rows(result);
+    if (rows >= 0) {
+      methodMeters.rows().record(rows);
+    }
+    if (methodMeters.hit() != null) {
+      if (StatementCounter.count() == statements) {
+        methodMeters.hit().increment();
+      } else {
+        methodMeters.miss().increment();
+        for (final CacheMissListener listener : this.cacheMissListeners) {
+          listener.onMiss(this.repositoryInterface, invocation.getMethod());
+        }
+      }
+    }
+    return result;
+  }
+
+  /*
+   * -1 when the result is not rows (counts, exists, streams).
+   * */
+  private static long rows(final Object result) {
+    return switch (result) {
+      case null -> 0;
+      case final Collection<?> collection -> collection.size();
+      case final Optional<?> optional -> optional.isPresent() ? 1 : 0;
+      case final Slice<?> slice -> slice.getNumberOfElements();
+      case final Window<?> window -> window.size();
+      case final Number ignored -> -1;
+      case final Boolean ignored -> -1;
+      case final Iterable<?> ignored -> -1;
+      case final BaseStream<?, ?> ignored -> -1;
+      default -> 1;
+    };
+  }
+
+  private Meters createMeters(final Method method) {
+    final String repository = this.repositoryInterface.getSimpleName();
+    final String name = method.getName();
+    final boolean cacheable =
+        AnnotatedElementUtils.hasAnnotation(
+            ClassUtils.getMostSpecificMethod(method, this.repositoryInterface), Cacheable.class);
+
+    return new Meters(
+        this.timer(repository, name, "success"),
+        this.timer(repository, name, "error"),
+        DistributionSummary.builder("repository.rows")
+            .description("rows returned by a repository method")
+            .tags("repository", repository, "method", name)
+            .publishPercentileHistogram()
+            .register(this.meterRegistry),
+        cacheable ? this.cacheCounter(repository, name, "hit") : null,
+        cacheable ? this.cacheCounter(repository, name, "miss") : null);
+  }
+
+  private Timer timer(final String repository, final String method, final String outcome) {
+    return Timer.builder("repository.invocations")
+        .description("repository method latency, cache hits included")
+        .tags("repository", repository, "method", method, "outcome", outcome)
+        .publishPercentileHistogram()
+        .register(this.meterRegistry);
+  }
+
+  private Counter cacheCounter(final String repository, final String method, final String result) {
+    return Counter.builder("repository.cache")
+        .tags("repository", repository, "method", method, "result", result)
+        .register(this.meterRegistry);
+  }
+
+  /*
+   * Notified on the calling thread when a cacheable method ran SQL statements.
+   * */
+  @FunctionalInterface
+  public interface CacheMissListener {
+    void onMiss(Class<?> repositoryInterface, Method method);
+  }
+
+  /*
+   * hit and miss are null when the method is not cacheable.
+   * */
+  private record Meters(
+      Timer success, Timer error, DistributionSummary rows, Counter hit, Counter miss) {}
+}
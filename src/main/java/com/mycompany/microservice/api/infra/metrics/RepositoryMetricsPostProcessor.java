@@ -0,0 +1,63 @@
+package com.mycompany.microservice.api.infra.metrics;
+
+import com.mycompany.microservice.api.infra.metrics.RepositoryMetricsInterceptor.CacheMissListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/*
+ * Adds the RepositoryMetricsInterceptor to every repository bean. It runs after the auto proxy
+ * creators, the advice is added first in the outermost proxy so cache hits are measured too.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+  private static final String SPRING_PACKAGE = "org.springframework.";
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final ObjectProvider<CacheMissListener> cacheMissListeners;
+
+  public RepositoryMetricsPostProcessor(
+      final ObjectProvider<MeterRegistry> meterRegistry,
+      final ObjectProvider<CacheMissListener> cacheMissListeners) {
+    this.meterRegistry = meterRegistry;
+    this.cacheMissListeners = cacheMissListeners;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(
+      final @NonNull Object bean, final @NonNull String beanName) {
+    if (!(bean instanceof Repository<?, ?>) || !(bean instanceof final Advised advised)) {
+      return bean;
+    }
+
+    final Class<?> repositoryInterface =
+        Arrays.stream(advised.getProxiedInterfaces())
+            .filter(Repository.class::isAssignableFrom)
+            .filter(type -> !type.getName().startsWith(SPRING_PACKAGE))
+            .findFirst()
+            .orElse(null);
+    if (repositoryInterface == null) {
+      return bean;
+    }
+
+    final RepositoryMetricsInterceptor interceptor =
+        new RepositoryMetricsInterceptor(
+            this.meterRegistry.getObject(),
+            repositoryInterface,
+            this.cacheMissListeners.orderedStream().toList());
+    if (!advised.isFrozen()) {
+      advised.addAdvice(0, interceptor);
+      return bean;
+    }
+    final ProxyFactory proxyFactory = new ProxyFactory(bean);
+    proxyFactory.addAdvice(interceptor);
+    return proxyFactory.getProxy(repositoryInterface.getClassLoader());
+  }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.microservice.api.infra.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * StatementCounter:
+ *
+ * <p>Hibernate statement inspector counting the SQL statements (and selects) prepared by the
+ * current thread, and by statement shape (bind parameter lists collapsed) within a request scope
+ * opened by {@link #begin()}, so a request running the same statement many times (N+1) can be
+ * detected. Statements not prepared by Hibernate (JDBC, COPY) are not counted.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+  private static final ThreadLocal<long[]> THREAD_COUNT =
+      ThreadLocal.withInitial(() -> new long[2]);
+  private static final ThreadLocal<Statements> REQUEST_STATEMENTS = new ThreadLocal<>();
+  private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+  public static void begin() {
+    REQUEST_STATEMENTS.set(new Statements());
+  }
+
+  public static Statements end() {
+    final Statements statements = REQUEST_STATEMENTS.get();
+    REQUEST_STATEMENTS.remove();
+    return statements;
+  }
+
+  /*
+   * Statements prepared by the current thread since it started, compare two reads to count the
+   * statements of an operation.
+   * */
+  public static long count() {
+    return THREAD_COUNT.get()[0];
+  }
+
+  /*
+   * Select statements prepared by the current thread, see count().
+   * */
+  public static long countSelects() {
+    return THREAD_COUNT.get()[1];
+  }
+
+  static String shape(final String sql) {
+    return PARAMETER_LIST.matcher(sql).replaceAll("?");
+  }
+
+  @Override
+  public String inspect(final String sql) {
+    final long[] count = THREAD_COUNT.get();
+    count[0]++;
+    if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+      count[1]++;
+    }
+    final Statements statements = REQUEST_STATEMENTS.get();
+    if (statements != null) {
+      statements.add(sql);
+    }
+    return sql;
+  }
+
+  @Override
+  public void customize(final Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+  }
+
+  public static class Statements {
+    private final Map<String, Integer> byShape = new HashMap<>();
+    private int total;
+
+    private void add(final String sql) {
+      this.total++;
+      this.byShape.merge(shape(sql), 1, Integer::sum);
+    }
+
+    public int getTotal() {
+      return this.total;
+    }
+
+    /*
+     * Shapes run more than threshold times.
+     * */
+    public Map<String, Integer> getRepeated(final int threshold) {
+      final Map<String, Integer> repeated = new HashMap<>();
+      this.byShape.forEach(
+          (shape, count) -> {
+            if (count > threshold) {
+              repeated.put(shape, count);
+            }
+          });
+      return repeated;
+    }
+  }
+}
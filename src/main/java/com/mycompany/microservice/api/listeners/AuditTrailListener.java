@@ -1,43 +1,63 @@
 package com.mycompany.microservice.api.listeners;
 
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.services.AuditTrailWriter;
+import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /*
- * EntityTransactionLogListener:
+ * AuditTrailListener:
  *
- * Log transaction event for all entities after they were committed/rollback
+ * Hands the committed entity changes to the AuditTrailWriter, which persists them in batches.
+ * Enqueuing never blocks, it does not add latency to the write path.
  * ex: [created] company [16]
  *
  */
 @Slf4j
 @Component
-public class EntityTransactionLogListener {
+@RequiredArgsConstructor
+public class AuditTrailListener {
+
+  private static final int ENTITY_MAX_SIZE_TO_LOG = 100;
+
+  private final AuditTrailWriter auditTrailWriter;
 
-  @Async
   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
   public void onCommitEvent(final EntityTransactionLogEvent event) {
-    log.info("[{}] {} {}", event.operation().getName(), event.entityName(), event.entitiesToLog());
+    log.info("[{}] {} {}", event.operation().getName(), event.entityName(), toLog(event.ids()));
+    this.auditTrailWriter.enqueue(event);
   }
 
-  @Async
   @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
   public void onRollbackEvent(final EntityTransactionLogEvent event) {
     log.info(
         "[{}] {} {} rollback.",
         event.operation().getName(),
         event.entityName(),
-        event.entitiesToLog());
+        toLog(event.ids()));
+  }
+
+  private static String toLog(final List<Long> ids) {
+    return ids.size() < ENTITY_MAX_SIZE_TO_LOG
+        ? ids.toString()
+        : format("with '%s' entities", ids.size());
   }
 
   public record EntityTransactionLogEvent(
-      EntityTransactionLogEnum operation, String entityName, String entitiesToLog) {
+      EntityTransactionLogEnum operation,
+      String entityName,
+      List<Long> ids,
+      String auditor,
+      LocalDateTime occurredAt) {
 
     @Getter
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -1,9 +1,12 @@
 package com.mycompany.microservice.api.rabbitmq.configs;
 
 import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_ASYNC_EVENT_LISTENER_ID;
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_BATCH_EVENT_LISTENER_ID;
 
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.lang.NonNull;
@@ -15,12 +18,22 @@ public class RabbitApplicationStartupListener
 
   @Autowired RabbitListenerEndpointRegistry registry;
 
+  @Autowired RabbitAdmin rabbitAdmin;
+
+  @Value("${rabbitmq.listeners.event.batch.enabled}")
+  private boolean batchEnabled;
+
   /**
    * This event is executed as late as conceivably possible to indicate that the application is
-   * ready to service requests.
+   * ready to service requests. The queues are declared first (RabbitConfig), then only one of the
+   * event listener containers consumes the queue.
    */
   @Override
   public void onApplicationEvent(final @NonNull ApplicationReadyEvent event) {
-    this.registry.getListenerContainer(RABBIT_ASYNC_EVENT_LISTENER_ID).start();
+    this.rabbitAdmin.initialize();
+    this.registry
+        .getListenerContainer(
+            this.batchEnabled ? RABBIT_BATCH_EVENT_LISTENER_ID : RABBIT_ASYNC_EVENT_LISTENER_ID)
+        .start();
   }
 }
@@ -1,22 +1,32 @@
 package com.mycompany.microservice.api.rabbitmq.configs;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.config.DirectRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
-import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.JacksonUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.support.RetryTemplate;
 
 @Slf4j
 @Configuration(proxyBeanMethods = false)
 public class RabbitConfig {
 
   public static final String RABBIT_ASYNC_EVENT_LISTENER_FACTORY = "AsyncEventListener";
+  public static final String RABBIT_BATCH_EVENT_LISTENER_FACTORY = "BatchEventListener";
   public static final String RABBIT_EVENT_PUBLISHER = "EventPublisher";
 
   @Value("${rabbitmq.host}")
@@ -31,10 +41,28 @@ public class RabbitConfig {
   @Value("${rabbitmq.password}")
   private String password;
 
+  @Value("${rabbitmq.listeners.event.queue}")
+  private String queue;
+
+  @Value("${rabbitmq.listeners.event.queue-type}")
+  private String queueType;
+
+  @Value("${rabbitmq.listeners.event.max-length}")
+  private long maxLength;
+
+  @Value("${rabbitmq.listeners.event.dead-letter-exchange}")
+  private String deadLetterExchange;
+
   @Value("${rabbitmq.listeners.event.prefetch-count}")
   private Integer prefetchCount;
 
-  private ConnectionFactory connectionFactory(final String connectionName) {
+  @Value("${rabbitmq.listeners.event.batch.size}")
+  private Integer batchSize;
+
+  @Value("${rabbitmq.listeners.event.batch.receive-timeout-in-ms}")
+  private Long batchReceiveTimeoutInMs;
+
+  private CachingConnectionFactory connectionFactory(final String connectionName) {
     final CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
     connectionFactory.setConnectionNameStrategy(conn -> connectionName);
 
@@ -46,11 +74,67 @@ public class RabbitConfig {
     return connectionFactory;
   }
 
+  /*
+   * Same mapper as the default converter, with the blackbird module when enabled (BlackbirdConfig).
+   * */
+  private static Jackson2JsonMessageConverter messageConverter(
+      final ObjectProvider<BlackbirdModule> blackbird) {
+    final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+    blackbird.ifAvailable(objectMapper::registerModule);
+    return new Jackson2JsonMessageConverter(objectMapper);
+  }
+
+  /*
+   * Declares the beans below before the listener starts (RabbitApplicationStartupListener). A
+   * queue that exists with other arguments is left as is and the failure logged, see the README.
+   * */
+  @Bean
+  public RabbitAdmin rabbitAdmin() {
+    final RabbitAdmin admin = new RabbitAdmin(this.connectionFactory("api-admin"));
+    admin.setAutoStartup(false);
+    admin.setIgnoreDeclarationExceptions(true);
+    return admin;
+  }
+
+  /*
+   * The messages rejected by the listener (without requeue) are dead-lettered to
+   * '<queue>-dead-letter' through the dead-letter exchange, with the queue name as routing key.
+   * */
+  @Bean
+  public Queue eventQueue() {
+    return this.queue(this.queue)
+        .deadLetterExchange(this.deadLetterExchange)
+        .deadLetterRoutingKey(this.queue)
+        .build();
+  }
+
+  @Bean
+  public Declarables eventDeadLetter() {
+    final DirectExchange exchange = new DirectExchange(this.deadLetterExchange);
+    final Queue deadLetterQueue = this.queue(this.queue + "-dead-letter").build();
+    return new Declarables(
+        exchange,
+        deadLetterQueue,
+        BindingBuilder.bind(deadLetterQueue).to(exchange).with(this.queue));
+  }
+
+  /*
+   * Same arguments as the broker definitions (scripts/configs/rabbitmq-definition.json), a durable
+   * queue can only be redeclared with its original arguments.
+   * */
+  private QueueBuilder queue(final String name) {
+    return QueueBuilder.durable(name)
+        .withArgument("x-queue-type", this.queueType)
+        .maxLength(this.maxLength)
+        .overflow(QueueBuilder.Overflow.rejectPublish);
+  }
+
   @Bean(name = RABBIT_ASYNC_EVENT_LISTENER_FACTORY)
-  public DirectRabbitListenerContainerFactory eventListenerFactory() {
+  public DirectRabbitListenerContainerFactory eventListenerFactory(
+      final ObjectProvider<BlackbirdModule> blackbird) {
     final DirectRabbitListenerContainerFactory factory = new DirectRabbitListenerContainerFactory();
     factory.setConnectionFactory(this.connectionFactory("api-event-listener"));
-    factory.setMessageConverter(new Jackson2JsonMessageConverter());
+    factory.setMessageConverter(messageConverter(blackbird));
     factory.setObservationEnabled(true);
     factory.setAutoStartup(false); // started at ApplicationReadyEvent
 
@@ -61,13 +145,43 @@ public class RabbitConfig {
     return factory;
   }
 
+  /*
+   * Consumer side batches, only supported by the simple container: up to batch.size messages, fewer
+   * once no message came for batch.receive-timeout-in-ms. The listener acks each batch with one
+   * multiple ack and rejects (dead-letters) the messages it failed on.
+   * */
+  @Bean(name = RABBIT_BATCH_EVENT_LISTENER_FACTORY)
+  public SimpleRabbitListenerContainerFactory batchEventListenerFactory() {
+    final SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    factory.setConnectionFactory(this.connectionFactory("api-batch-event-listener"));
+    factory.setAutoStartup(false); // started at ApplicationReadyEvent
+
+    factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+    factory.setDefaultRequeueRejected(false);
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(this.batchSize);
+    factory.setReceiveTimeout(this.batchReceiveTimeoutInMs);
+    factory.setPrefetchCount(Math.max(this.prefetchCount, this.batchSize));
+    return factory;
+  }
+
+  /*
+   * Correlated publisher confirms and returns, the EventPublisher completes a future per message
+   * (the OutboxRelay publishes through it too). Messages are mandatory: unroutable ones are returned
+   * instead of dropped. No retry, the caller decides from the future.
+   * */
   @Bean(name = RABBIT_EVENT_PUBLISHER)
-  public RabbitTemplate rabbitTemplate() {
-    final RabbitTemplate factory =
-        new RabbitTemplate(this.connectionFactory("api-event-publisher"));
-    factory.setMessageConverter(new Jackson2JsonMessageConverter());
+  public RabbitTemplate rabbitTemplate(final ObjectProvider<BlackbirdModule> blackbird) {
+    final CachingConnectionFactory connectionFactory =
+        this.connectionFactory("api-event-publisher");
+    connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+    connectionFactory.setPublisherReturns(true);
+
+    final RabbitTemplate factory = new RabbitTemplate(connectionFactory);
+    factory.setMessageConverter(messageConverter(blackbird));
     factory.setObservationEnabled(true);
-    factory.setRetryTemplate(RetryTemplate.defaultInstance());
+    factory.setMandatory(true);
 
     return factory;
   }
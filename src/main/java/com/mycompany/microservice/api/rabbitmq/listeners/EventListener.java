@@ -1,8 +1,19 @@
 package com.mycompany.microservice.api.rabbitmq.listeners;
 
 import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_ASYNC_EVENT_LISTENER_FACTORY;
+import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_BATCH_EVENT_LISTENER_FACTORY;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,22 +21,178 @@ import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+/*
+ * EventListener:
+ *
+ * One container consumes the queue, chosen at startup (see RabbitApplicationStartupListener):
+ * one message per call (acked by the container once the Mono completes), or batches when
+ * rabbitmq.listeners.event.batch.enabled (decoded one by one, processed together, acked with one
+ * multiple ack; the messages that failed to decode are rejected without requeue, so dead-lettered,
+ * and the rest of the batch is kept). When the batch processing fails, its messages are processed
+ * again one at a time: the good ones are acked and only the failing ones are rejected, so the
+ * processing must be idempotent.
+ * rabbitmq.listener.messages (by mode and outcome) compares the throughput of both modes.
+ * */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class EventListener {
 
   public static final String RABBIT_ASYNC_EVENT_LISTENER_ID = "EventListener";
+  public static final String RABBIT_BATCH_EVENT_LISTENER_ID = "BatchEventListener";
 
-  @Value("${rabbitmq.listeners.event.queue}")
-  private String queueName;
+  private final String queueName;
+
+  private final Counter single;
+  private final Counter batchAcked;
+  private final Counter batchRejected;
+  private final DistributionSummary batchSize;
+  private final Timer singleProcess;
+  private final Timer batchProcess;
+
+  public EventListener(
+      @Value("${rabbitmq.listeners.event.queue}") final String queueName,
+      final MeterRegistry meterRegistry) {
+    this.queueName = queueName;
+
+    this.single = messages(meterRegistry, "single", "acked");
+    this.batchAcked = messages(meterRegistry, "batch", "acked");
+    this.batchRejected = messages(meterRegistry, "batch", "rejected");
+    this.batchSize =
+        DistributionSummary.builder("rabbitmq.listener.batch")
+            .description("messages per batch")
+            .register(meterRegistry);
+    this.singleProcess = process(meterRegistry, "single");
+    this.batchProcess = process(meterRegistry, "batch");
+  }
 
   @RabbitListener(
       id = RABBIT_ASYNC_EVENT_LISTENER_ID,
       containerFactory = RABBIT_ASYNC_EVENT_LISTENER_FACTORY,
       queues = "${rabbitmq.listeners.event.queue}")
   public Mono<Void> process(final Message<?> message) {
-    log.info("[RABBITMQ][SUB][{}] {}", this.queueName, message);
+    final long start = System.nanoTime();
+    log.debug("[RABBITMQ][SUB][{}] {}", this.queueName, message);
+    this.single.increment();
+    this.singleProcess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     return Mono.empty();
   }
+
+  @RabbitListener(
+      id = RABBIT_BATCH_EVENT_LISTENER_ID,
+      containerFactory = RABBIT_BATCH_EVENT_LISTENER_FACTORY,
+      queues = "${rabbitmq.listeners.event.queue}")
+  public void processBatch(
+      final List<org.springframework.amqp.core.Message> messages, final Channel channel)
+      throws IOException {
+    final long start = System.nanoTime();
+    try {
+      this.decodeAndProcess(messages, channel);
+    } finally {
+      this.batchProcess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /*
+   * Messages consumed (acked or rejected) since startup, read by the EventListenerAutoscaler.
+   * */
+  long consumed(final boolean batch) {
+    return batch ? (long) this.batchSize.totalAmount() : this.singleProcess.count();
+  }
+
+  /*
+   * Listener calls (one per message, or one per batch), read by the EventListenerAutoscaler.
+   * */
+  Timer processTimer(final boolean batch) {
+    return batch ? this.batchProcess : this.singleProcess;
+  }
+
+  private void decodeAndProcess(
+      final List<org.springframework.amqp.core.Message> messages, final Channel channel)
+      throws IOException {
+    final List<JsonNode> events = new ArrayList<>(messages.size());
+    final List<org.springframework.amqp.core.Message> decoded = new ArrayList<>(messages.size());
+    for (final org.springframework.amqp.core.Message message : messages) {
+      try {
+        events.add(JsonUtils.deserializeFromCamelCase(message.getBody(), JsonNode.class));
+        decoded.add(message);
+      } catch (final Exception ex) {
+        this.reject(message, channel, ex);
+      }
+    }
+    this.batchSize.record(messages.size());
+    if (decoded.isEmpty()) {
+      return;
+    }
+
+    try {
+      this.processAll(events);
+    } catch (final Exception ex) {
+      log.warn(
+          "[RABBITMQ][SUB][{}] batch of {} messages failed, processing them one at a time",
+          this.queueName,
+          events.size(),
+          ex);
+      this.processOneByOne(events, decoded, channel);
+      return;
+    }
+    // delivery tags increase within the channel, acking the last decoded one acks them all.
+    channel.basicAck(decoded.getLast().getMessageProperties().getDeliveryTag(), true);
+    this.batchAcked.increment(events.size());
+  }
+
+  private void processOneByOne(
+      final List<JsonNode> events,
+      final List<org.springframework.amqp.core.Message> messages,
+      final Channel channel)
+      throws IOException {
+    for (int i = 0; i < events.size(); i++) {
+      final org.springframework.amqp.core.Message message = messages.get(i);
+      try {
+        this.processAll(List.of(events.get(i)));
+      } catch (final Exception ex) {
+        this.reject(message, channel, ex);
+        continue;
+      }
+      channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+      this.batchAcked.increment();
+    }
+  }
+
+  private void reject(
+      final org.springframework.amqp.core.Message message,
+      final Channel channel,
+      final Exception ex)
+      throws IOException {
+    log.error(
+        "[RABBITMQ][SUB][{}] rejecting message {}",
+        this.queueName,
+        message.getMessageProperties().getMessageId(),
+        ex);
+    channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+    this.batchRejected.increment();
+  }
+
+  /*
+   * Where the batch is handled as a whole (ex: bulk database writes), also called with a single
+   * event after a batch failure.
+   * */
+  void processAll(final List<JsonNode> events) {
+    log.debug("[RABBITMQ][SUB][{}] batch of {} messages", this.queueName, events.size());
+    log.debug("[RABBITMQ][SUB][{}] {}", this.queueName, events);
+  }
+
+  private static Timer process(final MeterRegistry meterRegistry, final String mode) {
+    return Timer.builder("rabbitmq.listener.process")
+        .description("time spent in a listener call, per message or per batch")
+        .tag("mode", mode)
+        .register(meterRegistry);
+  }
+
+  private static Counter messages(
+      final MeterRegistry meterRegistry, final String mode, final String outcome) {
+    return Counter.builder("rabbitmq.listener.messages")
+        .description("messages consumed, by mode and outcome")
+        .tags("mode", mode, "outcome", outcome)
+        .register(meterRegistry);
+  }
 }
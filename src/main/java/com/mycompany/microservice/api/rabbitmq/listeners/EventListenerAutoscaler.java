@@ -0,0 +1,338 @@
+package com.mycompany.microservice.api.rabbitmq.listeners;
+
+import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_EVENT_PUBLISHER;
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_ASYNC_EVENT_LISTENER_ID;
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_BATCH_EVENT_LISTENER_ID;
+
+import com.mycompany.microservice.api.clients.http.WebhookSiteHttpClient;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.DirectMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * EventListenerAutoscaler:
+ *
+ * Sizes the running event listener container (consumers and prefetch) from the queue depth and
+ * the time spent in listener calls, every rabbitmq.listeners.event.autoscaling.interval-in-ms:
+ * - backs off (halves consumers and prefetch) while the primary database pool is saturated or the
+ *   webhook circuit breaker is not closed, more consumers would only hold connections or fail;
+ * - adds a consumer while the backlog per consumer is above target-depth-per-consumer, and doubles
+ *   the prefetch only when calls are under target-latency-in-ms (slow calls get more consumers,
+ *   not more messages buffered per consumer);
+ * - removes a consumer (and halves the prefetch) once the backlog is a quarter of the target.
+ * Always within the configured bounds. The broker applies the prefetch per consumer when it starts,
+ * so a new prefetch reaches the consumers added after the change.
+ * Decisions, queue depth and consumer lag (estimated time to drain the queue) are exported.
+ * */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "rabbitmq.listeners.event.autoscaling.enabled", havingValue = "true")
+public class EventListenerAutoscaler {
+
+  private static final String HOLD = "hold";
+  private static final String SCALE_UP = "scale_up";
+  private static final String SCALE_DOWN = "scale_down";
+  private static final String BACK_OFF = "back_off";
+
+  private final RabbitListenerEndpointRegistry registry;
+  private final RabbitTemplate rabbitTemplate;
+  private final EventListener eventListener;
+  private final DataSource dataSource;
+  private final CircuitBreaker circuitBreaker;
+  private final MeterRegistry meterRegistry;
+  private final String queueName;
+  private final boolean batchEnabled;
+  private final double poolSaturation;
+  private final Policy policy;
+
+  private final AtomicInteger consumers = new AtomicInteger();
+  private final AtomicInteger prefetch = new AtomicInteger();
+  private final AtomicLong depth = new AtomicLong();
+  private final AtomicLong lagInMs = new AtomicLong();
+
+  private HikariDataSource pool;
+  private boolean applied;
+  private long lastConsumed = -1;
+  private long lastCalls;
+  private double lastTotalTimeInMs;
+  private long lastTick;
+
+  public EventListenerAutoscaler(
+      final RabbitListenerEndpointRegistry registry,
+      @Qualifier(RABBIT_EVENT_PUBLISHER) final RabbitTemplate rabbitTemplate,
+      final EventListener eventListener,
+      final DataSource dataSource,
+      final WebhookSiteHttpClient webhookSiteHttpClient,
+      final MeterRegistry meterRegistry,
+      @Value("${rabbitmq.listeners.event.queue}") final String queueName,
+      @Value("${rabbitmq.listeners.event.prefetch-count}") final int prefetchCount,
+      @Value("${rabbitmq.listeners.event.batch.enabled}") final boolean batchEnabled,
+      @Value("${rabbitmq.listeners.event.batch.size}") final int batchSize,
+      @Value("${rabbitmq.listeners.event.autoscaling.min-consumers}") final int minConsumers,
+      @Value("${rabbitmq.listeners.event.autoscaling.max-consumers}") final int maxConsumers,
+      @Value("${rabbitmq.listeners.event.autoscaling.min-prefetch}") final int minPrefetch,
+      @Value("${rabbitmq.listeners.event.autoscaling.max-prefetch}") final int maxPrefetch,
+      @Value("${rabbitmq.listeners.event.autoscaling.target-depth-per-consumer}")
+          final long targetDepthPerConsumer,
+      @Value("${rabbitmq.listeners.event.autoscaling.target-latency-in-ms}")
+          final double targetLatencyInMs,
+      @Value("${rabbitmq.listeners.event.autoscaling.pool-saturation}")
+          final double poolSaturation) {
+    this.registry = registry;
+    this.rabbitTemplate = rabbitTemplate;
+    this.eventListener = eventListener;
+    this.dataSource = dataSource;
+    this.circuitBreaker = webhookSiteHttpClient.getDefaultCircuitBreaker();
+    this.meterRegistry = meterRegistry;
+    this.queueName = queueName;
+    this.batchEnabled = batchEnabled;
+    this.poolSaturation = poolSaturation;
+
+    // a batch consumer needs at least a batch worth of prefetch.
+    final int floor = batchEnabled ? Math.max(minPrefetch, batchSize) : minPrefetch;
+    this.policy =
+        new Policy(
+            minConsumers,
+            maxConsumers,
+            floor,
+            Math.max(floor, maxPrefetch),
+            targetDepthPerConsumer,
+            targetLatencyInMs);
+    this.consumers.set(minConsumers);
+    this.prefetch.set(Math.min(Math.max(prefetchCount, floor), this.policy.maxPrefetch()));
+
+    Gauge.builder("rabbitmq.listener.autoscaler.consumers", this.consumers, AtomicInteger::get)
+        .description("consumers of the event listener container")
+        .register(meterRegistry);
+    Gauge.builder("rabbitmq.listener.autoscaler.prefetch", this.prefetch, AtomicInteger::get)
+        .description("prefetch of the consumers started last")
+        .register(meterRegistry);
+    Gauge.builder("rabbitmq.listener.queue.depth", this.depth, AtomicLong::get)
+        .description("messages ready in the event queue")
+        .tag("queue", queueName)
+        .register(meterRegistry);
+    TimeGauge.builder("rabbitmq.listener.lag", this.lagInMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+        .description("estimated time to drain the event queue at the current rate")
+        .tag("queue", queueName)
+        .register(meterRegistry);
+  }
+
+  @Scheduled(
+      initialDelayString = "${rabbitmq.listeners.event.autoscaling.interval-in-ms}",
+      fixedDelayString = "${rabbitmq.listeners.event.autoscaling.interval-in-ms}")
+  public void scale() {
+    final AbstractMessageListenerContainer container =
+        (AbstractMessageListenerContainer)
+            this.registry.getListenerContainer(
+                this.batchEnabled
+                    ? RABBIT_BATCH_EVENT_LISTENER_ID
+                    : RABBIT_ASYNC_EVENT_LISTENER_ID);
+    if (container == null || !container.isRunning()) {
+      return;
+    }
+    if (!this.applied) {
+      this.apply(container, this.consumers.get(), this.prefetch.get());
+      this.applied = true;
+    }
+
+    final long ready;
+    try {
+      ready =
+          this.rabbitTemplate.execute(
+              channel -> channel.queueDeclarePassive(this.queueName).getMessageCount());
+    } catch (final AmqpException ex) {
+      log.warn("[RABBITMQ][AUTOSCALER][{}] queue depth unavailable", this.queueName, ex);
+      return;
+    }
+    this.depth.set(ready);
+    final double latencyInMs = this.observe(ready);
+
+    final Step step =
+        this.policy.next(
+            this.consumers.get(), this.prefetch.get(), ready, latencyInMs, this.pressure());
+    this.meterRegistry
+        .counter(
+            "rabbitmq.listener.autoscaler.decisions",
+            "decision",
+            step.decision(),
+            "reason",
+            step.reason())
+        .increment();
+    if (HOLD.equals(step.decision())) {
+      return;
+    }
+
+    log.info(
+        "[RABBITMQ][AUTOSCALER][{}] {} ({}): depth {}, latency {} ms, consumers {} -> {}, prefetch {} -> {}",
+        this.queueName,
+        step.decision(),
+        step.reason(),
+        ready,
+        latencyInMs,
+        this.consumers.get(),
+        step.consumers(),
+        this.prefetch.get(),
+        step.prefetch());
+    this.apply(container, step.consumers(), step.prefetch());
+  }
+
+  /*
+   * Mean time of the listener calls since the previous tick (NaN without calls) and, from the
+   * messages consumed meanwhile, the consumer lag.
+   * */
+  private double observe(final long ready) {
+    final long now = System.nanoTime();
+    final long consumed = this.eventListener.consumed(this.batchEnabled);
+    final Timer timer = this.eventListener.processTimer(this.batchEnabled);
+    final long calls = timer.count();
+    final double totalTimeInMs = timer.totalTime(TimeUnit.MILLISECONDS);
+
+    double latencyInMs = Double.NaN;
+    if (this.lastConsumed >= 0) {
+      final long elapsedInMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - this.lastTick));
+      final long drained = consumed - this.lastConsumed;
+      if (ready == 0) {
+        this.lagInMs.set(0);
+      } else if (drained > 0) {
+        this.lagInMs.set(ready * elapsedInMs / drained);
+      } else {
+        // nothing drained, the queue is at least this much further behind.
+        this.lagInMs.addAndGet(elapsedInMs);
+      }
+      if (calls > this.lastCalls) {
+        latencyInMs = (totalTimeInMs - this.lastTotalTimeInMs) / (calls - this.lastCalls);
+      }
+    }
+    this.lastTick = now;
+    this.lastConsumed = consumed;
+    this.lastCalls = calls;
+    this.lastTotalTimeInMs = totalTimeInMs;
+    return latencyInMs;
+  }
+
+  /*
+   * Why the listener should back off (a decision reason), null without pressure.
+   * */
+  private String pressure() {
+    final HikariPoolMXBean mxBean = this.pool() == null ? null : this.pool.getHikariPoolMXBean();
+    if (mxBean != null
+        && (mxBean.getThreadsAwaitingConnection() > 0
+            || mxBean.getActiveConnections()
+                >= this.poolSaturation * this.pool.getMaximumPoolSize())) {
+      return "pool";
+    }
+    final CircuitBreaker.State state = this.circuitBreaker.getState();
+    if (state != CircuitBreaker.State.CLOSED && state != CircuitBreaker.State.DISABLED) {
+      return "circuit_breaker";
+    }
+    return null;
+  }
+
+  /*
+   * The primary pool behind the bulkhead and routing proxies.
+   * */
+  private HikariDataSource pool() {
+    if (this.pool == null) {
+      try {
+        if (this.dataSource.isWrapperFor(HikariDataSource.class)) {
+          this.pool = this.dataSource.unwrap(HikariDataSource.class);
+        }
+      } catch (final SQLException ex) {
+        log.warn("[RABBITMQ][AUTOSCALER][{}] database pool unavailable", this.queueName, ex);
+      }
+    }
+    return this.pool;
+  }
+
+  private void apply(
+      final AbstractMessageListenerContainer container, final int consumers, final int prefetch) {
+    // prefetch first, the consumers started by the resize use it.
+    container.setPrefetchCount(prefetch);
+    if (container instanceof final DirectMessageListenerContainer direct) {
+      direct.setConsumersPerQueue(consumers);
+    } else if (container instanceof final SimpleMessageListenerContainer simple) {
+      simple.setConcurrentConsumers(consumers);
+    }
+    this.consumers.set(consumers);
+    this.prefetch.set(prefetch);
+  }
+
+  record Step(String decision, String reason, int consumers, int prefetch) {}
+
+  /*
+   * The decision of a tick, from the current sizing and what was observed. A step the bounds keep
+   * from changing anything is a hold.
+   * */
+  record Policy(
+      int minConsumers,
+      int maxConsumers,
+      int minPrefetch,
+      int maxPrefetch,
+      long targetDepthPerConsumer,
+      double targetLatencyInMs) {
+
+    Step next(
+        final int consumers,
+        final int prefetch,
+        final long depth,
+        final double latencyInMs,
+        final String pressure) {
+      if (pressure != null) {
+        return this.step(BACK_OFF, pressure, consumers, prefetch, consumers / 2, prefetch / 2);
+      }
+      if (depth > consumers * this.targetDepthPerConsumer) {
+        // NaN (no call completed) is not fast either.
+        final boolean fast = latencyInMs <= this.targetLatencyInMs;
+        return this.step(
+            SCALE_UP,
+            fast ? "backlog" : "slow_calls",
+            consumers,
+            prefetch,
+            consumers + 1,
+            fast ? prefetch * 2 : prefetch);
+      }
+      if (depth * 4 < consumers * this.targetDepthPerConsumer) {
+        return this.step(SCALE_DOWN, "idle", consumers, prefetch, consumers - 1, prefetch / 2);
+      }
+      return new Step(HOLD, "target", consumers, prefetch);
+    }
+
+    private Step step(
+        final String decision,
+        final String reason,
+        final int consumers,
+        final int prefetch,
+        final int nextConsumers,
+        final int nextPrefetch) {
+      final int boundedConsumers =
+          Math.min(Math.max(nextConsumers, this.minConsumers), this.maxConsumers);
+      final int boundedPrefetch =
+          Math.min(Math.max(nextPrefetch, this.minPrefetch), this.maxPrefetch);
+      if (boundedConsumers == consumers && boundedPrefetch == prefetch) {
+        return new Step(HOLD, reason, consumers, prefetch);
+      }
+      return new Step(decision, reason, boundedConsumers, boundedPrefetch);
+    }
+  }
+}
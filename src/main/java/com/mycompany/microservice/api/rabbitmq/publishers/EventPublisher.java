@@ -4,52 +4,554 @@ import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBI
 import static java.lang.String.format;
 
 import com.mycompany.microservice.api.utils.JsonUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Serial;
 import java.nio.charset.StandardCharsets;
-import lombok.RequiredArgsConstructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
-import org.springframework.amqp.core.MessageBuilder;
 import org.springframework.amqp.core.MessageProperties;
-import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
+/*
+ * EventPublisher:
+ *
+ * Publishes with correlated publisher confirms: the returned future completes once the broker
+ * confirmed the message, and fails when it was nacked, returned (no queue bound for the routing
+ * key, messages are mandatory) or not confirmed within the confirm timeout.
+ * At most max-in-flight messages wait for their confirm, publish blocks while the window is full
+ * (up to the confirm timeout, then the future fails).
+ *
+ * Batches (publishAll, publishAllMessages, and publish when batching is enabled) are per exchange
+ * and routing key, sent once they reach batching.size messages or batching.max-size bytes, or after
+ * batching.linger-in-ms, over one channel (RabbitTemplate.invoke); the broker acks them together.
+ * Pending batches are sent on graceful shutdown, after the web server stopped. The OutboxRelay
+ * publishes through publishAllMessages.
+ *
+ * Payloads are serialized straight to UTF-8 bytes (JsonUtils buffers are recycled across threads)
+ * and logged for a sample of the messages only (log.sample-rate), capped to log.max-payload-length.
+ * Message ids are a per-instance prefix and a sequence, meters are registered once per exchange.
+ *
+ * Metrics: rabbitmq.publish (time to hand a batch to the channel), rabbitmq.publish.batch
+ * (messages per send) and rabbitmq.publish.confirm (time from publish to confirm, by outcome).
+ *
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class EventPublisher {
+public class EventPublisher implements SmartLifecycle {
 
-  @Qualifier(RABBIT_EVENT_PUBLISHER)
-  private final AmqpTemplate amqpTemplate;
+  private static final String CONTENT_ENCODING = StandardCharsets.UTF_8.name();
 
-  public void publish(
+  private final RabbitTemplate rabbitTemplate;
+  private final MeterRegistry meterRegistry;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+  private final long confirmTimeoutInMs;
+  private final boolean batching;
+  private final int batchSize;
+  private final long batchMaxBytes;
+  private final long lingerInNanos;
+
+  private final double logSampleRate;
+  private final int logMaxPayloadLength;
+
+  private final ConcurrentMap<Destination, Batch> batches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ExchangeMeters> meters = new ConcurrentHashMap<>();
+  private final String idPrefix = UUID.randomUUID() + "-";
+  private final AtomicLong sequence = new AtomicLong();
+  private volatile boolean running;
+
+  public EventPublisher(
+      @Qualifier(RABBIT_EVENT_PUBLISHER) final RabbitTemplate rabbitTemplate,
+      final MeterRegistry meterRegistry,
+      @Value("${rabbitmq.publishers.event.max-in-flight}") final int maxInFlight,
+      @Value("${rabbitmq.publishers.event.confirm-timeout-in-ms}") final long confirmTimeoutInMs,
+      @Value("${rabbitmq.publishers.event.batching.enabled}") final boolean batching,
+      @Value("${rabbitmq.publishers.event.batching.size}") final int batchSize,
+      @Value("${rabbitmq.publishers.event.batching.max-size}") final DataSize batchMaxSize,
+      @Value("${rabbitmq.publishers.event.batching.linger-in-ms}") final long lingerInMs,
+      @Value("${rabbitmq.publishers.event.log.sample-rate}") final double logSampleRate,
+      @Value("${rabbitmq.publishers.event.log.max-payload-length}") final int logMaxPayloadLength) {
+    this.rabbitTemplate = rabbitTemplate;
+    this.rabbitTemplate.setReturnsCallback(EventPublisher::logReturned);
+    this.meterRegistry = meterRegistry;
+    this.maxInFlight = maxInFlight;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.confirmTimeoutInMs = confirmTimeoutInMs;
+    this.batching = batching;
+    this.batchSize = Math.min(batchSize, maxInFlight);
+    this.batchMaxBytes = batchMaxSize.toBytes();
+    this.lingerInNanos = TimeUnit.MILLISECONDS.toNanos(lingerInMs);
+    this.logSampleRate = logSampleRate;
+    this.logMaxPayloadLength = logMaxPayloadLength;
+
+    Gauge.builder(
+            "rabbitmq.publish.in-flight", this.inFlight, s -> maxInFlight - s.availablePermits())
+        .description("messages waiting for their publisher confirm")
+        .register(meterRegistry);
+  }
+
+  /*
+   * Sent right away, or added to the batch of the exchange and routing key when batching is
+   * enabled (sent right away too once stopped).
+   * */
+  public CompletableFuture<Void> publish(
       @NonNull final String exchange,
       @NonNull final String routingKey,
       @NonNull final Object payload) {
 
+    final Pending pending;
+    try {
+      pending = this.prepare(exchange, routingKey, payload);
+    } catch (final Exception ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+
+    final Destination destination = new Destination(exchange, routingKey);
+    if (!this.batching || !this.running) {
+      this.send(destination, List.of(pending));
+      return pending.result();
+    }
+
+    final AtomicReference<Batch> full = new AtomicReference<>();
+    this.batches.compute(
+        destination,
+        (key, batch) -> {
+          final Batch current = batch == null ? new Batch() : batch;
+          current.add(pending);
+          if (current.isFull(this.batchSize, this.batchMaxBytes)) {
+            full.set(current);
+            return null;
+          }
+          return current;
+        });
+    if (full.get() != null) {
+      this.send(destination, full.get().messages);
+    }
+    return pending.result();
+  }
+
+  /*
+   * Sent in batches whatever batching.enabled, the future completes once every message is
+   * confirmed.
+   * */
+  public CompletableFuture<Void> publishAll(
+      @NonNull final String exchange,
+      @NonNull final String routingKey,
+      @NonNull final Collection<?> payloads) {
+    return CompletableFuture.allOf(
+        this.publishAll(
+                new Destination(exchange, routingKey),
+                payloads,
+                payload -> this.prepare(exchange, routingKey, payload))
+            .toArray(CompletableFuture[]::new));
+  }
+
+  /*
+   * Same as publishAll for messages already built by the caller (body and properties), the message
+   * id is the confirm correlation id. One future per message, in order: the OutboxRelay, whose
+   * payloads are stored serialized, settles each event on its own confirm.
+   * */
+  public List<CompletableFuture<Void>> publishAllMessages(
+      @NonNull final String exchange,
+      @NonNull final String routingKey,
+      @NonNull final Collection<Message> messages) {
+    return this.publishAll(
+        new Destination(exchange, routingKey),
+        messages,
+        message -> this.prepare(exchange, routingKey, message, () -> message));
+  }
+
+  @Scheduled(fixedDelayString = "${rabbitmq.publishers.event.batching.linger-in-ms}")
+  public void flushExpired() {
+    final long now = System.nanoTime();
+    this.flush(batch -> now - batch.createdAt >= this.lingerInNanos);
+  }
+
+  public void flush() {
+    this.flush(batch -> true);
+  }
+
+  @Override
+  public void start() {
+    this.running = true;
+  }
+
+  /*
+   * Sends the pending batches and waits for the confirms of every message in flight.
+   * */
+  @Override
+  public void stop() {
+    this.running = false;
+    this.flush();
     try {
+      if (this.inFlight.tryAcquire(
+          this.maxInFlight, this.confirmTimeoutInMs, TimeUnit.MILLISECONDS)) {
+        this.inFlight.release(this.maxInFlight);
+      } else {
+        log.error("[RABBITMQ][PUB] messages still waiting for their confirm on shutdown");
+      }
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    log.info("[RABBITMQ][PUB] flushed on shutdown");
+  }
 
-      final String msg = JsonUtils.serializeToCamelCase(payload);
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /*
+   * Stops after the web server (see WebServerStartStopLifecycle), so the last requests are
+   * published.
+   * */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private <T> List<CompletableFuture<Void>> publishAll(
+      final Destination destination, final Collection<T> items, final Preparer<T> preparer) {
+
+    final List<CompletableFuture<Void>> results = new ArrayList<>(items.size());
+    Batch batch = new Batch();
+    for (final T item : items) {
+      try {
+        final Pending pending = preparer.prepare(item);
+        batch.add(pending);
+        results.add(pending.result());
+      } catch (final Exception ex) {
+        results.add(CompletableFuture.failedFuture(ex));
+      }
+      if (batch.isFull(this.batchSize, this.batchMaxBytes)) {
+        this.send(destination, batch.messages);
+        batch = new Batch();
+      }
+    }
+    if (!batch.messages.isEmpty()) {
+      this.send(destination, batch.messages);
+    }
+    return results;
+  }
+
+  private void flush(final Predicate<Batch> expired) {
+    for (final Destination destination : this.batches.keySet()) {
+      final AtomicReference<Batch> flushed = new AtomicReference<>();
+      this.batches.computeIfPresent(
+          destination,
+          (key, batch) -> {
+            if (!expired.test(batch)) {
+              return batch;
+            }
+            flushed.set(batch);
+            return null;
+          });
+      if (flushed.get() != null) {
+        this.send(destination, flushed.get().messages);
+      }
+    }
+  }
+
+  private Pending prepare(final String exchange, final String routingKey, final Object payload)
+      throws InterruptedException {
+    return this.prepare(
+        exchange,
+        routingKey,
+        payload,
+        () ->
+            new Message(
+                JsonUtils.serializeToCamelCaseBytes(payload),
+                messageProperties(this.idPrefix + this.sequence.incrementAndGet())));
+  }
+
+  /*
+   * Takes a permit of the in-flight window, released once by the confirm, the timeout or a publish
+   * error.
+   * */
+  private Pending prepare(
+      final String exchange,
+      final String routingKey,
+      final Object payload,
+      final Supplier<Message> messageSupplier)
+      throws InterruptedException {
+
+    if (!this.inFlight.tryAcquire(this.confirmTimeoutInMs, TimeUnit.MILLISECONDS)) {
+      log.error(
+          "[RABBITMQ][PUB][{}] too many messages waiting for their confirm, payload {}",
+          routingKey,
+          this.abbreviate(payload));
+      throw new AmqpException("too many messages waiting for their publisher confirm");
+    }
+    final long start = System.nanoTime();
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    result.whenComplete((ignored, ex) -> this.release(exchange, routingKey, ex, start));
+
+    try {
 
-      final MessageProperties props =
-          MessagePropertiesBuilder.newInstance()
-              .setContentType(MessageProperties.CONTENT_TYPE_JSON)
-              .setContentEncoding(StandardCharsets.UTF_8.toString())
-              .build();
+      final Message message = messageSupplier.get();
+      final String id = message.getMessageProperties().getMessageId();
 
-      log.info(
-          "[RABBITMQ][PUB][{}] headers {} payload {} ", routingKey, props.getHeaders(), payload);
+      if (this.logSampleRate > 0
+          && log.isInfoEnabled()
+          && ThreadLocalRandom.current().nextDouble() < this.logSampleRate) {
+        log.info(
+            "[RABBITMQ][PUB][{}] message {} payload {}",
+            routingKey,
+            id,
+            this.abbreviate(message.getBody()));
+      }
 
-      final Message message = MessageBuilder.withBody(msg.getBytes()).andProperties(props).build();
-      this.amqpTemplate.send(exchange, routingKey, message);
+      return new Pending(message, new CorrelationData(id), result, start);
 
     } catch (final Exception ex) {
       log.error(
           format(
-              "[RABBITMQ][PUB][%s] error publishing message with payload %s", routingKey, payload),
+              "[RABBITMQ][PUB][%s] error publishing message with payload %s",
+              routingKey, this.abbreviate(payload)),
           ex);
+      result.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  /*
+   * The template adds the confirm correlation header and the publish sequence number to the
+   * properties, each message needs its own instance: the constant ones are set directly, without
+   * the builders.
+   * */
+  private static MessageProperties messageProperties(final String id) {
+    final MessageProperties props = new MessageProperties();
+    props.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+    props.setContentEncoding(CONTENT_ENCODING);
+    props.setMessageId(id);
+    return props;
+  }
+
+  private void send(final Destination destination, final List<Pending> batch) {
+    final String exchange = destination.exchange();
+    final String routingKey = destination.routingKey();
+    final ExchangeMeters exchangeMeters = this.meters(exchange);
+    try {
+      exchangeMeters
+          .publish()
+          .record(
+              () -> {
+                if (batch.size() == 1) {
+                  final Pending pending = batch.getFirst();
+                  this.rabbitTemplate.send(
+                      exchange, routingKey, pending.message(), pending.correlation());
+                  return;
+                }
+                this.rabbitTemplate.invoke(
+                    operations -> {
+                      batch.forEach(
+                          pending ->
+                              operations.send(
+                                  exchange, routingKey, pending.message(), pending.correlation()));
+                      return null;
+                    });
+              });
+    } catch (final Exception ex) {
+      log.error(
+          format("[RABBITMQ][PUB][%s] error publishing %d messages", routingKey, batch.size()), ex);
+      batch.forEach(pending -> pending.result().completeExceptionally(ex));
+      return;
+    }
+
+    exchangeMeters.batch().record(batch.size());
+
+    for (final Pending pending : batch) {
+      pending.result().orTimeout(this.confirmTimeoutInMs, TimeUnit.MILLISECONDS);
+      pending
+          .correlation()
+          .getFuture()
+          .whenComplete((confirm, ex) -> this.complete(pending, destination, confirm, ex));
+    }
+  }
+
+  private void complete(
+      final Pending pending,
+      final Destination destination,
+      final Confirm confirm,
+      final Throwable ex) {
+    final ExchangeMeters exchangeMeters = this.meters(destination.exchange());
+    final CorrelationData correlation = pending.correlation();
+    final CompletableFuture<Void> result = pending.result();
+    final long elapsed = System.nanoTime() - pending.start();
+    if (ex != null) {
+      exchangeMeters.nack().record(elapsed, TimeUnit.NANOSECONDS);
+      result.completeExceptionally(ex);
+    } else if (!confirm.isAck()) {
+      exchangeMeters.nack().record(elapsed, TimeUnit.NANOSECONDS);
+      log.error(
+          "[RABBITMQ][PUB][{}] message {} nacked: {}",
+          destination.routingKey(),
+          correlation.getId(),
+          confirm.getReason());
+      result.completeExceptionally(
+          new AmqpException(
+              format("message %s nacked: %s", correlation.getId(), confirm.getReason())));
+    } else if (correlation.getReturned() != null) {
+      // the broker sends the return before the confirm of the same message.
+      exchangeMeters.returned().record(elapsed, TimeUnit.NANOSECONDS);
+      final ReturnedMessage returned = correlation.getReturned();
+      result.completeExceptionally(
+          new ReturnedException(
+              format(
+                  "message %s returned by exchange %s (%s): no queue bound for routing key %s",
+                  correlation.getId(),
+                  destination.exchange(),
+                  returned.getReplyText(),
+                  destination.routingKey())));
+    } else {
+      exchangeMeters.ack().record(elapsed, TimeUnit.NANOSECONDS);
+      result.complete(null);
+    }
+  }
+
+  private void release(
+      final String exchange, final String routingKey, final Throwable ex, final long start) {
+    this.inFlight.release();
+    if (ex instanceof TimeoutException) {
+      this.meters(exchange).timeout().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      log.error(
+          "[RABBITMQ][PUB][{}] message not confirmed in {} ms",
+          routingKey,
+          this.confirmTimeoutInMs);
+    }
+  }
+
+  private ExchangeMeters meters(final String exchange) {
+    return this.meters.computeIfAbsent(
+        exchange, key -> new ExchangeMeters(key, this.meterRegistry));
+  }
+
+  private String abbreviate(final Object payload) {
+    return StringUtils.abbreviate(String.valueOf(payload), this.logMaxPayloadLength);
+  }
+
+  /*
+   * Decodes the first max-payload-length bytes only.
+   * */
+  private String abbreviate(final byte[] body) {
+    if (body.length <= this.logMaxPayloadLength) {
+      return new String(body, StandardCharsets.UTF_8);
+    }
+    return new String(body, 0, this.logMaxPayloadLength, StandardCharsets.UTF_8)
+        + "... ("
+        + body.length
+        + " bytes)";
+  }
+
+  private static void logReturned(final ReturnedMessage returned) {
+    log.error(
+        "[RABBITMQ][PUB][{}] message {} returned by exchange {}: {} {}",
+        returned.getRoutingKey(),
+        returned.getMessage().getMessageProperties().getMessageId(),
+        returned.getExchange(),
+        returned.getReplyCode(),
+        returned.getReplyText());
+  }
+
+  /*
+   * The message was confirmed but returned as unroutable.
+   * */
+  public static final class ReturnedException extends AmqpException {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private ReturnedException(final String message) {
+      super(message);
+    }
+  }
+
+  @FunctionalInterface
+  private interface Preparer<T> {
+    Pending prepare(T item) throws InterruptedException;
+  }
+
+  private record Destination(String exchange, String routingKey) {}
+
+  private record ExchangeMeters(
+      Timer publish,
+      DistributionSummary batch,
+      Timer ack,
+      Timer nack,
+      Timer returned,
+      Timer timeout) {
+
+    private ExchangeMeters(final String exchange, final MeterRegistry meterRegistry) {
+      this(
+          Timer.builder("rabbitmq.publish")
+              .description("time to hand a batch of messages to the channel")
+              .tags("exchange", exchange)
+              .register(meterRegistry),
+          DistributionSummary.builder("rabbitmq.publish.batch")
+              .description("messages per send")
+              .tags("exchange", exchange)
+              .register(meterRegistry),
+          confirm(exchange, "ack", meterRegistry),
+          confirm(exchange, "nack", meterRegistry),
+          confirm(exchange, "returned", meterRegistry),
+          confirm(exchange, "timeout", meterRegistry));
+    }
+
+    private static Timer confirm(
+        final String exchange, final String outcome, final MeterRegistry meterRegistry) {
+      return Timer.builder("rabbitmq.publish.confirm")
+          .description("time from publish to the publisher confirm, by outcome")
+          .tags("exchange", exchange, "outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+  }
+
+  private record Pending(
+      Message message, CorrelationData correlation, CompletableFuture<Void> result, long start) {}
+
+  private static final class Batch {
+
+    private final List<Pending> messages = new ArrayList<>();
+    private final long createdAt = System.nanoTime();
+    private long bytes;
+
+    private void add(final Pending pending) {
+      this.messages.add(pending);
+      this.bytes += pending.message().getBody().length;
+    }
+
+    private boolean isFull(final int size, final long maxBytes) {
+      return this.messages.size() >= size || this.bytes >= maxBytes;
     }
   }
 }
@@ -0,0 +1,270 @@
+package com.mycompany.microservice.api.rabbitmq.publishers;
+
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.entities.OutboxEvent;
+import com.mycompany.microservice.api.rabbitmq.publishers.EventPublisher.ReturnedException;
+import com.mycompany.microservice.api.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * OutboxRelay:
+ *
+ * Publishes the outbox (see OutboxService) in batches: rows are claimed with FOR UPDATE SKIP LOCKED
+ * and leased (available_at moved past the confirm timeout) in a short transaction, then published
+ * through the EventPublisher (publishAllMessages per exchange and routing key) without holding
+ * locks nor a connection while waiting for the confirms.
+ * Each event is settled on its own confirm: the confirmed ones are deleted, the ones nacked,
+ * returned as unroutable or not confirmed in time get their attempt recorded (attempts, last_error)
+ * and are retried after an exponential backoff, so they do not block the events behind them. An
+ * event that failed max-attempts times is parked (parked_at) and left to an operator.
+ * Runs on the scheduler virtual threads and loops while batches are full.
+ *
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "rabbitmq.publishers.outbox.relay-enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private final OutboxEventRepository repository;
+  private final EventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long confirmTimeoutInMs;
+  private final int maxAttempts;
+  private final long retryBackoffInMs;
+
+  private final Counter published;
+  private final Counter failed;
+  private final Counter returned;
+  private final Counter parked;
+  private final Timer batchTimer;
+  private final Timer lag;
+
+  public OutboxRelay(
+      final OutboxEventRepository repository,
+      final EventPublisher eventPublisher,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry,
+      @Value("${rabbitmq.publishers.outbox.batch-size}") final int batchSize,
+      @Value("${rabbitmq.publishers.outbox.confirm-timeout-in-ms}") final long confirmTimeoutInMs,
+      @Value("${rabbitmq.publishers.outbox.max-attempts}") final int maxAttempts,
+      @Value("${rabbitmq.publishers.outbox.retry-backoff-in-ms}") final long retryBackoffInMs) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.confirmTimeoutInMs = confirmTimeoutInMs;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoffInMs = retryBackoffInMs;
+
+    this.published = Counter.builder("outbox.relay.published").register(meterRegistry);
+    this.failed =
+        Counter.builder("outbox.relay.failed").tag("reason", "error").register(meterRegistry);
+    this.returned =
+        Counter.builder("outbox.relay.failed").tag("reason", "returned").register(meterRegistry);
+    this.parked =
+        Counter.builder("outbox.relay.parked")
+            .description("events that failed max-attempts times, no longer relayed")
+            .register(meterRegistry);
+    this.batchTimer =
+        Timer.builder("outbox.relay.batch")
+            .description("time to publish and confirm a batch")
+            .register(meterRegistry);
+    this.lag =
+        Timer.builder("outbox.relay.lag")
+            .description("time between the event being written and being confirmed")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${rabbitmq.publishers.outbox.interval-in-ms}")
+  public void relay() {
+    try {
+      int relayed;
+      do {
+        relayed = this.relayBatch();
+      } while (relayed == this.batchSize);
+    } catch (final Exception ex) {
+      this.failed.increment();
+      log.error("[RABBITMQ][OUTBOX] error relaying events, retrying on next run", ex);
+    }
+  }
+
+  private int relayBatch() {
+    final List<OutboxEvent> events = this.claim();
+    if (events.isEmpty()) {
+      return 0;
+    }
+
+    // claimed in id order, kept per exchange and routing key.
+    final Map<Destination, List<OutboxEvent>> destinations =
+        events.stream()
+            .collect(
+                Collectors.groupingBy(
+                    event -> new Destination(event.getExchange(), event.getRoutingKey()),
+                    LinkedHashMap::new,
+                    Collectors.toList()));
+
+    final Map<OutboxEvent, CompletableFuture<Void>> results = new LinkedHashMap<>();
+    this.batchTimer.record(
+        () -> {
+          destinations.forEach(
+              (destination, batch) -> {
+                final List<CompletableFuture<Void>> confirms =
+                    this.eventPublisher.publishAllMessages(
+                        destination.exchange(),
+                        destination.routingKey(),
+                        batch.stream().map(OutboxRelay::toMessage).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                  results.put(batch.get(i), confirms.get(i));
+                }
+              });
+          this.awaitConfirms(results.values());
+        });
+
+    final List<OutboxEvent> confirmed =
+        results.entrySet().stream()
+            .filter(result -> result.getValue().state() == Future.State.SUCCESS)
+            .map(Map.Entry::getKey)
+            .toList();
+    final Map<OutboxEvent, Throwable> failures =
+        results.entrySet().stream()
+            .filter(result -> result.getValue().state() != Future.State.SUCCESS)
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey,
+                    result -> this.failure(result.getValue()),
+                    (first, second) -> first,
+                    LinkedHashMap::new));
+
+    this.settle(confirmed, failures);
+
+    final LocalDateTime now = LocalDateTime.now();
+    confirmed.forEach(event -> this.lag.record(Duration.between(event.getCreatedAt(), now)));
+    this.published.increment(confirmed.size());
+    log.debug("[RABBITMQ][OUTBOX] relayed {} events, {} failed", confirmed.size(), failures.size());
+
+    return events.size();
+  }
+
+  /*
+   * Short transaction: the rows are unlocked and the connection released before publishing.
+   * */
+  private List<OutboxEvent> claim() {
+    return this.transactionTemplate.execute(
+        status -> {
+          final List<OutboxEvent> events = this.repository.findAvailableForUpdate(this.batchSize);
+          if (!events.isEmpty()) {
+            // past the confirm timeout, the claimed rows are settled before it expires.
+            this.repository.lease(
+                events.stream().map(OutboxEvent::getId).toList(), 2 * this.confirmTimeoutInMs);
+          }
+          return events;
+        });
+  }
+
+  private void settle(
+      final List<OutboxEvent> confirmed, final Map<OutboxEvent, Throwable> failures) {
+    this.transactionTemplate.executeWithoutResult(
+        status -> {
+          if (!confirmed.isEmpty()) {
+            this.repository.deleteAllByIdInBatch(
+                confirmed.stream().map(OutboxEvent::getId).toList());
+          }
+          failures.forEach(this::recordFailure);
+        });
+  }
+
+  private void recordFailure(final OutboxEvent event, final Throwable ex) {
+    (ex instanceof ReturnedException ? this.returned : this.failed).increment();
+    // 1, 2, 4, ... times the retry backoff.
+    final long backoffInMs = this.retryBackoffInMs << Math.min(event.getAttempts(), 20);
+    this.repository.recordFailure(event.getId(), ex.toString(), backoffInMs, this.maxAttempts);
+
+    if (event.getAttempts() + 1 >= this.maxAttempts) {
+      this.parked.increment();
+      log.error(
+          format(
+              "[RABBITMQ][OUTBOX] event %d to %s parked after %d attempts",
+              event.getId(), event.getRoutingKey(), event.getAttempts() + 1),
+          ex);
+    } else {
+      log.warn(
+          "[RABBITMQ][OUTBOX] event {} to {} failed, retrying in {} ms: {}",
+          event.getId(),
+          event.getRoutingKey(),
+          backoffInMs,
+          ex.toString());
+    }
+  }
+
+  /*
+   * Waits until every message is confirmed, nacked, returned or timed out (the EventPublisher
+   * completes each of them within its confirm timeout), at most the relay confirm timeout.
+   * */
+  private void awaitConfirms(final Collection<CompletableFuture<Void>> results) {
+    try {
+      CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+          .get(this.confirmTimeoutInMs, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException | TimeoutException ex) {
+      // settled per message.
+    }
+  }
+
+  private Throwable failure(final CompletableFuture<Void> result) {
+    if (result.state() == Future.State.FAILED) {
+      final Throwable ex = result.exceptionNow();
+      return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+    return new AmqpException(format("not confirmed in %d ms", this.confirmTimeoutInMs));
+  }
+
+  private static Message toMessage(final OutboxEvent event) {
+    final MessageProperties props =
+        MessagePropertiesBuilder.newInstance()
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setContentEncoding(StandardCharsets.UTF_8.toString())
+            .setMessageId(event.getId().toString())
+            .setTimestamp(
+                Date.from(event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()))
+            .build();
+    return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+        .andProperties(props)
+        .build();
+  }
+
+  private record Destination(String exchange, String routingKey) {}
+}
@@ -1,21 +1,26 @@
 package com.mycompany.microservice.api.repositories;
 
 import com.mycompany.microservice.api.entities.ApiKey;
+import com.mycompany.microservice.api.repositories.base.BaseRepository;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
 
-public interface ApikeyRepository extends JpaRepository<ApiKey, Long> {
+public interface ApikeyRepository extends BaseRepository<ApiKey> {
 
   String CACHE_NAME = "apiKey";
 
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   ApiKey findFirstByCompanyIdAndIsActive(Long companyId, boolean isActive);
 
   @Cacheable(value = CACHE_NAME, key = "{'findByKeyAndIsActive', #key}")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<ApiKey> findByKeyAndIsActive(String key, boolean isActive);
 
   @Caching(evict = {@CacheEvict(value = CACHE_NAME, key = "{'findByKeyAndIsActive', #entity.key}")})
@@ -0,0 +1,8 @@
+package com.mycompany.microservice.api.repositories;
+
+import com.mycompany.microservice.api.entities.AuditTrail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+public interface AuditTrailRepository
+    extends JpaRepository<AuditTrail, Long>, QuerydslPredicateExecutor<AuditTrail> {}
@@ -1,15 +1,18 @@
 package com.mycompany.microservice.api.repositories;
 
 import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.repositories.base.BaseRepository;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.lang.NonNull;
 
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends BaseRepository<Company> {
 
   String CACHE_NAME = "company";
 
@@ -19,6 +22,7 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
   Optional<Company> findById(@NonNull Long id);
 
   @Cacheable(value = CACHE_NAME, key = "{'bySlug', #slug}")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   Optional<Company> findBySlug(String slug);
 
   @Caching(
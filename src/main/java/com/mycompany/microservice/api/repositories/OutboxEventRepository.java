@@ -0,0 +1,61 @@
+package com.mycompany.microservice.api.repositories;
+
+import com.mycompany.microservice.api.entities.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /*
+   * Rows locked by another relay are skipped, so relays of every instance can run concurrently.
+   * Parked rows, and rows leased or backing off (available_at in the future), are not claimed.
+   * */
+  @Query(
+      value =
+          """
+          SELECT * FROM outbox_event
+          WHERE parked_at IS NULL AND available_at <= localtimestamp
+          ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED
+          """,
+      nativeQuery = true)
+  List<OutboxEvent> findAvailableForUpdate(int limit);
+
+  /*
+   * Keeps the claimed rows away from the other relays while they are published, without holding
+   * their locks: they are claimed again once the lease expires (ex: the instance stopped).
+   * The updates declare their table, an undeclared native update evicts every second-level cache
+   * region.
+   * */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = OutboxEvent.TABLE_NAME))
+  @Query(
+      value =
+          """
+          UPDATE outbox_event SET available_at = localtimestamp + :leaseInMs * interval '1 millisecond'
+          WHERE id IN :ids
+          """,
+      nativeQuery = true)
+  int lease(Collection<Long> ids, long leaseInMs);
+
+  /*
+   * The row is retried after the backoff, or parked once it reached the max attempts.
+   * */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = OutboxEvent.TABLE_NAME))
+  @Query(
+      value =
+          """
+          UPDATE outbox_event SET attempts = attempts + 1, last_error = :error,
+            available_at = localtimestamp + :backoffInMs * interval '1 millisecond',
+            parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN localtimestamp END
+          WHERE id = :id
+          """,
+      nativeQuery = true)
+  int recordFailure(long id, String error, long backoffInMs, int maxAttempts);
+}
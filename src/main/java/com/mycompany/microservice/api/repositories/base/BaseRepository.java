@@ -0,0 +1,15 @@
+package com.mycompany.microservice.api.repositories.base;
+
+import com.mycompany.microservice.api.entities.base.BaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * The interface Base repository.
+ *
+ * @param <E> the type parameter Entity
+ */
+@NoRepositoryBean
+public interface BaseRepository<E extends BaseEntity>
+    extends JpaRepository<E, Long>, QuerydslPredicateExecutor<E> {}
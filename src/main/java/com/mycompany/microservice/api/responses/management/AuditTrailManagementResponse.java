@@ -0,0 +1,17 @@
+package com.mycompany.microservice.api.responses.management;
+
+import com.mycompany.microservice.api.entities.AuditTrail;
+import java.time.LocalDateTime;
+
+public record AuditTrailManagementResponse(
+    String entityName, Long entityId, String operation, String auditor, LocalDateTime occurredAt) {
+
+  public static AuditTrailManagementResponse of(final AuditTrail auditTrail) {
+    return new AuditTrailManagementResponse(
+        auditTrail.getEntityName(),
+        auditTrail.getEntityId(),
+        auditTrail.getOperation(),
+        auditTrail.getAuditor(),
+        auditTrail.getOccurredAt());
+  }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.microservice.api.responses.shared;
+
+import com.mycompany.microservice.api.utils.CursorUtils;
+import java.util.Collection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+public record ApiListCursorSuccess<T>(CursorMeta meta, Collection<T> data, CursorLink links) {
+
+  public static final String CURSOR_PARAMS = "cursor";
+
+  public static <T> ApiListCursorSuccess<T> of(final Window<T> window, final Pageable pageable) {
+    final String nextCursor =
+        window.hasNext() && !window.isEmpty()
+            ? CursorUtils.encode(window.positionAt(window.size() - 1))
+            : "";
+
+    return new ApiListCursorSuccess<>(
+        new CursorMeta(pageable, window.hasNext(), nextCursor),
+        window.getContent(),
+        new CursorLink(nextCursor));
+  }
+
+  public record CursorMeta(Integer pageSize, String sortedBy, Boolean hasNext, String nextCursor) {
+
+    public CursorMeta(final Pageable pageable, final boolean hasNext, final String nextCursor) {
+      this(
+          pageable.getPageSize(),
+          pageable.getSort().isSorted() ? pageable.getSort().toString() : "",
+          hasNext,
+          nextCursor);
+    }
+  }
+
+  public record CursorLink(String self, String next) {
+
+    public CursorLink(final String nextCursor) {
+      this(
+          ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString(),
+          !nextCursor.isEmpty()
+              ? ServletUriComponentsBuilder.fromCurrentRequest()
+                  .replaceQueryParam(CURSOR_PARAMS, nextCursor)
+                  .build()
+                  .toUriString()
+              : "");
+    }
+  }
+}
@@ -1,32 +1,95 @@
 package com.mycompany.microservice.api.responses.shared;
 
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.services.base.CountedPage;
 import com.mycompany.microservice.api.utils.UrlUtils;
+import java.util.AbstractList;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
 
 public record ApiListPaginationSuccess<T>(
     PaginationMeta<T> meta, Collection<T> data, PaginationLink<T> links) {
 
   public ApiListPaginationSuccess(final Page<T> page) {
-    this(new PaginationMeta<>(page), page.getContent(), new PaginationLink<>(page));
+    this(page, PaginationCountEnum.EXACT);
+  }
+
+  /*
+   * Totals are only known when the slice is a page, see PaginationCountEnum.
+   * */
+  public ApiListPaginationSuccess(final Slice<T> slice, final PaginationCountEnum count) {
+    this(
+        new PaginationMeta<>(slice, count), slice.getContent(), new PaginationLink<>(slice, count));
   }
 
   public static <T> ApiListPaginationSuccess<T> of(final Page<T> page) {
     return new ApiListPaginationSuccess<>(page);
   }
 
+  public static <T> ApiListPaginationSuccess<T> of(
+      final Slice<T> slice, final PaginationCountEnum count) {
+    return new ApiListPaginationSuccess<>(slice, count);
+  }
+
+  /*
+   * The content is mapped while it is serialized (no intermediate Slice.map list), the mapper must
+   * only read loaded state.
+   * */
+  public static <E, T> ApiListPaginationSuccess<T> of(
+      final Slice<E> slice, final Function<? super E, T> mapper, final PaginationCountEnum count) {
+    final List<E> content = slice.getContent();
+    return new ApiListPaginationSuccess<>(
+        new PaginationMeta<>(slice, count),
+        new AbstractList<>() {
+          @Override
+          public T get(final int index) {
+            return mapper.apply(content.get(index));
+          }
+
+          @Override
+          public int size() {
+            return content.size();
+          }
+        },
+        new PaginationLink<>(slice, count));
+  }
+
   public record PaginationMeta<T>(
-      Integer currentPage, Integer pageSize, Integer totalPages, Long totalItems, String sortedBy) {
+      Integer currentPage,
+      Integer pageSize,
+      Integer totalPages,
+      Long totalItems,
+      Boolean hasNext,
+      String countStrategy,
+      String sortedBy) {
 
-    public PaginationMeta(final Page<T> page) {
+    public PaginationMeta(final Slice<?> slice, final PaginationCountEnum count) {
       this(
-          page.getNumber(),
-          page.getSize(),
-          page.getTotalPages(),
-          page.getTotalElements(),
-          page.getSort().isSorted() ? page.getSort().toString() : "");
+          slice.getNumber(),
+          slice.getSize(),
+          slice instanceof final Page<?> page ? page.getTotalPages() : null,
+          slice instanceof final Page<?> page ? page.getTotalElements() : null,
+          slice.hasNext(),
+          countStrategy(slice, count).getName(),
+          slice.getSort().isSorted() ? slice.getSort().toString() : "");
+    }
+
+    /*
+     * The strategy actually used, the requested one is kept in the links.
+     * */
+    private static PaginationCountEnum countStrategy(
+        final Slice<?> slice, final PaginationCountEnum count) {
+      return switch (slice) {
+        case final CountedPage<?> page -> page.getCount();
+        case final Page<?> ignored -> count;
+        default -> PaginationCountEnum.NONE;
+      };
     }
   }
 
@@ -36,47 +99,51 @@ public record ApiListPaginationSuccess<T>(
     public static final String PAGE_PARAMS = "page";
     public static final String SIZE_PARAMS = "size";
     public static final String SORT_PARAMS = "sort";
+    public static final String COUNT_PARAMS = "count";
+
+    public PaginationLink(final Slice<?> slice, final PaginationCountEnum count) {
+      this(Template.of(slice, count), slice);
+    }
 
-    public PaginationLink(final Page<T> page) {
+    private PaginationLink(final Template template, final Slice<?> slice) {
       this(
-          createBuilder()
-              .queryParam(PAGE_PARAMS, page.getNumber())
-              .queryParam(SIZE_PARAMS, page.getSize())
-              .query(sortString(page.getSort()))
-              .build()
-              .toUriString(),
-          createBuilder()
-              .queryParam(PAGE_PARAMS, 0)
-              .queryParam(SIZE_PARAMS, page.getSize())
-              .query(sortString(page.getSort()))
-              .build()
-              .toUriString(),
-          createBuilder()
-              .queryParam(PAGE_PARAMS, page.getTotalPages() - 1)
-              .queryParam(SIZE_PARAMS, page.getSize())
-              .query(sortString(page.getSort()))
-              .build()
-              .toUriString(),
-          !page.isFirst()
-              ? createBuilder()
-                  .queryParam(PAGE_PARAMS, page.getNumber() - 1)
-                  .queryParam(SIZE_PARAMS, page.getSize())
-                  .query(sortString(page.getSort()))
-                  .build()
-                  .toUriString()
-              : "",
-          page.hasNext()
-              ? createBuilder()
-                  .queryParam(PAGE_PARAMS, page.getNumber() + 1)
-                  .queryParam(SIZE_PARAMS, page.getSize())
-                  .query(sortString(page.getSort()))
-                  .build()
-                  .toUriString()
-              : "");
+          template.link(slice.getNumber()),
+          template.link(0),
+          slice instanceof final Page<?> page ? template.link(page.getTotalPages() - 1) : "",
+          slice.hasNext() ? template.link(slice.getNumber() + 1) : "",
+          !slice.isFirst() ? template.link(slice.getNumber() - 1) : "");
     }
 
-    private static ServletUriComponentsBuilder createBuilder() {
-      return ServletUriComponentsBuilder.fromCurrentRequestUri();
+    /*
+     * The request uri is parsed once per response, the links only differ by the page number.
+     * Keeps the other params of the request (ex: fields) in the links.
+     * */
+    record Template(String prefix, String suffix) {
+
+      static Template of(final Slice<?> slice, final PaginationCountEnum count) {
+        final UriComponents base =
+            ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam(PAGE_PARAMS)
+                .replaceQueryParam(SIZE_PARAMS)
+                .replaceQueryParam(COUNT_PARAMS)
+                .replaceQueryParam(SORT_PARAMS)
+                .build();
+        return new Template(
+            base.toUriString() + (base.getQueryParams().isEmpty() ? "?" : "&") + PAGE_PARAMS + "=",
+            "&"
+                + SIZE_PARAMS
+                + "="
+                + slice.getSize()
+                + "&"
+                + COUNT_PARAMS
+                + "="
+                + count.getName()
+                + sortString(slice.getSort()));
+      }
+
+      String link(final int page) {
+        return this.prefix + page + this.suffix;
+      }
     }
 
     private static String sortString(final Sort sort) {
@@ -1,5 +1,6 @@
 package com.mycompany.microservice.api.services;
 
+import static com.mycompany.microservice.api.entities.QApiKey.apiKey;
 import static com.mycompany.microservice.api.utils.CryptoUtils.randomKey;
 import static java.lang.String.format;
 
@@ -7,11 +8,18 @@ import com.mycompany.microservice.api.entities.ApiKey;
 import com.mycompany.microservice.api.exceptions.ResourceNotFoundException;
 import com.mycompany.microservice.api.repositories.ApikeyRepository;
 import com.mycompany.microservice.api.services.base.BaseService;
+import com.querydsl.core.types.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
@@ -20,6 +28,16 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ApiKeyService extends BaseService<ApiKey> {
   @Getter private final ApikeyRepository repository;
+  private final CacheManager cacheManager;
+
+  @Override
+  public Map<String, Path<?>> getFilterableFields() {
+    return Map.of(
+        "companyId", apiKey.companyId,
+        "isActive", apiKey.isActive,
+        "createdAt", apiKey.createdAt,
+        "updatedAt", apiKey.updatedAt);
+  }
 
   @Override
   protected void activitiesBeforeCreateEntity(final ApiKey entity) {
@@ -27,6 +45,15 @@ public class ApiKeyService extends BaseService<ApiKey> {
     entity.setKey(randomKey(18));
   }
 
+  @Override
+  protected void evictCaches(final ApiKey entity, final Set<String> properties) {
+    final Cache cache = this.cacheManager.getCache(ApikeyRepository.CACHE_NAME);
+    if (cache != null) {
+      cache.evict(List.of("findByKeyAndIsActive", entity.getKey()));
+    }
+  }
+
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public Optional<ApiKey> findByKeyOptional(final String key) {
     log.debug("[retrieving] apiKey");
     return this.repository.findByKeyAndIsActive(key, true);
@@ -50,4 +77,14 @@ public class ApiKeyService extends BaseService<ApiKey> {
     entity.setIsActive(false);
     this.update(entity);
   }
+
+  /*
+   * One statement whatever the number of keys, see BaseService.updateWhere.
+   * */
+  @Transactional
+  public List<ApiKey> inactivateAllForCompany(final Long companyId) {
+    log.info("[inactivating] all apiKeys of company '{}'", companyId);
+    return this.updateWhere(
+        apiKey.companyId.eq(companyId).and(apiKey.isActive.isTrue()), Map.of("isActive", false));
+  }
 }
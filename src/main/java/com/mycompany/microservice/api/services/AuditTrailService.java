@@ -0,0 +1,48 @@
+package com.mycompany.microservice.api.services;
+
+import static com.mycompany.microservice.api.entities.QAuditTrail.auditTrail;
+
+import com.mycompany.microservice.api.entities.AuditTrail;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.mycompany.microservice.api.repositories.AuditTrailRepository;
+import com.querydsl.core.BooleanBuilder;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Transactional(readOnly = true)
+@Service
+@RequiredArgsConstructor
+public class AuditTrailService {
+
+  private final AuditTrailRepository repository;
+
+  /*
+   * The time range is required, only the matching partitions are scanned.
+   * */
+  public Page<AuditTrail> findAll(
+      final String entityName,
+      final Long entityId,
+      final LocalDateTime from,
+      final LocalDateTime to,
+      final Pageable pageable) {
+    log.debug("[retrieving] audit trail of {} {} from {} to {}", entityName, entityId, from, to);
+    if (!from.isBefore(to)) {
+      throw new BadRequestException("'from' must be before 'to'");
+    }
+
+    final BooleanBuilder predicate =
+        new BooleanBuilder(auditTrail.entityName.eq(entityName))
+            .and(auditTrail.occurredAt.goe(from))
+            .and(auditTrail.occurredAt.lt(to));
+    if (entityId != null) {
+      predicate.and(auditTrail.entityId.eq(entityId));
+    }
+    return this.repository.findAll(predicate, pageable);
+  }
+}
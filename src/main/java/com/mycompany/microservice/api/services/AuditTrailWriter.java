@@ -0,0 +1,441 @@
+package com.mycompany.microservice.api.services;
+
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.entities.AuditTrail;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * AuditTrailWriter:
+ *
+ * <p>Committed entity changes are queued in memory and written to the partitioned audit_trail table
+ * with COPY by a virtual thread, once the batch is full or its oldest change reached the max age.
+ * The queue is flushed on graceful shutdown, after the web server stopped. The monthly partitions
+ * are created ahead of time, records already written to the default partition for the month are
+ * moved to it.
+ *
+ * <p>A failed COPY is retried max-attempts times with a backoff doubled on every attempt (once on
+ * shutdown), the queue keeps filling meanwhile. Enqueuing never blocks the request: when the queue
+ * is full, the overflow is written to a CSV file in the spill directory instead, as is a batch
+ * whose attempts all failed. Spilled files are copied to the table, then deleted, by the writer
+ * thread on start and after the next successful write. Records are only lost when the spill
+ * directory cannot be written either (counted in audit.trail.dropped, logged with the records), or
+ * when the process dies with records still queued: the directory must be on a persistent volume to
+ * keep the spilled records across restarts.
+ */
+@Slf4j
+@Service
+public class AuditTrailWriter implements SmartLifecycle {
+
+  private static final String COPY_SQL =
+      "COPY public.audit_trail (entity_name, entity_id, operation, auditor, occurred_at) "
+          + "FROM STDIN WITH (FORMAT csv)";
+  private static final String DEFAULT_PARTITION = AuditTrail.TABLE_NAME + "_default";
+  private static final String PARTITION_EXISTS_SQL = "SELECT to_regclass('public.%s') IS NOT NULL";
+  private static final String LOCK_DEFAULT_PARTITION_SQL =
+      "LOCK TABLE public." + DEFAULT_PARTITION + " IN ACCESS EXCLUSIVE MODE";
+  private static final String CREATE_PARTITION_SQL =
+      "CREATE TABLE public.%s (LIKE public." + AuditTrail.TABLE_NAME + " INCLUDING DEFAULTS)";
+  private static final String MOVE_FROM_DEFAULT_PARTITION_SQL =
+      "WITH moved AS (DELETE FROM public."
+          + DEFAULT_PARTITION
+          + " WHERE occurred_at >= '%s' AND occurred_at < '%s' RETURNING *) "
+          + "INSERT INTO public.%s SELECT * FROM moved";
+  private static final String ATTACH_PARTITION_SQL =
+      "ALTER TABLE public."
+          + AuditTrail.TABLE_NAME
+          + " ATTACH PARTITION public.%s FOR VALUES FROM ('%s') TO ('%s')";
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+  private static final String SPILL_FILES = "audit-trail-*.csv";
+
+  private final DataSource dataSource;
+  private final BlockingQueue<AuditRecord> queue;
+  private final int batchSize;
+  private final long maxAgeInMs;
+  private final int partitionsAhead;
+  private final int maxAttempts;
+  private final long retryBackoffInMs;
+  private final Path spillDir;
+  private final AtomicBoolean spilled = new AtomicBoolean(true);
+
+  private final Counter written;
+  private final Counter failed;
+  private final Counter spilledRecords;
+  private final Counter dropped;
+  private final Timer flushTimer;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public AuditTrailWriter(
+      final DataSource dataSource,
+      final MeterRegistry meterRegistry,
+      @Value("${audit.trail.queue-capacity}") final int queueCapacity,
+      @Value("${audit.trail.batch-size}") final int batchSize,
+      @Value("${audit.trail.max-age-in-ms}") final long maxAgeInMs,
+      @Value("${audit.trail.partitions-ahead}") final int partitionsAhead,
+      @Value("${audit.trail.max-attempts}") final int maxAttempts,
+      @Value("${audit.trail.retry-backoff-in-ms}") final long retryBackoffInMs,
+      @Value("${audit.trail.spill-dir}") final Path spillDir) {
+    this.dataSource = dataSource;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.maxAgeInMs = maxAgeInMs;
+    this.partitionsAhead = partitionsAhead;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoffInMs = retryBackoffInMs;
+    this.spillDir = spillDir;
+
+    this.written = Counter.builder("audit.trail.written").register(meterRegistry);
+    this.failed =
+        Counter.builder("audit.trail.failed")
+            .description("records of the failed write attempts, retried or spilled")
+            .register(meterRegistry);
+    this.spilledRecords =
+        Counter.builder("audit.trail.spilled")
+            .description("records written to the spill directory, queue full or write failed")
+            .register(meterRegistry);
+    this.dropped =
+        Counter.builder("audit.trail.dropped")
+            .description("records lost, the spill directory could not be written")
+            .register(meterRegistry);
+    this.flushTimer = Timer.builder("audit.trail.flush").register(meterRegistry);
+    Gauge.builder("audit.trail.queue.size", this.queue, BlockingQueue::size)
+        .register(meterRegistry);
+  }
+
+  public void enqueue(final EntityTransactionLogEvent event) {
+    final List<AuditRecord> overflow = new ArrayList<>();
+    for (final Long id : event.ids()) {
+      final AuditRecord auditRecord =
+          new AuditRecord(
+              event.entityName(),
+              id,
+              event.operation().getName(),
+              event.auditor(),
+              event.occurredAt());
+      if (!this.queue.offer(auditRecord)) {
+        overflow.add(auditRecord);
+      }
+    }
+    if (!overflow.isEmpty()) {
+      log.warn("[audit-trail] queue full, spilling {} records", overflow.size());
+      this.spill(overflow);
+    }
+  }
+
+  @Scheduled(cron = "${audit.trail.partitions-cron}")
+  public void createPartitions() {
+    final LocalDate month = LocalDate.now().withDayOfMonth(1);
+    for (int i = 0; i <= this.partitionsAhead; i++) {
+      final LocalDate from = month.plusMonths(i);
+      try {
+        this.createPartition(from);
+      } catch (final Exception ex) {
+        log.error("[audit-trail] unable to create partition from '{}'", from, ex);
+      }
+    }
+  }
+
+  /*
+   * Rows of the month written to the default partition while its partition was missing would make
+   * the partition creation fail: the partition is created detached, they are moved to it, then it
+   * is attached. The default partition is locked meanwhile, inserts of other months are not.
+   * */
+  void createPartition(final LocalDate from) throws Exception {
+    final LocalDate to = from.plusMonths(1);
+    final String partition = AuditTrail.TABLE_NAME + "_" + from.format(PARTITION_SUFFIX);
+    this.inTransaction(
+        connection -> {
+          try (final Statement statement = connection.createStatement()) {
+            if (partitionExists(statement, partition)) {
+              return;
+            }
+            statement.execute(LOCK_DEFAULT_PARTITION_SQL);
+            // created by another instance while waiting for the lock.
+            if (partitionExists(statement, partition)) {
+              return;
+            }
+
+            statement.execute(format(CREATE_PARTITION_SQL, partition));
+            final int moved =
+                statement.executeUpdate(
+                    format(MOVE_FROM_DEFAULT_PARTITION_SQL, from, to, partition));
+            statement.execute(format(ATTACH_PARTITION_SQL, partition, from, to));
+            if (moved > 0) {
+              log.warn(
+                  "[audit-trail] moved {} records from the default partition to '{}'",
+                  moved,
+                  partition);
+            }
+          }
+        });
+  }
+
+  private static boolean partitionExists(final Statement statement, final String partition)
+      throws SQLException {
+    try (final ResultSet resultSet =
+        statement.executeQuery(format(PARTITION_EXISTS_SQL, partition))) {
+      resultSet.next();
+      return resultSet.getBoolean(1);
+    }
+  }
+
+  @Override
+  public void start() {
+    this.createPartitions();
+    this.running = true;
+    this.flusher = Thread.ofVirtual().name("audit-trail-writer").start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    this.running = false;
+    try {
+      this.flusher.join(this.maxAgeInMs * 2);
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    final List<AuditRecord> batch = new ArrayList<>(this.batchSize);
+    while (this.queue.drainTo(batch, this.batchSize) > 0) {
+      this.flush(batch, 1);
+      batch.clear();
+    }
+    log.info("[audit-trail] flushed on shutdown");
+  }
+
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /*
+   * Stops after the web server (see WebServerStartStopLifecycle), so the last requests are audited.
+   * */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void run() {
+    this.replaySpilled();
+    while (this.running) {
+      try {
+        final AuditRecord first = this.queue.poll(this.maxAgeInMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        final List<AuditRecord> batch = new ArrayList<>(this.batchSize);
+        batch.add(first);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.maxAgeInMs);
+        while (batch.size() < this.batchSize) {
+          this.queue.drainTo(batch, this.batchSize - batch.size());
+          final long remaining = deadline - System.nanoTime();
+          if (batch.size() >= this.batchSize || remaining <= 0) {
+            break;
+          }
+          final AuditRecord next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+
+        if (this.flush(batch, this.maxAttempts)) {
+          this.replaySpilled();
+        }
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /*
+   * Returns whether the batch was written, it is spilled once every attempt failed.
+   * */
+  private boolean flush(final List<AuditRecord> batch, final int attempts) {
+    final String csv = toCsv(batch);
+    for (int attempt = 1; attempt <= attempts; attempt++) {
+      try {
+        this.flushTimer.recordCallable(
+            () -> {
+              this.copy(csv);
+              return null;
+            });
+        this.written.increment(batch.size());
+        return true;
+      } catch (final Exception ex) {
+        this.failed.increment(batch.size());
+        final AuditRecord first = batch.getFirst();
+        log.error(
+            "[audit-trail] unable to write {} records (attempt {} of {}), first {} {}",
+            batch.size(),
+            attempt,
+            attempts,
+            first.entityName(),
+            first.entityId(),
+            ex);
+      }
+      if (attempt < attempts && !this.sleep(this.retryBackoffInMs << Math.min(attempt - 1, 20))) {
+        break;
+      }
+    }
+    this.spill(batch);
+    return false;
+  }
+
+  private boolean sleep(final long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /*
+   * Written to a temporary file then moved, so replaySpilled only reads complete files.
+   * */
+  private void spill(final List<AuditRecord> records) {
+    final String csv = toCsv(records);
+    try {
+      Files.createDirectories(this.spillDir);
+      final String name = "audit-trail-" + System.currentTimeMillis() + "-" + UUID.randomUUID();
+      final Path tmp = Files.writeString(this.spillDir.resolve(name + ".tmp"), csv);
+      Files.move(tmp, this.spillDir.resolve(name + ".csv"), StandardCopyOption.ATOMIC_MOVE);
+      this.spilled.set(true);
+      this.spilledRecords.increment(records.size());
+    } catch (final Exception ex) {
+      this.dropped.increment(records.size());
+      log.error(
+          "[audit-trail] unable to spill {} records to '{}', lost:\n{}",
+          records.size(),
+          this.spillDir,
+          csv,
+          ex);
+    }
+  }
+
+  /*
+   * Oldest first, stops at the first failure: the files are kept for the next successful write.
+   * */
+  private void replaySpilled() {
+    if (!this.spilled.getAndSet(false) || !Files.isDirectory(this.spillDir)) {
+      return;
+    }
+    final List<Path> files = new ArrayList<>();
+    try (final DirectoryStream<Path> stream =
+        Files.newDirectoryStream(this.spillDir, SPILL_FILES)) {
+      stream.forEach(files::add);
+    } catch (final IOException ex) {
+      this.spilled.set(true);
+      log.error("[audit-trail] unable to list the spilled records in '{}'", this.spillDir, ex);
+      return;
+    }
+    files.sort(null);
+    for (final Path file : files) {
+      try {
+        final String csv = Files.readString(file);
+        this.copy(csv);
+        Files.delete(file);
+        final long records = csv.chars().filter(c -> c == '\n').count();
+        this.written.increment(records);
+        log.info("[audit-trail] wrote {} spilled records from '{}'", records, file);
+      } catch (final Exception ex) {
+        this.spilled.set(true);
+        log.error("[audit-trail] unable to write the spilled records of '{}'", file, ex);
+        return;
+      }
+    }
+  }
+
+  private void copy(final String csv) throws Exception {
+    this.inTransaction(
+        connection ->
+            connection
+                .unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn(COPY_SQL, new StringReader(csv)));
+  }
+
+  private static String toCsv(final List<AuditRecord> records) {
+    final StringBuilder csv = new StringBuilder(records.size() * 64);
+    records.forEach(auditRecord -> auditRecord.appendCsv(csv));
+    return csv.toString();
+  }
+
+  private void inTransaction(final ConnectionCallback callback) throws Exception {
+    try (final Connection connection = this.dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try {
+        callback.execute(connection);
+        connection.commit();
+      } catch (final Exception ex) {
+        connection.rollback();
+        throw ex;
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionCallback {
+    void execute(Connection connection) throws Exception;
+  }
+
+  private record AuditRecord(
+      String entityName,
+      Long entityId,
+      String operation,
+      String auditor,
+      LocalDateTime occurredAt) {
+
+    private void appendCsv(final StringBuilder csv) {
+      csv.append(this.entityName)
+          .append(',')
+          .append(this.entityId)
+          .append(',')
+          .append(this.operation)
+          .append(',');
+      // unquoted empty value is null
+      if (this.auditor != null) {
+        csv.append('"').append(this.auditor.replace("\"", "\"\"")).append('"');
+      }
+      csv.append(',').append(this.occurredAt).append('\n');
+    }
+  }
+}
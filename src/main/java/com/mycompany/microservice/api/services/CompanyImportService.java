@@ -0,0 +1,399 @@
+package com.mycompany.microservice.api.services;
+
+import static com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum.CREATE;
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.getDigits;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent;
+import com.mycompany.microservice.api.repositories.CompanyRepository;
+import com.mycompany.microservice.api.requests.management.CreateCompanyManagementRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.text.CaseUtils;
+import org.hibernate.Session;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * CompanyImportService:
+ *
+ * <p>Bulk company import without going through JPA: the CSV upload (one column per {@link
+ * CreateCompanyManagementRequest} property) is streamed, normalized like {@link Company#preSave()}
+ * and loaded with COPY into a temporary staging table, then merged into company in a single
+ * statement. Invalid rows (request constraints, values too long for their column) and rows
+ * conflicting on a unique constraint (slug, federal tax id, ...) are skipped and reported, the
+ * outbox events, audit trail and cache invalidation are done once for the whole import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompanyImportService {
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_REPORTED_REJECTIONS = 1_000;
+  private static final int MAX_TEXT_LENGTH = 255;
+
+  private static final List<String> IMPORTED_COLUMNS =
+      List.of(
+          "slug",
+          "name",
+          "official_name",
+          "federal_tax_id",
+          "state_tax_id",
+          "phone",
+          "email",
+          "address_street",
+          "address_street_number",
+          "address_complement",
+          "address_city_district",
+          "address_post_code",
+          "address_city",
+          "address_state_code",
+          "address_country",
+          "address_latitude",
+          "address_longitude",
+          "is_management",
+          "is_internal",
+          "is_platform");
+  private static final List<String> COMPANY_COLUMNS =
+      Stream.concat(
+              Stream.of("id"),
+              Stream.concat(
+                  IMPORTED_COLUMNS.stream(),
+                  Stream.of(
+                      "is_back_office", "created_by", "updated_by", "created_at", "updated_at")))
+          .toList();
+
+  private static final String CREATE_STAGING_SQL =
+      "CREATE TEMP TABLE company_import (LIKE public.company INCLUDING DEFAULTS) ON COMMIT DROP; "
+          + "ALTER TABLE company_import ADD COLUMN line bigint NOT NULL";
+  private static final String COPY_SQL =
+      format(
+          "COPY company_import (line, %s) FROM STDIN WITH (FORMAT csv)",
+          String.join(", ", IMPORTED_COLUMNS));
+
+  /*
+   * ids are taken from the sequence when staged: the rows missing from company afterwards are the
+   * rejected ones. The outbox payload has the same shape as OutboxService.EntityEvent.
+   * */
+  private static final String MERGE_SQL =
+      format(
+          """
+          WITH inserted AS (
+            INSERT INTO public.company (id, %1$s, is_back_office, created_by, updated_by)
+            SELECT id, %2$s, false, ?::varchar, ?::varchar FROM company_import ORDER BY line
+            ON CONFLICT DO NOTHING
+            RETURNING *
+          ), outbox AS (
+            INSERT INTO public.outbox_event (exchange, routing_key, payload)
+            SELECT ?::varchar, ?::varchar, json_build_object('entity', ?::text, 'operation', ?::text, 'id', id, 'data', json_build_object(%3$s))::text
+            FROM inserted
+          )
+          SELECT id, slug FROM inserted
+          """,
+          String.join(", ", IMPORTED_COLUMNS),
+          IMPORTED_COLUMNS.stream()
+              .map(column -> column.startsWith("is_") ? "coalesce(" + column + ", false)" : column)
+              .collect(Collectors.joining(", ")),
+          COMPANY_COLUMNS.stream()
+              .map(column -> format("'%s', %s", CaseUtils.toCamelCase(column, false, '_'), column))
+              .collect(Collectors.joining(", ")));
+
+  private static final String REJECTED_SQL =
+      """
+      SELECT s.line, s.slug,
+        EXISTS (SELECT 1 FROM public.company c WHERE c.slug = s.slug) AS slug_conflict,
+        EXISTS (SELECT 1 FROM public.company c WHERE c.federal_tax_id = s.federal_tax_id) AS federal_tax_id_conflict
+      FROM company_import s
+      WHERE NOT EXISTS (SELECT 1 FROM public.company c WHERE c.id = s.id)
+      ORDER BY s.line
+      LIMIT ?
+      """;
+
+  private static final CsvMapper CSV_MAPPER =
+      CsvMapper.builder()
+          .enable(CsvParser.Feature.TRIM_SPACES)
+          .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+          .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+          .build();
+  private static final CsvSchema INPUT_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+  private final CacheManager cacheManager;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final AuditorAware<String> auditorAware;
+  private final Validator validator;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Value("${rabbitmq.publishers.outbox.exchange}")
+  private String entityExchange;
+
+  @Transactional
+  public ImportReport importCsv(final InputStream csv) {
+    log.info("[{}] importing {}", CREATE.getName(), Company.TABLE_NAME);
+    final long start = System.nanoTime();
+    final String auditor = this.auditorAware.getCurrentAuditor().orElse(null);
+
+    final ImportResult result =
+        this.entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> this.importCsv(connection, csv, auditor));
+
+    // One pass for the whole import: the new slugs may be cached as missing.
+    BulkOperationCleanupAction.schedule(
+        this.entityManager.unwrap(SharedSessionContractImplementor.class),
+        this.entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(Company.class));
+    final Cache cache = this.cacheManager.getCache(CompanyRepository.CACHE_NAME);
+    if (cache != null) {
+      result
+          .imported()
+          .forEach(
+              imported -> {
+                cache.evict(List.of("byId", imported.id()));
+                cache.evict(List.of("bySlug", imported.slug()));
+              });
+    }
+
+    if (!result.imported().isEmpty()) {
+      this.applicationEventPublisher.publishEvent(
+          new EntityTransactionLogEvent(
+              CREATE,
+              Company.TABLE_NAME,
+              result.imported().stream().map(ImportedCompany::id).toList(),
+              auditor,
+              LocalDateTime.now()));
+    }
+
+    log.info(
+        "[{}] {} imported {} of {} rows in {} ms",
+        CREATE.getName(),
+        Company.TABLE_NAME,
+        result.report().imported(),
+        result.report().received(),
+        (System.nanoTime() - start) / 1_000_000);
+    return result.report();
+  }
+
+  private ImportResult importCsv(
+      final Connection connection, final InputStream csv, final String auditor)
+      throws SQLException {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute(CREATE_STAGING_SQL);
+    }
+
+    final List<Rejection> rejections = new ArrayList<>();
+    final long received = this.copy(connection, csv, rejections);
+
+    final List<ImportedCompany> imported = new ArrayList<>();
+    try (final PreparedStatement statement = connection.prepareStatement(MERGE_SQL)) {
+      statement.setString(1, auditor);
+      statement.setString(2, auditor);
+      statement.setString(3, this.entityExchange);
+      statement.setString(4, Company.TABLE_NAME + "." + CREATE.getName());
+      statement.setString(5, Company.TABLE_NAME);
+      statement.setString(6, CREATE.getName());
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          imported.add(new ImportedCompany(resultSet.getLong(1), resultSet.getString(2)));
+        }
+      }
+    }
+
+    try (final PreparedStatement statement = connection.prepareStatement(REJECTED_SQL)) {
+      statement.setInt(1, MAX_REPORTED_REJECTIONS);
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          rejections.add(
+              new Rejection(
+                  resultSet.getLong("line"),
+                  resultSet.getString("slug"),
+                  (resultSet.getBoolean("slug_conflict")
+                          ? RejectionReasonEnum.SLUG_CONFLICT
+                          : resultSet.getBoolean("federal_tax_id_conflict")
+                              ? RejectionReasonEnum.FEDERAL_TAX_ID_CONFLICT
+                              : RejectionReasonEnum.CONFLICT)
+                      .getName()));
+        }
+      }
+    }
+
+    rejections.sort(Comparator.comparingLong(Rejection::line));
+    return new ImportResult(
+        new ImportReport(
+            received,
+            imported.size(),
+            received - imported.size(),
+            rejections.subList(0, Math.min(rejections.size(), MAX_REPORTED_REJECTIONS))),
+        imported);
+  }
+
+  /*
+   * Streams the upload into the staging table, invalid rows (request constraints, column lengths)
+   * are rejected before being copied.
+   * Lines start at 2, the first one is the header.
+   * */
+  private long copy(
+      final Connection connection, final InputStream csv, final List<Rejection> rejections)
+      throws SQLException {
+    long line = 1;
+    try (final MappingIterator<CreateCompanyManagementRequest> rows =
+            CSV_MAPPER
+                .readerFor(CreateCompanyManagementRequest.class)
+                .with(INPUT_SCHEMA)
+                .readValues(csv);
+        final Writer writer =
+            new OutputStreamWriter(
+                new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE),
+                StandardCharsets.UTF_8)) {
+
+      while (rows.hasNextValue()) {
+        final CreateCompanyManagementRequest row = rows.nextValue();
+        line++;
+        final Object[] values = toCopyRow(line, row);
+        if (!isStorable(values) || !this.validator.validate(row).isEmpty()) {
+          if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+            rejections.add(new Rejection(line, row.slug(), RejectionReasonEnum.INVALID.getName()));
+          }
+          continue;
+        }
+        writeCsv(writer, values);
+      }
+    } catch (final IOException ex) {
+      throw new BadRequestException(format("invalid csv after line %s: %s", line, ex.getMessage()));
+    }
+    return line - 1;
+  }
+
+  /*
+   * A value the company columns cannot store would abort the whole COPY: every text column is a
+   * varchar(MAX_TEXT_LENGTH) (counted in characters) and PostgreSQL text cannot contain NUL.
+   * */
+  private static boolean isStorable(final Object[] values) {
+    for (final Object value : values) {
+      if (value instanceof final String text
+          && ((text.length() > MAX_TEXT_LENGTH
+                  && text.codePointCount(0, text.length()) > MAX_TEXT_LENGTH)
+              || text.indexOf('\0') >= 0)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * null is written as an unquoted empty value, strings are always quoted.
+   * */
+  private static void writeCsv(final Writer writer, final Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      if (values[i] instanceof final String value) {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+      } else if (values[i] instanceof final BigDecimal value) {
+        writer.write(value.toPlainString());
+      } else if (values[i] != null) {
+        writer.write(values[i].toString());
+      }
+    }
+    writer.write('\n');
+  }
+
+  /*
+   * Same normalization as Company.preSave.
+   * */
+  private static Object[] toCopyRow(final long line, final CreateCompanyManagementRequest row) {
+    return new Object[] {
+      line,
+      row.slug(),
+      row.name(),
+      row.officialName(),
+      getDigits(row.federalTaxId()),
+      getDigits(row.stateTaxId()),
+      getDigits(row.phone()),
+      row.email(),
+      row.addressStreet(),
+      row.addressStreetNumber(),
+      row.addressComplement(),
+      row.addressCityDistrict(),
+      getDigits(row.addressPostCode()),
+      row.addressCity(),
+      row.addressStateCode(),
+      row.addressCountry(),
+      row.addressLatitude(),
+      row.addressLongitude(),
+      row.isManagement(),
+      row.isInternal(),
+      row.isPlatform()
+    };
+  }
+
+  /*
+   * rejected counts every skipped row, only the first rejections are listed.
+   * */
+  public record ImportReport(
+      long received, long imported, long rejected, List<Rejection> rejections) {}
+
+  public record Rejection(long line, String slug, String reason) {}
+
+  private record ImportedCompany(Long id, String slug) {}
+
+  private record ImportResult(ImportReport report, List<ImportedCompany> imported) {}
+
+  @Getter
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public enum RejectionReasonEnum {
+    INVALID("invalid"),
+    SLUG_CONFLICT("slug_conflict"),
+    FEDERAL_TAX_ID_CONFLICT("federal_tax_id_conflict"),
+    CONFLICT("conflict");
+
+    private final String name;
+  }
+}
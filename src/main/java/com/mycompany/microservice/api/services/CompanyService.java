@@ -1,15 +1,24 @@
 package com.mycompany.microservice.api.services;
 
+import static com.mycompany.microservice.api.entities.QCompany.company;
+
 import com.mycompany.microservice.api.entities.Company;
 import com.mycompany.microservice.api.exceptions.ResourceNotFoundException;
 import com.mycompany.microservice.api.repositories.CompanyRepository;
 import com.mycompany.microservice.api.services.base.BaseService;
+import com.querydsl.core.types.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
@@ -18,7 +27,44 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class CompanyService extends BaseService<Company> {
   @Getter private final CompanyRepository repository;
+  private final CacheManager cacheManager;
+
+  @Override
+  public Map<String, Path<?>> getFilterableFields() {
+    return Map.of(
+        "slug", company.slug,
+        "federalTaxId", company.federalTaxId,
+        "email", company.email,
+        "isPlatform", company.isPlatform,
+        "isBackOffice", company.isBackOffice,
+        "isManagement", company.isManagement,
+        "isInternal", company.isInternal,
+        "createdAt", company.createdAt,
+        "updatedAt", company.updatedAt);
+  }
+
+  @Override
+  protected void activitiesBeforePatchEntity(final Company changes) {
+    changes.preSave();
+  }
+
+  @Override
+  protected void evictCaches(final Company entity, final Set<String> properties) {
+    final Cache cache = this.cacheManager.getCache(CompanyRepository.CACHE_NAME);
+    if (cache == null) {
+      return;
+    }
+
+    // The previous slug is unknown without reading the row first.
+    if (properties.contains("slug")) {
+      cache.clear();
+      return;
+    }
+    cache.evict(List.of("byId", entity.getId()));
+    cache.evict(List.of("bySlug", entity.getSlug()));
+  }
 
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public Optional<Company> findBySlugOptional(final String slug) {
     log.debug("[retrieving] company with slug '{}'", slug);
     if (StringUtils.isBlank(slug)) {
@@ -27,6 +73,7 @@ public class CompanyService extends BaseService<Company> {
     return this.repository.findBySlug(slug);
   }
 
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public Company findBySlug(final String slug) {
     return this.findBySlugOptional(slug)
         .orElseThrow(
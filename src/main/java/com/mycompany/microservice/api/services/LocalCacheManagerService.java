@@ -5,6 +5,7 @@ import static java.lang.String.format;
 
 import com.mycompany.microservice.api.constants.AppCompanySlug;
 import com.mycompany.microservice.api.controllers.internal.CacheInternalApiController;
+import jakarta.persistence.EntityManagerFactory;
 import java.util.Collections;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +28,7 @@ import org.springframework.web.client.RestTemplate;
  * LocalCacheManagerService:
  *
  * <p>Only use this service if the cache provider is concurrentHashMap. It provides utility function
- * to help clearing local caches.
+ * to help clearing local caches, evicting all of them also clears the hibernate second-level cache.
  */
 @Slf4j
 @Service
@@ -39,6 +40,7 @@ public class LocalCacheManagerService {
   private final DiscoveryClient discoveryClient;
   private final RestTemplate restTemplate;
   private final CacheManager cacheManager;
+  private final EntityManagerFactory entityManagerFactory;
 
   @Value("${kubernetes.service-name}")
   private String kubernetesServiceName;
@@ -53,6 +55,7 @@ public class LocalCacheManagerService {
 
   public void evictAll() {
     this.cacheManager.getCacheNames().forEach(name -> this.cacheManager.getCache(name).clear());
+    this.entityManagerFactory.getCache().evictAll();
     log.info("[cache-eviction] evicted all local caches");
   }
 
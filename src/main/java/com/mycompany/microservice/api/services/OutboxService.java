@@ -0,0 +1,76 @@
+package com.mycompany.microservice.api.services;
+
+import com.mycompany.microservice.api.entities.OutboxEvent;
+import com.mycompany.microservice.api.entities.base.BaseEntity;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum;
+import com.mycompany.microservice.api.repositories.OutboxEventRepository;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * OutboxService:
+ *
+ * <p>Messages are stored in the outbox table within the caller transaction and published to
+ * RabbitMQ by the OutboxRelay once committed: nothing is sent on rollback and requests never wait
+ * for the broker. Delivery is at least once, consumers can use the message id to deduplicate.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+  private final OutboxEventRepository repository;
+
+  @Value("${rabbitmq.publishers.outbox.exchange}")
+  private String entityExchange;
+
+  @Transactional
+  public void append(final String exchange, final String routingKey, final Object payload) {
+    this.repository.save(this.toEvent(exchange, routingKey, payload, LocalDateTime.now()));
+  }
+
+  /*
+   * One message per entity, routed as '<entity>.<operation>' (ex: company.created).
+   * */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void appendEntityEvents(
+      final String entityName,
+      final EntityTransactionLogEnum operation,
+      final List<? extends BaseEntity> entities) {
+    final String routingKey = entityName + "." + operation.getName();
+    final LocalDateTime now = LocalDateTime.now();
+
+    this.repository.saveAll(
+        entities.stream()
+            .map(
+                entity ->
+                    this.toEvent(
+                        this.entityExchange,
+                        routingKey,
+                        new EntityEvent(entityName, operation.getName(), entity.getId(), entity),
+                        now))
+            .toList());
+  }
+
+  private OutboxEvent toEvent(
+      final String exchange,
+      final String routingKey,
+      final Object payload,
+      final LocalDateTime createdAt) {
+    return OutboxEvent.builder()
+        .exchange(exchange)
+        .routingKey(routingKey)
+        .payload(JsonUtils.serializeToCamelCase(payload))
+        .createdAt(createdAt)
+        .build();
+  }
+
+  public record EntityEvent(String entity, String operation, Long id, Object data) {}
+}
@@ -1,50 +1,151 @@
 package com.mycompany.microservice.api.services.base;
 
-import static com.mycompany.microservice.api.listeners.EntityTransactionLogListener.EntityTransactionLogEvent.EntityTransactionLogEnum.CREATE;
-import static com.mycompany.microservice.api.listeners.EntityTransactionLogListener.EntityTransactionLogEvent.EntityTransactionLogEnum.DELETE;
-import static com.mycompany.microservice.api.listeners.EntityTransactionLogListener.EntityTransactionLogEvent.EntityTransactionLogEnum.UPDATE;
+import static com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum.CREATE;
+import static com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum.DELETE;
+import static com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum.UPDATE;
 import static com.mycompany.microservice.api.services.base.BaseService.ServiceOperation.CREATING;
 import static com.mycompany.microservice.api.services.base.BaseService.ServiceOperation.DELETING;
 import static com.mycompany.microservice.api.services.base.BaseService.ServiceOperation.UPDATING;
 import static java.lang.String.format;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mycompany.microservice.api.entities.base.BaseEntity;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.mycompany.microservice.api.exceptions.PreconditionFailedException;
 import com.mycompany.microservice.api.exceptions.ResourceNotFoundException;
-import com.mycompany.microservice.api.listeners.EntityTransactionLogListener.EntityTransactionLogEvent;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum;
+import com.mycompany.microservice.api.repositories.base.BaseRepository;
+import com.mycompany.microservice.api.services.OutboxService;
+import com.mycompany.microservice.api.utils.FilterUtils;
+import com.mycompany.microservice.api.utils.PredicateSqlUtils;
+import com.mycompany.microservice.api.utils.PredicateSqlUtils.SqlPredicate;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.PathBuilderFactory;
+import com.querydsl.jpa.JPQLQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.Table;
 import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.support.Querydsl;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Transactional(readOnly = true)
 public abstract class BaseService<E extends BaseEntity> {
 
   private static final int ENTITY_MAX_SIZE_TO_LOG = 100;
+  private static final int COUNT_CACHE_MAX_SIZE = 1_000;
+  private static final Predicate UNFILTERED = Expressions.TRUE.isTrue();
+  private static final String ID = "id";
+  private static final String UPDATED_AT = "updatedAt";
+  private static final String UPDATED_BY = "updatedBy";
 
   @Autowired private ApplicationEventPublisher applicationEventPublisher;
 
-  public abstract JpaRepository<E, Long> getRepository();
+  @Autowired private AuditorAware<String> auditorAware;
 
+  @Autowired private OutboxService outboxService;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Value("${pagination.count.cache-ttl-in-seconds}")
+  private long countCacheTtlInSeconds;
+
+  /*
+   * Totals of the cached count strategy by predicate (querydsl expressions compare by value),
+   * least recently used ones are evicted first.
+   * */
+  private Cache<Expression<?>, Long> countCache;
+
+  public abstract BaseRepository<E> getRepository();
+
+  @PostConstruct
+  void createCountCache() {
+    this.countCache =
+        Caffeine.newBuilder()
+            .maximumSize(COUNT_CACHE_MAX_SIZE)
+            .expireAfterWrite(Duration.ofSeconds(this.countCacheTtlInSeconds))
+            .build();
+  }
+
+  /*
+   * Any committed write of the entity may change the totals, including the ones not done through
+   * this service (ex: CompanyImportService), they all publish an EntityTransactionLogEvent.
+   * */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void evictCachedCounts(final EntityTransactionLogEvent event) {
+    if (this.getEntityName().equals(event.entityName())) {
+      this.countCache.invalidateAll();
+    }
+  }
+
+  /*
+   * Cached reads join a transaction when there is one, otherwise none is started, so cache hits
+   * never borrow a connection. On a miss the repository opens its own read-only transaction.
+   * */
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public E findById(final Long id) {
     log.debug("[retrieving] {} {}", this.getEntityName(), id);
     return this.getRepository().findById(id).orElseThrow(() -> new ResourceNotFoundException(id));
   }
 
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public Optional<E> findByIdOptional(final Long id) {
     log.debug("[retrieving] {} {}", this.getEntityName(), id);
     return this.getRepository().findById(id);
@@ -60,6 +161,90 @@ public abstract class BaseService<E extends BaseEntity> {
     return this.getRepository().findAll(pageable);
   }
 
+  public Slice<E> findAll(
+      final Predicate predicate, final Pageable pageable, final PaginationCountEnum count) {
+    log.debug("[retrieving] all {} with '{}' count", this.getEntityName(), count.getName());
+
+    if (pageable.isUnpaged() || count == PaginationCountEnum.EXACT) {
+      return this.getRepository().findAll(predicate, pageable);
+    }
+    return this.findAll(this.getEntityPath(), predicate, pageable, count);
+  }
+
+  /*
+   * Sparse fieldset: only the given properties are selected and returned keyed by name, so no
+   * entity is instantiated nor kept in the persistence context for dirty checking.
+   * */
+  public Slice<Map<String, Object>> findAll(
+      final List<String> fields,
+      final Predicate predicate,
+      final Pageable pageable,
+      final PaginationCountEnum count) {
+    log.debug("[retrieving] all {} with fields {}", this.getEntityName(), fields);
+    return this.findAll(this.getProjection(fields), predicate, pageable, count)
+        .map(tuple -> this.toMap(fields, tuple));
+  }
+
+  /*
+   * Sparse fieldset by id, it always reaches the database since repository caches hold entities.
+   * */
+  public Map<String, Object> findById(final Long id, final List<String> fields) {
+    log.debug("[retrieving] {} {} with fields {}", this.getEntityName(), id, fields);
+    final Tuple tuple =
+        this.createQuery(
+                this.getProjection(fields),
+                this.getEntityPath().getNumber(ID, Long.class).eq(id),
+                Sort.unsorted())
+            .fetchOne();
+
+    if (tuple == null) {
+      throw new ResourceNotFoundException(id);
+    }
+    return this.toMap(fields, tuple);
+  }
+
+  private <T> Slice<T> findAll(
+      final Expression<T> projection,
+      final Predicate predicate,
+      final Pageable pageable,
+      final PaginationCountEnum count) {
+
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(this.createQuery(projection, predicate, pageable.getSort()).fetch());
+    }
+
+    final Slice<T> slice = this.findSlice(projection, predicate, pageable);
+    return switch (count) {
+      case EXACT -> this.toPage(slice, () -> this.exactCount(predicate));
+      case NONE -> slice;
+      case ESTIMATED -> this.toPage(slice, () -> this.estimatedCount(predicate));
+      case CACHED -> this.toPage(slice, () -> this.cachedCount(predicate));
+    };
+  }
+
+  /*
+   * Keyset (seek) pagination: rows are fetched after the given position instead of skipping an
+   * offset, so the cost of a page does not depend on its depth. The sort must be backed by an
+   * index ending with the id to be efficient.
+   * */
+  public Window<E> findAll(
+      final Predicate predicate, final ScrollPosition position, final Sort sort, final int size) {
+    log.debug("[retrieving] all {} from position {}", this.getEntityName(), position);
+    return this.getRepository()
+        .findBy(predicate, query -> query.sortBy(sort).limit(size).scroll(position));
+  }
+
+  /*
+   * Fields allowed in management filters with their QueryDSL path, each one must be indexed.
+   * */
+  public Map<String, Path<?>> getFilterableFields() {
+    return Map.of();
+  }
+
+  public Predicate getFilterPredicate(final List<String> filters) {
+    return FilterUtils.toPredicate(filters, this.getFilterableFields());
+  }
+
   @Transactional
   public E create(final E entity) {
     return this.createAll(List.of(entity)).getFirst();
@@ -90,6 +275,126 @@ public abstract class BaseService<E extends BaseEntity> {
     return this.saveAll(entities, skipActivities, UPDATING);
   }
 
+  /*
+   * Single round trip update: only the given properties are written, if the row still has the
+   * given version (updatedAt). Nothing is read before, the updated row is returned by the UPDATE.
+   * */
+  @Transactional
+  public E patch(
+      final Long id, final LocalDateTime version, final E changes, final Set<String> properties) {
+    log.info("[{}] {} {} properties {}", UPDATING.getName(), this.getEntityName(), id, properties);
+
+    this.activitiesBeforePatchEntity(changes);
+
+    final AbstractEntityPersister persister = this.getPersister();
+    final Map<String, Object> changedValues = new LinkedHashMap<>();
+    properties.forEach(
+        property -> changedValues.put(property, persister.getPropertyValue(changes, property)));
+
+    final Map<String, Object> parameters = new HashMap<>();
+    parameters.put(ID, id);
+    parameters.put("version", version);
+
+    final String updatedAt = persister.getPropertyColumnNames(UPDATED_AT)[0];
+    final String sql =
+        format(
+            "UPDATE %s SET %s WHERE %s = :%s AND %s = :version RETURNING *",
+            persister.getTableName(),
+            this.getSetClause(persister, changedValues, parameters),
+            persister.getIdentifierColumnNames()[0],
+            ID,
+            updatedAt);
+
+    final List<E> entities = this.executeReturning(persister, sql, parameters, true);
+    if (entities.isEmpty()) {
+      if (!this.getRepository().existsById(id)) {
+        throw new ResourceNotFoundException(id);
+      }
+      throw new PreconditionFailedException(
+          format("entity with id '%s' was modified since version '%s'", id, version));
+    }
+
+    this.evictCaches(entities.getFirst(), properties);
+    this.activitiesAfterUpdateEntities(entities);
+
+    this.publishEvents(UPDATE, entities);
+
+    return entities.getFirst();
+  }
+
+  /*
+   * Set-based update: a single statement whatever the number of matching rows, nothing is loaded
+   * before. The predicate must only use comparisons on the entity properties, see PredicateSqlUtils.
+   * */
+  @Transactional
+  public List<E> updateWhere(final Predicate predicate, final Map<String, Object> changes) {
+    log.info(
+        "[{}] {} where {} properties {}",
+        UPDATING.getName(),
+        this.getEntityName(),
+        predicate,
+        changes.keySet());
+
+    final AbstractEntityPersister persister = this.getPersister();
+    final Map<String, Object> parameters = new HashMap<>();
+    final String sql =
+        format(
+            "UPDATE %s SET %s WHERE %s RETURNING *",
+            persister.getTableName(),
+            this.getSetClause(persister, changes, parameters),
+            this.getWhereClause(persister, predicate, parameters));
+
+    final List<E> entities = this.executeReturning(persister, sql, parameters, true);
+    if (entities.isEmpty()) {
+      return entities;
+    }
+
+    entities.forEach(entity -> this.evictCaches(entity, changes.keySet()));
+    this.activitiesAfterUpdateEntities(entities);
+
+    this.publishEvents(UPDATE, entities);
+
+    return entities;
+  }
+
+  @Transactional
+  public List<E> deleteByIds(final Collection<Long> ids) {
+    if (isEmpty(ids)) {
+      log.info("[{}] empty ids, returning.", DELETING.getName());
+      return Collections.emptyList();
+    }
+    return this.deleteWhere(this.getEntityPath().getNumber(ID, Long.class).in(ids));
+  }
+
+  /*
+   * Set-based delete: a single statement, the deleted rows are returned to evict their caches.
+   * */
+  @Transactional
+  public List<E> deleteWhere(final Predicate predicate) {
+    log.info("[{}] {} where {}", DELETING.getName(), this.getEntityName(), predicate);
+
+    final AbstractEntityPersister persister = this.getPersister();
+    final Map<String, Object> parameters = new HashMap<>();
+    final String sql =
+        format(
+            "DELETE FROM %s WHERE %s RETURNING *",
+            persister.getTableName(), this.getWhereClause(persister, predicate, parameters));
+
+    final List<E> entities = this.executeReturning(persister, sql, parameters, false);
+    if (entities.isEmpty()) {
+      return entities;
+    }
+
+    // The rows no longer exist, they must not be flushed back.
+    entities.forEach(this.entityManager::detach);
+    entities.forEach(entity -> this.evictCaches(entity, Collections.emptySet()));
+    this.activitiesAfterDeleteEntities(entities.stream().map(BaseEntity::getId).toList());
+
+    this.publishEvents(DELETE, entities);
+
+    return entities;
+  }
+
   @Transactional
   public List<E> saveAll(
       @NonNull final List<E> entities,
@@ -135,31 +440,29 @@ public abstract class BaseService<E extends BaseEntity> {
     }
 
     // Used to improve cache management since saveAll will reset the entire cache.
-    if (entities.size() == 1) {
-      this.getRepository().save(entities.getFirst());
-    } else {
-      this.getRepository().saveAll(entities);
-    }
+    // Detached entities are merged: the managed copies get the audit columns, they are returned.
+    final List<E> saved =
+        entities.size() == 1
+            ? List.of(this.getRepository().save(entities.getFirst()))
+            : this.getRepository().saveAll(entities);
 
     if (!skipActivities) {
       switch (operation) {
-        case CREATING -> this.activitiesAfterCreateEntities(entities);
-        case UPDATING -> this.activitiesAfterUpdateEntities(entities);
+        case CREATING -> this.activitiesAfterCreateEntities(saved);
+        case UPDATING -> this.activitiesAfterUpdateEntities(saved);
         default -> throw new IllegalStateException("ServiceOperation not found");
       }
     }
 
-    this.applicationEventPublisher.publishEvent(
-        new EntityTransactionLogEvent(
-            switch (operation) {
-              case CREATING -> CREATE;
-              case UPDATING -> UPDATE;
-              default -> throw new IllegalStateException("ServiceOperation not found");
-            },
-            this.getEntityName(),
-            this.getEventEntitiesToLog(entities)));
+    this.publishEvents(
+        switch (operation) {
+          case CREATING -> CREATE;
+          case UPDATING -> UPDATE;
+          default -> throw new IllegalStateException("ServiceOperation not found");
+        },
+        saved);
 
-    return entities;
+    return saved;
   }
 
   @Transactional
@@ -205,9 +508,108 @@ public abstract class BaseService<E extends BaseEntity> {
       this.activitiesAfterDeleteEntities(ids);
     }
 
+    this.publishEvents(DELETE, entities);
+  }
+
+  /*
+   * The outbox is written in the current transaction, the audit trail after it commits.
+   * */
+  private void publishEvents(final EntityTransactionLogEnum operation, final List<E> entities) {
+    this.outboxService.appendEntityEvents(this.getEntityName(), operation, entities);
     this.applicationEventPublisher.publishEvent(
         new EntityTransactionLogEvent(
-            DELETE, this.getEntityName(), this.getEventEntitiesToLog(entities)));
+            operation,
+            this.getEntityName(),
+            entities.stream().map(BaseEntity::getId).toList(),
+            this.auditorAware.getCurrentAuditor().orElse(null),
+            LocalDateTime.now()));
+  }
+
+  /*
+   * Fetches one extra row to know if a next page exists, no count query is executed.
+   * */
+  private <T> Slice<T> findSlice(
+      final Expression<T> projection, final Predicate predicate, final Pageable pageable) {
+    final List<T> content =
+        this.createQuery(projection, predicate, pageable.getSort())
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize() + 1L)
+            .fetch();
+
+    final boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(
+        hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+  }
+
+  private <T> JPQLQuery<T> createQuery(
+      final Expression<T> projection, final Predicate predicate, final Sort sort) {
+    final PathBuilder<E> path = this.getEntityPath();
+    final Querydsl querydsl = new Querydsl(this.entityManager, path);
+    return querydsl.applySorting(
+        sort, querydsl.createQuery(path).select(projection).where(predicate));
+  }
+
+  private <T> Page<T> toPage(final Slice<T> slice, final Supplier<Total> count) {
+    final Pageable pageable = slice.getPageable();
+
+    // The total is already known on the last page, no need to count.
+    if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+      return new CountedPage<>(
+          slice.getContent(),
+          pageable,
+          pageable.getOffset() + slice.getNumberOfElements(),
+          PaginationCountEnum.EXACT);
+    }
+
+    final Total total = count.get();
+    return new CountedPage<>(
+        slice.getContent(),
+        pageable,
+        Math.max(
+            total.count(),
+            pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)),
+        total.strategy());
+  }
+
+  private Total exactCount(final Predicate predicate) {
+    return new Total(this.getRepository().count(predicate), PaginationCountEnum.EXACT);
+  }
+
+  /*
+   * Uses planner statistics (refreshed by autovacuum/analyze), it is only an estimate and
+   * falls back to an exact count when filtered or when the table was never analyzed.
+   * */
+  private Total estimatedCount(final Predicate predicate) {
+    if (ExpressionUtils.extract(predicate) != null) {
+      return this.exactCount(predicate);
+    }
+
+    final List<?> result =
+        this.entityManager
+            .createNativeQuery(
+                "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:table)")
+            .setParameter("table", this.getTableName())
+            .getResultList();
+
+    final long estimate =
+        result.isEmpty() || result.getFirst() == null
+            ? -1L
+            : ((Number) result.getFirst()).longValue();
+
+    return estimate >= 0
+        ? new Total(estimate, PaginationCountEnum.ESTIMATED)
+        : this.exactCount(predicate);
+  }
+
+  /*
+   * Concurrent misses of the same predicate wait for a single count query.
+   * */
+  private Total cachedCount(final Predicate predicate) {
+    final Expression<?> filter = ExpressionUtils.extract(predicate);
+    final Expression<?> key = filter != null ? filter : UNFILTERED;
+    return new Total(
+        this.countCache.get(key, ignored -> this.getRepository().count(predicate)),
+        PaginationCountEnum.CACHED);
   }
 
   /*
@@ -240,6 +642,16 @@ public abstract class BaseService<E extends BaseEntity> {
     entities.forEach(this::activitiesAfterUpdateEntity);
   }
 
+  /*
+   * Patch activities, the entity only holds the patched properties.
+   * */
+  protected void activitiesBeforePatchEntity(final E changes) {}
+
+  /*
+   * Evicts the caches holding the entity after an update done outside the repository.
+   * */
+  protected void evictCaches(final E entity, final Set<String> properties) {}
+
   /*
    * Delete activities
    * */
@@ -255,24 +667,127 @@ public abstract class BaseService<E extends BaseEntity> {
     ids.forEach(this::activitiesAfterDeleteEntity);
   }
 
+  private Expression<Tuple> getProjection(final List<String> fields) {
+    final PathBuilder<E> path = this.getEntityPath();
+    return Projections.tuple(fields.stream().map(path::get).toArray(Expression[]::new));
+  }
+
+  private Map<String, Object> toMap(final List<String> fields, final Tuple tuple) {
+    final Map<String, Object> row = new LinkedHashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      row.put(fields.get(i), tuple.get(i, Object.class));
+    }
+    return row;
+  }
+
+  /*
+   * Also sets the audit columns, the given properties are bound by name.
+   * */
+  private String getSetClause(
+      final AbstractEntityPersister persister,
+      final Map<String, Object> changes,
+      final Map<String, Object> parameters) {
+    if (changes.containsKey(UPDATED_AT) || changes.containsKey(UPDATED_BY)) {
+      throw new BadRequestException(
+          format(
+              "'%s' and '%s' are set by the update, they cannot be changed",
+              UPDATED_AT, UPDATED_BY));
+    }
+
+    final StringJoiner columns = new StringJoiner(", ");
+    changes.forEach(
+        (property, value) -> {
+          columns.add(persister.getPropertyColumnNames(property)[0] + " = :" + property);
+          parameters.put(property, value);
+        });
+
+    columns.add(persister.getPropertyColumnNames(UPDATED_AT)[0] + " = :" + UPDATED_AT);
+    parameters.put(UPDATED_AT, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    columns.add(persister.getPropertyColumnNames(UPDATED_BY)[0] + " = :" + UPDATED_BY);
+    parameters.put(
+        UPDATED_BY,
+        new TypedParameterValue<>(
+            StandardBasicTypes.STRING, this.auditorAware.getCurrentAuditor().orElse(null)));
+    return columns.toString();
+  }
+
+  private String getWhereClause(
+      final AbstractEntityPersister persister,
+      final Predicate predicate,
+      final Map<String, Object> parameters) {
+    final SqlPredicate where =
+        PredicateSqlUtils.toSql(
+            predicate,
+            property ->
+                property.equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()[0]
+                    : persister.getPropertyColumnNames(property)[0]);
+    parameters.putAll(where.parameters());
+    return where.sql();
+  }
+
+  /*
+   * A native statement is invisible to hibernate: the entity and query caches of the table are
+   * evicted before it runs. The rows of entities already in the persistence context are not read,
+   * the managed instances are returned as they were: updated ones are refreshed.
+   * */
+  private List<E> executeReturning(
+      final AbstractEntityPersister persister,
+      final String sql,
+      final Map<String, Object> parameters,
+      final boolean refreshManaged) {
+    final SharedSessionContractImplementor session =
+        this.entityManager.unwrap(SharedSessionContractImplementor.class);
+    BulkOperationCleanupAction.schedule(session, persister);
+
+    final Set<Object> managed = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (refreshManaged) {
+      for (final Map.Entry<Object, EntityEntry> entry :
+          session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+        if (entry.getValue().getPersister() == persister) {
+          managed.add(entry.getKey());
+        }
+      }
+    }
+
+    final Query query = this.entityManager.createNativeQuery(sql, this.getEntityClass());
+    parameters.forEach(query::setParameter);
+    final List<E> entities = query.getResultList();
+    entities.stream().filter(managed::contains).forEach(this.entityManager::refresh);
+    return entities;
+  }
+
+  private AbstractEntityPersister getPersister() {
+    return (AbstractEntityPersister)
+        this.entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(this.getEntityClass());
+  }
+
+  private PathBuilder<E> getEntityPath() {
+    return new PathBuilderFactory().create(this.getEntityClass());
+  }
+
   private String getEntityName() {
-    final Class<E> entityModelClass =
-        (Class<E>)
-            ((ParameterizedType) this.getClass().getGenericSuperclass())
-                .getActualTypeArguments()[0];
-    final Table annotation = entityModelClass.getAnnotation(Table.class);
+    final Table annotation = this.getEntityClass().getAnnotation(Table.class);
     return annotation.name();
   }
 
-  private String getEntitiesToLog(final List<E> entities) {
-    return entities.size() < ENTITY_MAX_SIZE_TO_LOG
-        ? entities.toString()
-        : format("with '%s' entities", entities.size());
+  private String getTableName() {
+    final Table annotation = this.getEntityClass().getAnnotation(Table.class);
+    return annotation.schema() + "." + annotation.name();
   }
 
-  private String getEventEntitiesToLog(final List<E> entities) {
+  private Class<E> getEntityClass() {
+    return (Class<E>)
+        ((ParameterizedType) this.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+  }
+
+  private String getEntitiesToLog(final List<E> entities) {
     return entities.size() < ENTITY_MAX_SIZE_TO_LOG
-        ? entities.stream().map(e -> e.getId().toString()).toList().toString()
+        ? entities.toString()
         : format("with '%s' entities", entities.size());
   }
 
@@ -285,4 +800,6 @@ public abstract class BaseService<E extends BaseEntity> {
 
     private final String name;
   }
+
+  private record Total(long count, PaginationCountEnum strategy) {}
 }
@@ -0,0 +1,36 @@
+package com.mycompany.microservice.api.services.base;
+
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import java.util.List;
+import java.util.function.Function;
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/*
+ * Page with the strategy that actually produced its total, it can differ from the requested one:
+ * an estimate falls back to an exact count when filtered, and the last page needs no count.
+ * */
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+
+  private final PaginationCountEnum count;
+
+  public CountedPage(
+      final List<T> content,
+      final Pageable pageable,
+      final long total,
+      final PaginationCountEnum count) {
+    super(content, pageable, total);
+    this.count = count;
+  }
+
+  @Override
+  public <U> CountedPage<U> map(final Function<? super T, ? extends U> converter) {
+    return new CountedPage<>(
+        this.getConvertedContent(converter),
+        this.getPageable(),
+        this.getTotalElements(),
+        this.count);
+  }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.microservice.api.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import java.lang.reflect.Field;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * CursorUtils:
+ *
+ * <p>Encodes keyset scroll positions into opaque, url-safe cursors and decodes them back using the
+ * entity field types, so cursors can be handed to clients without exposing the keyset values. A
+ * decoded cursor must hold a non-null value for exactly the properties of the active sort, so a
+ * crafted cursor can not seek on another property.
+ */
+@Slf4j
+@UtilityClass
+public class CursorUtils {
+
+  private static final String INVALID_CURSOR_MESSAGE = "invalid cursor";
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper()
+          .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+          .registerModule(new JavaTimeModule());
+
+  private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE =
+      new TypeReference<>() {};
+
+  public static String encode(final ScrollPosition position) {
+    if (!(position instanceof final KeysetScrollPosition keyset) || keyset.isInitial()) {
+      return StringUtils.EMPTY;
+    }
+
+    try {
+      final byte[] json = MAPPER.writeValueAsBytes(keyset.getKeys());
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    } catch (final Exception ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  public static KeysetScrollPosition decode(
+      final String cursor, final Class<?> entityClass, final Sort sort) {
+    if (StringUtils.isBlank(cursor)) {
+      return ScrollPosition.keyset();
+    }
+
+    try {
+      final Map<String, Object> raw =
+          MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+      final Set<String> properties =
+          sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+      if (!raw.keySet().equals(properties) || raw.containsValue(null)) {
+        log.debug("[cursor] cursor keys {} do not match the sort {}", raw.keySet(), properties);
+        throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+      }
+
+      final Map<String, Object> keys = new LinkedHashMap<>();
+      raw.forEach((key, value) -> keys.put(key, toFieldType(entityClass, key, value)));
+
+      return ScrollPosition.forward(keys);
+    } catch (final BadRequestException ex) {
+      throw ex;
+    } catch (final Exception ex) {
+      log.debug("[cursor] unable to decode cursor '{}': {}", cursor, ex.getMessage());
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+  }
+
+  private static Object toFieldType(
+      final Class<?> entityClass, final String property, final Object value) {
+    final Field field = ReflectionUtils.findField(entityClass, property);
+    if (field == null) {
+      throw new BadRequestException(INVALID_CURSOR_MESSAGE);
+    }
+    return MAPPER.convertValue(value, field.getType());
+  }
+}
@@ -0,0 +1,103 @@
+package com.mycompany.microservice.api.utils;
+
+import static java.lang.String.format;
+
+import com.mycompany.microservice.api.enums.FilterOperatorEnum;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.collections4.CollectionUtils;
+
+/**
+ * FilterUtils:
+ *
+ * <p>Compiles management filters ({@code field:operator:value}) into a QueryDSL predicate, only the
+ * given (indexed) paths can be filtered and values are converted to the path type.
+ */
+@UtilityClass
+public class FilterUtils {
+
+  private static final String SEPARATOR = ":";
+
+  public static Predicate toPredicate(
+      final List<String> filters, final Map<String, Path<?>> filterableFields) {
+    final BooleanBuilder predicate = new BooleanBuilder();
+    if (CollectionUtils.isEmpty(filters)) {
+      return predicate;
+    }
+
+    for (final String filter : filters) {
+      final String[] parts = filter.split(SEPARATOR, 3);
+      if (parts.length != 3) {
+        throw new BadRequestException(
+            format("filter '%s' must be formatted as field:operator:value", filter));
+      }
+
+      final Path<?> path = filterableFields.get(parts[0]);
+      if (path == null) {
+        throw new BadRequestException(
+            format(
+                "filter on '%s' is not supported, use one of %s",
+                parts[0], new TreeSet<>(filterableFields.keySet())));
+      }
+
+      final FilterOperatorEnum operator = FilterOperatorEnum.fromName(parts[1]);
+      if (operator.isRange() && !isRangeType(path.getType())) {
+        throw new BadRequestException(
+            format("filter operator '%s' is not supported on '%s'", operator.getName(), parts[0]));
+      }
+
+      predicate.and(
+          Expressions.predicate(
+              operator.getOperator(), path, value(convert(parts[0], path.getType(), parts[2]))));
+    }
+    return predicate;
+  }
+
+  /*
+   * Booleans are literals, not parameters: a generic plan can not use a partial index on a flag.
+   * */
+  private static Expression<?> value(final Object value) {
+    if (value instanceof final Boolean flag) {
+      return flag ? Expressions.TRUE : Expressions.FALSE;
+    }
+    return Expressions.constant(value);
+  }
+
+  private static boolean isRangeType(final Class<?> type) {
+    return Number.class.isAssignableFrom(type) || Temporal.class.isAssignableFrom(type);
+  }
+
+  private static Object convert(final String field, final Class<?> type, final String value) {
+    try {
+      if (type == Boolean.class) {
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+          throw new IllegalArgumentException(value);
+        }
+        return Boolean.valueOf(value);
+      }
+      if (type == Long.class) {
+        return Long.valueOf(value);
+      }
+      if (type == LocalDateTime.class) {
+        return value.contains("T")
+            ? LocalDateTime.parse(value)
+            : LocalDate.parse(value).atStartOfDay();
+      }
+      return value;
+    } catch (final IllegalArgumentException | DateTimeParseException ex) {
+      throw new BadRequestException(format("filter value '%s' is invalid for '%s'", value, field));
+    }
+  }
+}
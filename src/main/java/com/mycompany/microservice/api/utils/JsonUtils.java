@@ -2,15 +2,42 @@ package com.mycompany.microservice.api.utils;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * JsonUtils:
+ *
+ * <p>Serializes (fields only) and deserializes (unknown properties ignored) in camel or snake case
+ * with shared readers and writers: they are immutable and thread-safe, so the serializers are
+ * resolved once per type instead of on every call. Streams are neither closed nor flushed beyond
+ * the document.
+ *
+ * <p>Jackson recycles its encoding buffers per thread, which does not survive virtual threads (a
+ * new recycler, so new buffers, for each of them): the buffers are shared across threads instead,
+ * see {@link SharedBufferRecyclerJsonFactory}.
+ */
 @Slf4j
 @UtilityClass
 public class JsonUtils {
@@ -18,65 +45,198 @@ public class JsonUtils {
   private static final String SERIALIZATION_ERROR_MESSAGE =
       "Something went wrong during serialization/deserialization";
 
+  private static final List<Module> MODULES = new CopyOnWriteArrayList<>();
+
+  private static volatile ObjectWriter camelCaseWriter =
+      writer(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+  private static volatile ObjectWriter snakeCaseWriter =
+      writer(PropertyNamingStrategies.SNAKE_CASE);
+  private static volatile ObjectReader camelCaseReader =
+      reader(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+  private static volatile ObjectReader snakeCaseReader =
+      reader(PropertyNamingStrategies.SNAKE_CASE);
+
+  /*
+   * Rebuilds the readers and writers with the module (ex: BlackbirdConfig), meant for startup.
+   * */
+  public static synchronized void registerModule(final Module module) {
+    if (MODULES.stream().anyMatch(m -> m.getTypeId().equals(module.getTypeId()))) {
+      return;
+    }
+    MODULES.add(module);
+    camelCaseWriter = writer(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+    snakeCaseWriter = writer(PropertyNamingStrategies.SNAKE_CASE);
+    camelCaseReader = reader(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+    snakeCaseReader = reader(PropertyNamingStrategies.SNAKE_CASE);
+  }
+
   public static <T> T deserializeFromCamelCase(final String content, final Class<T> valueType) {
-    return getMapperSerialize(content, valueType, false);
+    return deserialize(camelCaseReader, content, valueType);
+  }
+
+  public static <T> T deserializeFromCamelCase(final byte[] content, final Class<T> valueType) {
+    return deserialize(camelCaseReader, content, valueType);
+  }
+
+  public static <T> T deserializeFromCamelCase(
+      final InputStream content, final Class<T> valueType) {
+    return deserialize(camelCaseReader, content, valueType);
   }
 
   public static <T> T deserializeFromSnakeCase(final String content, final Class<T> valueType) {
-    return getMapperSerialize(content, valueType, true);
+    return deserialize(snakeCaseReader, content, valueType);
+  }
+
+  public static <T> T deserializeFromSnakeCase(final byte[] content, final Class<T> valueType) {
+    return deserialize(snakeCaseReader, content, valueType);
+  }
+
+  public static <T> T deserializeFromSnakeCase(
+      final InputStream content, final Class<T> valueType) {
+    return deserialize(snakeCaseReader, content, valueType);
   }
 
   public static String serializeToCamelCase(final Object content) {
     try {
-      return new ObjectMapper()
-          .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-          // Note: Force jackson to only serialize field and not getters.
-          .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
-          .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
-          .setPropertyNamingStrategy(new PropertyNamingStrategies.LowerCamelCaseStrategy())
-          .registerModule(new JavaTimeModule())
-          .writeValueAsString(content);
+      return camelCaseWriter.writeValueAsString(content);
     } catch (final Exception ex) {
       log.error(SERIALIZATION_ERROR_MESSAGE, ex);
       throw new IllegalArgumentException(ex);
     }
   }
 
+  /*
+   * UTF-8, without the intermediate String.
+   * */
+  public static byte[] serializeToCamelCaseBytes(final Object content) {
+    return serializeToBytes(camelCaseWriter, content);
+  }
+
+  public static void serializeToCamelCase(final Object content, final OutputStream output) {
+    serialize(camelCaseWriter, content, output);
+  }
+
   public static String serializeToSnakeCase(final Object content) {
     try {
-      return new ObjectMapper()
-          .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-          // Note: Force jackson to only serialize field and not getters.
-          .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
-          .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
-          .setPropertyNamingStrategy(new PropertyNamingStrategies.SnakeCaseStrategy())
-          .registerModule(new JavaTimeModule())
-          .writeValueAsString(content);
+      return snakeCaseWriter.writeValueAsString(content);
     } catch (final Exception ex) {
       log.error(SERIALIZATION_ERROR_MESSAGE, ex);
       throw new IllegalArgumentException(ex);
     }
   }
 
-  private static <T> T getMapperSerialize(
-      final String content, final Class<T> valueType, final boolean fromSnakeCase) {
+  public static byte[] serializeToSnakeCaseBytes(final Object content) {
+    return serializeToBytes(snakeCaseWriter, content);
+  }
+
+  public static void serializeToSnakeCase(final Object content, final OutputStream output) {
+    serialize(snakeCaseWriter, content, output);
+  }
+
+  private static ObjectWriter writer(final PropertyNamingStrategy namingStrategy) {
+    return new ObjectMapper(new SharedBufferRecyclerJsonFactory())
+        .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+        .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+        // Note: Force jackson to only serialize field and not getters.
+        .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+        .setPropertyNamingStrategy(namingStrategy)
+        .registerModule(new JavaTimeModule())
+        .registerModules(MODULES)
+        .writer();
+  }
+
+  private static ObjectReader reader(final PropertyNamingStrategy namingStrategy) {
+    return new ObjectMapper(new SharedBufferRecyclerJsonFactory())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)
+        .setPropertyNamingStrategy(namingStrategy)
+        .registerModule(new JavaTimeModule())
+        .registerModules(MODULES)
+        .reader();
+  }
+
+  private static byte[] serializeToBytes(final ObjectWriter writer, final Object content) {
+    try {
+      return writer.writeValueAsBytes(content);
+    } catch (final Exception ex) {
+      log.error(SERIALIZATION_ERROR_MESSAGE, ex);
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  private static void serialize(
+      final ObjectWriter writer, final Object content, final OutputStream output) {
+    try {
+      writer.writeValue(output, content);
+    } catch (final Exception ex) {
+      log.error(SERIALIZATION_ERROR_MESSAGE, ex);
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  private static <T> T deserialize(
+      final ObjectReader reader, final String content, final Class<T> valueType) {
     try {
 
       if (StringUtils.isBlank(content)) {
         return valueType.getDeclaredConstructor().newInstance();
       }
 
-      return new ObjectMapper()
-          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-          .setPropertyNamingStrategy(
-              fromSnakeCase
-                  ? new PropertyNamingStrategies.SnakeCaseStrategy()
-                  : new PropertyNamingStrategies.LowerCamelCaseStrategy())
-          .registerModule(new JavaTimeModule())
-          .readValue(content, valueType);
+      return reader.readValue(content, valueType);
+    } catch (final Exception ex) {
+      log.warn(SERIALIZATION_ERROR_MESSAGE, ex);
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  private static <T> T deserialize(
+      final ObjectReader reader, final byte[] content, final Class<T> valueType) {
+    try {
+
+      if (ArrayUtils.isEmpty(content)) {
+        return valueType.getDeclaredConstructor().newInstance();
+      }
+
+      return reader.readValue(content, valueType);
+    } catch (final Exception ex) {
+      log.warn(SERIALIZATION_ERROR_MESSAGE, ex);
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
+  private static <T> T deserialize(
+      final ObjectReader reader, final InputStream content, final Class<T> valueType) {
+    try {
+      return reader.readValue(content, valueType);
     } catch (final Exception ex) {
       log.warn(SERIALIZATION_ERROR_MESSAGE, ex);
       throw new IllegalArgumentException(ex);
     }
   }
+
+  /*
+   * BufferRecycler hands each buffer out atomically and takes it back once the generator or parser
+   * is closed: a thread finding it taken allocates a new one, as without recycling. Striped by
+   * thread id to limit that under concurrency.
+   * */
+  private static final class SharedBufferRecyclerJsonFactory extends JsonFactory {
+
+    @Serial private static final long serialVersionUID = -2046470932150297541L;
+
+    private static final BufferRecycler[] RECYCLERS =
+        Stream.generate(BufferRecycler::new)
+            .limit(Runtime.getRuntime().availableProcessors() * 2L)
+            .toArray(BufferRecycler[]::new);
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+      return RECYCLERS[(int) (Thread.currentThread().threadId() % RECYCLERS.length)];
+    }
+
+    @Override
+    public JsonFactory copy() {
+      return new SharedBufferRecyclerJsonFactory();
+    }
+  }
 }
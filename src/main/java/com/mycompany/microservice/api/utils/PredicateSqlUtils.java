@@ -0,0 +1,100 @@
+package com.mycompany.microservice.api.utils;
+
+import static java.lang.String.format;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.experimental.UtilityClass;
+
+/**
+ * PredicateSqlUtils:
+ *
+ * <p>Translates simple QueryDSL predicates (comparisons, null checks and in, combined with and, or,
+ * not) on the root entity properties into a native SQL condition with named parameters, so they can
+ * be used by native statements such as {@code UPDATE ... RETURNING}.
+ */
+@UtilityClass
+public class PredicateSqlUtils {
+
+  private static final String PARAMETER_PREFIX = "where";
+
+  private static final Map<Operator, String> TEMPLATES =
+      Map.ofEntries(
+          Map.entry(Ops.AND, "(%s AND %s)"),
+          Map.entry(Ops.OR, "(%s OR %s)"),
+          Map.entry(Ops.NOT, "NOT (%s)"),
+          Map.entry(Ops.EQ, "%s = %s"),
+          Map.entry(Ops.NE, "%s <> %s"),
+          Map.entry(Ops.GT, "%s > %s"),
+          Map.entry(Ops.GOE, "%s >= %s"),
+          Map.entry(Ops.LT, "%s < %s"),
+          Map.entry(Ops.LOE, "%s <= %s"),
+          Map.entry(Ops.BETWEEN, "%s BETWEEN %s AND %s"),
+          Map.entry(Ops.IS_NULL, "%s IS NULL"),
+          Map.entry(Ops.IS_NOT_NULL, "%s IS NOT NULL"),
+          Map.entry(Ops.IN, "%s IN (%s)"),
+          Map.entry(Ops.NOT_IN, "%s NOT IN (%s)"));
+
+  /*
+   * columns resolves an entity property name to its column name.
+   * */
+  public static SqlPredicate toSql(
+      final Predicate predicate, final Function<String, String> columns) {
+    final Expression<?> expression = ExpressionUtils.extract(predicate);
+    if (expression == null) {
+      throw new IllegalArgumentException("a predicate is required");
+    }
+
+    final Map<String, Object> parameters = new LinkedHashMap<>();
+    return new SqlPredicate(toSql(expression, columns, parameters), parameters);
+  }
+
+  private static String toSql(
+      final Expression<?> expression,
+      final Function<String, String> columns,
+      final Map<String, Object> parameters) {
+
+    if (expression instanceof final Path<?> path) {
+      final Path<?> parent = path.getMetadata().getParent();
+      if (parent == null || !parent.getMetadata().isRoot()) {
+        throw new IllegalArgumentException(format("unsupported path '%s'", path));
+      }
+      return columns.apply(path.getMetadata().getName());
+    }
+
+    if (expression instanceof final Constant<?> constant) {
+      final String name = PARAMETER_PREFIX + parameters.size();
+      parameters.put(name, constant.getConstant());
+      return ":" + name;
+    }
+
+    if (expression instanceof final Operation<?> operation) {
+      final String template = TEMPLATES.get(operation.getOperator());
+      if (template == null) {
+        throw new IllegalArgumentException(
+            format("unsupported operator '%s'", operation.getOperator()));
+      }
+
+      final List<Object> args = new ArrayList<>();
+      for (final Expression<?> arg : operation.getArgs()) {
+        args.add(toSql(arg, columns, parameters));
+      }
+      return format(template, args.toArray());
+    }
+
+    throw new IllegalArgumentException(format("unsupported expression '%s'", expression));
+  }
+
+  public record SqlPredicate(String sql, Map<String, Object> parameters) {}
+}
@@ -14,9 +14,12 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.Builder;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.PrematureCloseException;
 import reactor.util.retry.Retry;
@@ -27,19 +30,38 @@ public class WebClientUtils {
 
   public static WebClient createWebClient(
       final Builder builder, final String baseUrl, final int timeOutInMs, final String name) {
+    return createWebClient(builder, baseUrl, timeOutInMs, name, MediaType.APPLICATION_JSON);
+  }
 
+  /*
+   * Opt-in to a binary body format (MediaType.APPLICATION_CBOR) for the services supporting it (ex:
+   * /internal/** and /platform/api/** of this api), requests and responses are then encoded in CBOR.
+   * */
+  public static WebClient createWebClient(
+      final Builder builder,
+      final String baseUrl,
+      final int timeOutInMs,
+      final String name,
+      final MediaType mediaType) {
+
+    final boolean cbor = MediaType.APPLICATION_CBOR.isCompatibleWith(mediaType);
     final Builder webClientBuilder =
         builder
             .clientConnector(
                 new ReactorClientHttpConnector(createHttpClientWithProvider(timeOutInMs)))
             .baseUrl(baseUrl)
-            .defaultHeader(
-                HttpHeaders.CONTENT_TYPE,
-                MediaType.APPLICATION_JSON_VALUE,
-                HttpHeaders.ACCEPT,
-                MediaType.APPLICATION_JSON_VALUE)
+            .defaultHeader(HttpHeaders.CONTENT_TYPE, mediaType.toString())
+            .defaultHeader(HttpHeaders.ACCEPT, mediaType.toString())
             .filter(retryOnNetworkInstability())
-            .filter(logResponse(name));
+            .filter(cbor ? logResponseStatus(name) : logResponse(name));
+
+    if (cbor) {
+      webClientBuilder.codecs(
+          codecs -> {
+            codecs.customCodecs().register(new Jackson2CborEncoder());
+            codecs.customCodecs().register(new Jackson2CborDecoder());
+          });
+    }
 
     return webClientBuilder.build();
   }
@@ -83,6 +105,22 @@ public class WebClientUtils {
                         }));
   }
 
+  /*
+   * Binary bodies are not logged.
+   * */
+  public static ExchangeFilterFunction logResponseStatus(final String webClientName) {
+    return ExchangeFilterFunction.ofResponseProcessor(
+        response -> {
+          final HttpStatusCode status = response.statusCode();
+          if (status.is2xxSuccessful()) {
+            log.info("HTTP[{}] response {}", webClientName, status.value());
+          } else {
+            log.warn("HTTP[{}] errorResponse '{}'", webClientName, status.value());
+          }
+          return Mono.just(response);
+        });
+  }
+
   public static ExchangeFilterFunction logResponse(final String webClientName) {
     return ExchangeFilterFunction.ofResponseProcessor(
         response -> {
@@ -0,0 +1,6 @@
+-- Keyset (cursor) pagination seeks on (sort key, id), the id being used as tie-breaker.
+CREATE INDEX company_created_at_id_idx ON company (created_at, id);
+CREATE INDEX company_updated_at_id_idx ON company (updated_at, id);
+
+CREATE INDEX api_key_created_at_id_idx ON api_key (created_at, id);
+CREATE INDEX api_key_updated_at_id_idx ON api_key (updated_at, id);
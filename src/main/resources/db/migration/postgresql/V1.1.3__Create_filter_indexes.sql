@@ -0,0 +1,10 @@
+-- Management listings only allow filters backed by an index, see BaseService.getFilterableFields.
+-- slug and federal_tax_id are unique, created_at and updated_at are covered by the keyset indexes.
+CREATE INDEX company_email_idx ON company (email);
+CREATE INDEX company_is_platform_idx ON company (is_platform);
+CREATE INDEX company_is_back_office_idx ON company (is_back_office);
+CREATE INDEX company_is_management_idx ON company (is_management);
+CREATE INDEX company_is_internal_idx ON company (is_internal);
+
+CREATE INDEX api_key_company_id_is_active_idx ON api_key (company_id, is_active);
+CREATE INDEX api_key_is_active_idx ON api_key (is_active);
@@ -0,0 +1,10 @@
+-- Events written in the same transaction as the entities, published to RabbitMQ by the OutboxRelay.
+CREATE TABLE public.outbox_event
+(
+    id bigserial PRIMARY KEY,
+    exchange varchar(255) NOT NULL,
+    routing_key varchar(255) NOT NULL,
+    payload text NOT NULL,
+
+    created_at timestamp NOT NULL DEFAULT current_timestamp
+);
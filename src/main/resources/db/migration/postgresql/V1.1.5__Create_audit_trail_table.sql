@@ -0,0 +1,19 @@
+-- Written in batches with COPY by the AuditTrailWriter, which also creates the monthly partitions
+-- ahead of time. The default partition only catches rows outside of them.
+CREATE TABLE public.audit_trail
+(
+    id bigserial,
+    entity_name varchar(255) NOT NULL,
+    entity_id bigint NOT NULL,
+    operation varchar(20) NOT NULL,
+    auditor varchar(255),
+    occurred_at timestamp NOT NULL,
+
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE TABLE public.audit_trail_default PARTITION OF public.audit_trail DEFAULT;
+
+CREATE INDEX audit_trail_entity_name_entity_id_occurred_at_idx
+    ON public.audit_trail (entity_name, entity_id, occurred_at);
+CREATE INDEX audit_trail_entity_name_occurred_at_idx ON public.audit_trail (entity_name, occurred_at);
@@ -0,0 +1,18 @@
+-- A btree on a boolean splits the table in two: the common value is read with a seq scan anyway
+-- and the rare one is better served by a partial index, which only holds those rows.
+-- Management filters send booleans as literals (see FilterUtils) so the planner can match them.
+DROP INDEX company_is_platform_idx;
+DROP INDEX company_is_back_office_idx;
+DROP INDEX company_is_management_idx;
+DROP INDEX company_is_internal_idx;
+DROP INDEX api_key_is_active_idx;
+
+-- Few companies have a flag set, listings are sorted by id or seek on it.
+CREATE INDEX company_platform_id_idx ON company (id) WHERE is_platform;
+CREATE INDEX company_back_office_id_idx ON company (id) WHERE is_back_office;
+CREATE INDEX company_management_id_idx ON company (id) WHERE is_management;
+CREATE INDEX company_internal_id_idx ON company (id) WHERE is_internal;
+
+-- Keys are mostly active, the revoked ones are listed for cleanup. Per company listings use
+-- api_key_company_id_is_active_idx.
+CREATE INDEX api_key_inactive_id_idx ON api_key (id) WHERE NOT is_active;
@@ -0,0 +1,10 @@
+-- Failures are recorded per event: the OutboxRelay retries an event once available_at is reached
+-- (lease while it is being published, then backoff) and parks it after too many attempts.
+ALTER TABLE public.outbox_event
+    ADD COLUMN attempts integer NOT NULL DEFAULT 0,
+    ADD COLUMN last_error text,
+    ADD COLUMN available_at timestamp NOT NULL DEFAULT current_timestamp,
+    ADD COLUMN parked_at timestamp;
+
+-- events waiting to be relayed, parked ones are left to an operator.
+CREATE INDEX outbox_event_pending_id_idx ON public.outbox_event (id) WHERE parked_at IS NULL;
@@ -1,5 +1,6 @@
 package com.mycompany.microservice.api;
 
+import com.mycompany.microservice.api.testutils.configs.QueryBudgetConfig;
 import java.nio.file.Paths;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.TestInstance;
@@ -8,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -20,6 +22,7 @@ import org.testcontainers.utility.MountableFile;
 
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
+@Import(QueryBudgetConfig.class)
 @TestInstance(Lifecycle.PER_CLASS)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public abstract class BaseIntegrationTest {
@@ -0,0 +1,167 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mycompany.microservice.api.entities.ApiKey;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.mappers.ApiKeyMapperImpl;
+import com.mycompany.microservice.api.mappers.CompanyMapperImpl;
+import com.mycompany.microservice.api.requests.management.CreateCompanyManagementRequest;
+import com.mycompany.microservice.api.responses.management.ApikeyManagementResponse;
+import com.mycompany.microservice.api.responses.management.CompanyManagementResponse;
+import com.mycompany.microservice.api.responses.shared.ApiErrorDetails;
+import com.mycompany.microservice.api.services.OutboxService.EntityEvent;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.JacksonUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/*
+ * Jackson with and without the blackbird module (json.blackbird.enabled) on the real payloads: the
+ * MVC mapper (management responses, problem detail, create request), the AMQP converter and
+ * JsonUtils (entity event written to the outbox, entity read back). Each value runs in its own fork,
+ * JsonUtils keeps the module once registered.
+ *
+ * make benchmark BENCHMARK=BlackbirdBenchmark
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlackbirdBenchmark {
+
+  @Param({"false", "true"})
+  private boolean blackbird;
+
+  private ObjectMapper mvcMapper;
+  private Jackson2JsonMessageConverter amqpConverter;
+
+  private CompanyManagementResponse companyResponse;
+  private ApikeyManagementResponse apiKeyResponse;
+  private ProblemDetail problemDetail;
+  private byte[] createCompanyRequest;
+  private EntityEvent entityEvent;
+  private String companyJson;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(BlackbirdBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+    final ObjectMapper amqpMapper = JacksonUtils.enhancedObjectMapper();
+    if (this.blackbird) {
+      builder.modulesToInstall(new BlackbirdModule());
+      amqpMapper.registerModule(new BlackbirdModule());
+      JsonUtils.registerModule(new BlackbirdModule());
+    }
+    this.mvcMapper = builder.build();
+    this.amqpConverter = new Jackson2JsonMessageConverter(amqpMapper);
+
+    final Company company =
+        Company.builder()
+            .id(1L)
+            .slug("my-company")
+            .name("My Company")
+            .officialName("My Company Ltda")
+            .federalTaxId("12345678000190")
+            .phone("11999999999")
+            .email("contact@mycompany.com")
+            .addressStreet("Avenida Paulista")
+            .addressStreetNumber("1000")
+            .addressCity("Sao Paulo")
+            .addressStateCode("SP")
+            .addressCountry("BR")
+            .addressLatitude(new BigDecimal("-23.561414"))
+            .addressLongitude(new BigDecimal("-46.655881"))
+            .isPlatform(true)
+            .isInternal(false)
+            .isManagement(false)
+            .isBackOffice(false)
+            .build();
+    company.setCreatedAt(LocalDateTime.now());
+    company.setUpdatedAt(LocalDateTime.now());
+    final ApiKey apiKey =
+        ApiKey.builder().id(1L).companyId(1L).name("default").key("k3y").isActive(true).build();
+
+    this.companyResponse = new CompanyMapperImpl().toManagementResponse(company);
+    this.apiKeyResponse = new ApiKeyMapperImpl().toManagementResponse(apiKey);
+    this.problemDetail =
+        ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed.");
+    this.problemDetail.setProperty(
+        "errors",
+        List.of(
+            new ApiErrorDetails("slug", "must not be blank"),
+            new ApiErrorDetails("name", "must not be blank")));
+    this.createCompanyRequest =
+        this.mvcMapper.writeValueAsBytes(
+            this.mvcMapper.convertValue(
+                this.companyResponse, CreateCompanyManagementRequest.class));
+    this.entityEvent = new EntityEvent("company", "created", company.getId(), company);
+    this.companyJson = JsonUtils.serializeToCamelCase(company);
+  }
+
+  @Benchmark
+  public byte[] mvcCompanyResponse() throws IOException {
+    return this.mvcMapper.writeValueAsBytes(this.companyResponse);
+  }
+
+  @Benchmark
+  public byte[] mvcApiKeyResponse() throws IOException {
+    return this.mvcMapper.writeValueAsBytes(this.apiKeyResponse);
+  }
+
+  @Benchmark
+  public byte[] mvcProblemDetail() throws IOException {
+    return this.mvcMapper.writeValueAsBytes(this.problemDetail);
+  }
+
+  @Benchmark
+  public CreateCompanyManagementRequest mvcCreateCompanyRequest() throws IOException {
+    return this.mvcMapper.readValue(
+        this.createCompanyRequest, CreateCompanyManagementRequest.class);
+  }
+
+  @Benchmark
+  public Message amqpEntityEvent() {
+    return this.amqpConverter.toMessage(this.entityEvent, new MessageProperties());
+  }
+
+  @Benchmark
+  public String jsonUtilsEntityEvent() {
+    return JsonUtils.serializeToCamelCase(this.entityEvent);
+  }
+
+  @Benchmark
+  public Company jsonUtilsCompany() {
+    return JsonUtils.deserializeFromCamelCase(this.companyJson, Company.class);
+  }
+}
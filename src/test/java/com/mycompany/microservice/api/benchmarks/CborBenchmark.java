@@ -0,0 +1,125 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.mappers.CompanyMapperImpl;
+import com.mycompany.microservice.api.responses.management.CompanyManagementResponse;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/*
+ * JSON against CBOR (json.cbor.routes) on a page of the companies listing: encoding the response
+ * and decoding it back on the client side. The payload size of each format is printed at setup.
+ *
+ * make benchmark BENCHMARK=CborBenchmark
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CborBenchmark {
+
+  @Param({"json", "cbor"})
+  private String format;
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private ApiListPaginationSuccess<CompanyManagementResponse> response;
+  private byte[] body;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CborBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.objectMapper =
+        "cbor".equals(this.format)
+            ? Jackson2ObjectMapperBuilder.cbor().build()
+            : Jackson2ObjectMapperBuilder.json().build();
+
+    final List<Company> companies =
+        IntStream.range(0, this.pageSize)
+            .mapToObj(
+                i -> {
+                  final Company company =
+                      Company.builder()
+                          .id((long) i)
+                          .slug("company-" + i)
+                          .name("Company " + i)
+                          .officialName("Company " + i + " Ltda")
+                          .federalTaxId(String.valueOf(10_000_000_000_000L + i))
+                          .phone("11999999999")
+                          .email("contact@company-" + i + ".com")
+                          .addressStreet("Avenida Paulista")
+                          .addressStreetNumber(String.valueOf(i))
+                          .addressCity("Sao Paulo")
+                          .addressStateCode("SP")
+                          .addressCountry("BR")
+                          .addressLatitude(new BigDecimal("-23.561414"))
+                          .addressLongitude(new BigDecimal("-46.655881"))
+                          .isPlatform(true)
+                          .isInternal(false)
+                          .isManagement(false)
+                          .build();
+                  company.setCreatedAt(LocalDateTime.now());
+                  company.setUpdatedAt(LocalDateTime.now());
+                  return company;
+                })
+            .toList();
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("GET", "/internal/companies")));
+    this.response =
+        ApiListPaginationSuccess.of(
+            new PageImpl<>(companies, PageRequest.of(0, this.pageSize), 10_000)
+                .map(new CompanyMapperImpl()::toManagementResponse));
+    this.body = this.objectMapper.writeValueAsBytes(this.response);
+    RequestContextHolder.resetRequestAttributes();
+
+    System.out.printf(
+        "%n%s payload of %d companies: %d bytes%n", this.format, this.pageSize, this.body.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return this.objectMapper.writeValueAsBytes(this.response);
+  }
+
+  @Benchmark
+  public Listing decode() throws IOException {
+    return this.objectMapper.readValue(this.body, Listing.class);
+  }
+
+  public record Listing(List<CompanyManagementResponse> data) {}
+}
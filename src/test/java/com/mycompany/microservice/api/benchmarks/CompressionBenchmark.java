@@ -0,0 +1,195 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.infra.compression.CompressingResponseWrapper;
+import com.mycompany.microservice.api.infra.compression.CompressionPolicy;
+import com.mycompany.microservice.api.infra.compression.CompressionProperties.Policy;
+import com.mycompany.microservice.api.infra.compression.DeflaterPool;
+import com.mycompany.microservice.api.mappers.CompanyMapperImpl;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/*
+ * Gzip of a companies listing body, on 4 threads: a GZIPOutputStream per response (native deflater
+ * allocated and ended each time) against the CompressingResponseWrapper and its deflater pool. The
+ * compressed size of each level is printed at setup.
+ *
+ * make benchmark BENCHMARK=CompressionBenchmark
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CompressionBenchmark {
+
+  @Param({"1", "5"})
+  private int level;
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private byte[] body;
+  private CompressionPolicy policy;
+  private DeflaterPool deflaterPool;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(CompressionBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final List<Company> companies =
+        IntStream.range(0, this.pageSize)
+            .mapToObj(
+                i -> {
+                  final Company company =
+                      Company.builder()
+                          .id((long) i)
+                          .slug("company-" + i)
+                          .name("Company " + i)
+                          .officialName("Company " + i + " Ltda")
+                          .federalTaxId(String.valueOf(10_000_000_000_000L + i))
+                          .email("contact@company-" + i + ".com")
+                          .addressStreet("Avenida Paulista")
+                          .addressCity("Sao Paulo")
+                          .addressLatitude(new BigDecimal("-23.561414"))
+                          .addressLongitude(new BigDecimal("-46.655881"))
+                          .isPlatform(true)
+                          .build();
+                  company.setCreatedAt(LocalDateTime.now());
+                  company.setUpdatedAt(LocalDateTime.now());
+                  return company;
+                })
+            .toList();
+
+    final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("GET", "/management/companies")));
+    this.body =
+        objectMapper.writeValueAsBytes(
+            ApiListPaginationSuccess.of(
+                new PageImpl<>(companies, PageRequest.of(0, this.pageSize), 10_000)
+                    .map(new CompanyMapperImpl()::toManagementResponse)));
+    RequestContextHolder.resetRequestAttributes();
+
+    this.policy =
+        CompressionPolicy.of(
+            new Policy(
+                "benchmark",
+                List.of("/**"),
+                DataSize.ofKilobytes(1),
+                List.of(MediaType.APPLICATION_JSON_VALUE),
+                this.level));
+    this.deflaterPool = new DeflaterPool(32, new SimpleMeterRegistry());
+
+    System.out.printf(
+        "%nlevel %d, %d companies: %d -> %d bytes%n",
+        this.level, this.pageSize, this.body.length, this.pooledWrapper().length);
+  }
+
+  @Benchmark
+  public byte[] gzipPerResponse() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(this.body.length / 4);
+    try (final GZIPOutputStream gzip =
+        new GZIPOutputStream(output, 8192) {
+          {
+            this.def.setLevel(CompressionBenchmark.this.level);
+          }
+        }) {
+      gzip.write(this.body);
+    }
+    return output.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] pooledWrapper() throws IOException {
+    final BodyResponse response = new BodyResponse(this.body.length / 4);
+    final CompressingResponseWrapper wrapper =
+        new CompressingResponseWrapper(response, this.policy, this.deflaterPool);
+    try {
+      wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      wrapper.getOutputStream().write(this.body);
+      wrapper.finish();
+    } finally {
+      wrapper.release();
+    }
+    return response.body.toByteArray();
+  }
+
+  /*
+   * The mock response streams write byte per byte, slower than the compression itself.
+   * */
+  private static final class BodyResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream body;
+
+    BodyResponse(final int size) {
+      super(new MockHttpServletResponse());
+      this.body = new ByteArrayOutputStream(size);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return new ServletOutputStream() {
+        @Override
+        public void write(final int b) {
+          BodyResponse.this.body.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+          BodyResponse.this.body.write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {}
+      };
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.rabbitmq.publishers.EventPublisher;
+import com.mycompany.microservice.api.services.OutboxService.EntityEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.connection.CorrelationData.Confirm;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.util.unit.DataSize;
+
+/*
+ * Per-message cost of EventPublisher.publish without a broker: serialization, message and
+ * properties, correlation and logging; the template acks right away. Run it with the gc profiler
+ * for the allocation per message, on platform and virtual threads (request threads are virtual,
+ * thread-local buffer recycling does not survive them).
+ *
+ * make benchmark BENCHMARK="EventMessageBenchmark -prof gc"
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMessageBenchmark {
+
+  @Param({"platform", "virtual"})
+  private String threads;
+
+  private EventPublisher publisher;
+  private EntityEvent event;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EventMessageBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final RabbitTemplate template =
+        new RabbitTemplate() {
+          @Override
+          public void send(
+              final String exchange,
+              final String routingKey,
+              final Message message,
+              final CorrelationData correlationData) {
+            correlationData.getFuture().complete(new Confirm(true, null));
+          }
+        };
+    this.publisher =
+        new EventPublisher(
+            template,
+            new SimpleMeterRegistry(),
+            1_000,
+            5_000,
+            false,
+            100,
+            DataSize.ofKilobytes(256),
+            10,
+            0.01,
+            512);
+    this.publisher.start();
+
+    final Company company =
+        Company.builder()
+            .id(1L)
+            .slug("my-company")
+            .name("My Company")
+            .officialName("My Company Ltda")
+            .federalTaxId("12345678000190")
+            .phone("11999999999")
+            .email("contact@mycompany.com")
+            .addressStreet("Avenida Paulista")
+            .addressStreetNumber("1000")
+            .addressCity("Sao Paulo")
+            .addressStateCode("SP")
+            .addressCountry("BR")
+            .addressLatitude(new BigDecimal("-23.561414"))
+            .addressLongitude(new BigDecimal("-46.655881"))
+            .isPlatform(true)
+            .isInternal(false)
+            .isManagement(false)
+            .isBackOffice(false)
+            .build();
+    company.setCreatedAt(LocalDateTime.now());
+    company.setUpdatedAt(LocalDateTime.now());
+    this.event = new EntityEvent("company", "created", company.getId(), company);
+  }
+
+  @Benchmark
+  public CompletableFuture<Void> publish() throws InterruptedException {
+    if ("platform".equals(this.threads)) {
+      return this.publisher.publish("entity", "company.created", this.event);
+    }
+    final CompletableFuture<Void>[] result = new CompletableFuture[1];
+    Thread.ofVirtual()
+        .start(() -> result[0] = this.publisher.publish("entity", "company.created", this.event))
+        .join();
+    return result[0];
+  }
+}
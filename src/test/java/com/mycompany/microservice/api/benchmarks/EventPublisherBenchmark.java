@@ -0,0 +1,169 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.mycompany.microservice.api.rabbitmq.publishers.EventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.RabbitMQContainer;
+
+/*
+ * Messages per second of the EventPublisher on a Testcontainers RabbitMQ, each invocation publishes
+ * MESSAGES events and waits for their confirms: one send per message (publish), auto-batching
+ * (publish with batching.enabled, the last batch flushed) and publishAll, with the connection
+ * factory and template configured as RabbitConfig.
+ *
+ * make benchmark BENCHMARK=EventPublisherBenchmark
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublisherBenchmark {
+
+  private static final int MESSAGES = 1_000;
+  private static final String EXCHANGE = "benchmark";
+  private static final String ROUTING_KEY = "benchmark";
+
+  @Param({"100"})
+  private int batchSize;
+
+  private RabbitMQContainer rabbit;
+  private CachingConnectionFactory connectionFactory;
+  private RabbitAdmin admin;
+  private EventPublisher single;
+  private EventPublisher batching;
+  private List<Map<String, Object>> payloads;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EventPublisherBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.rabbit = new RabbitMQContainer("rabbitmq:3.12.9");
+    this.rabbit.start();
+
+    this.connectionFactory =
+        new CachingConnectionFactory(this.rabbit.getHost(), this.rabbit.getAmqpPort());
+    this.connectionFactory.setUsername(this.rabbit.getAdminUsername());
+    this.connectionFactory.setPassword(this.rabbit.getAdminPassword());
+    this.connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+    this.connectionFactory.setPublisherReturns(true);
+
+    this.admin = new RabbitAdmin(this.connectionFactory);
+    final DirectExchange exchange = new DirectExchange(EXCHANGE);
+    final Queue queue = new Queue(EXCHANGE);
+    this.admin.declareExchange(exchange);
+    this.admin.declareQueue(queue);
+    this.admin.declareBinding(BindingBuilder.bind(queue).to(exchange).with(ROUTING_KEY));
+
+    this.single = this.publisher(false);
+    this.batching = this.publisher(true);
+    this.payloads =
+        IntStream.range(0, MESSAGES)
+            .mapToObj(
+                i ->
+                    Map.<String, Object>of(
+                        "entity",
+                        "company",
+                        "operation",
+                        "created",
+                        "id",
+                        i,
+                        "slug",
+                        "my-company-" + i,
+                        "name",
+                        "My Company " + i))
+            .toList();
+  }
+
+  @TearDown(Level.Iteration)
+  public void purge() {
+    this.admin.purgeQueue(EXCHANGE, false);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.single.stop();
+    this.batching.stop();
+    this.connectionFactory.destroy();
+    this.rabbit.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void publish() {
+    this.publishEach(this.single);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void autoBatching() {
+    this.publishEach(this.batching);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void publishAll() {
+    this.single.publishAll(EXCHANGE, ROUTING_KEY, this.payloads).join();
+  }
+
+  private void publishEach(final EventPublisher publisher) {
+    final List<CompletableFuture<Void>> results = new ArrayList<>(MESSAGES);
+    for (final Map<String, Object> payload : this.payloads) {
+      results.add(publisher.publish(EXCHANGE, ROUTING_KEY, payload));
+    }
+    publisher.flush();
+    CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private EventPublisher publisher(final boolean batching) {
+    final RabbitTemplate template = new RabbitTemplate(this.connectionFactory);
+    template.setMandatory(true);
+    final EventPublisher publisher =
+        new EventPublisher(
+            template,
+            new SimpleMeterRegistry(),
+            MESSAGES,
+            5_000,
+            batching,
+            this.batchSize,
+            DataSize.ofKilobytes(256),
+            10,
+            0.01,
+            512);
+    publisher.start();
+    return publisher;
+  }
+}
@@ -0,0 +1,117 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * JsonUtils shared readers and writers against a mapper built per call (the previous
+ * implementation), on a populated company. The gc profiler reports the allocation per operation
+ * (gc.alloc.rate.norm).
+ *
+ * make benchmark BENCHMARK="JsonUtilsBenchmark -prof gc"
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+  private Company company;
+  private String json;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JsonUtilsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.company =
+        Company.builder()
+            .id(1L)
+            .slug("my-company")
+            .name("My Company")
+            .officialName("My Company Ltda")
+            .federalTaxId("12345678000190")
+            .phone("11999999999")
+            .email("contact@mycompany.com")
+            .addressStreet("Avenida Paulista")
+            .addressStreetNumber("1000")
+            .addressCity("Sao Paulo")
+            .addressStateCode("SP")
+            .addressCountry("BR")
+            .addressLatitude(new BigDecimal("-23.561414"))
+            .addressLongitude(new BigDecimal("-46.655881"))
+            .isPlatform(true)
+            .build();
+    this.company.setCreatedAt(LocalDateTime.now());
+    this.company.setUpdatedAt(LocalDateTime.now());
+    this.json = JsonUtils.serializeToCamelCase(this.company);
+  }
+
+  @Benchmark
+  public String serializePerCallMapper() throws Exception {
+    return new ObjectMapper()
+        .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+        .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+        .setPropertyNamingStrategy(new PropertyNamingStrategies.LowerCamelCaseStrategy())
+        .registerModule(new JavaTimeModule())
+        .writeValueAsString(this.company);
+  }
+
+  @Benchmark
+  public String serializeSharedWriter() {
+    return JsonUtils.serializeToCamelCase(this.company);
+  }
+
+  @Benchmark
+  public byte[] serializeSharedWriterToBytes() {
+    return JsonUtils.serializeToCamelCaseBytes(this.company);
+  }
+
+  @Benchmark
+  public Company deserializePerCallMapper() throws Exception {
+    return new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .setPropertyNamingStrategy(new PropertyNamingStrategies.LowerCamelCaseStrategy())
+        .registerModule(new JavaTimeModule())
+        .readValue(this.json, Company.class);
+  }
+
+  @Benchmark
+  public Company deserializeSharedReader() {
+    return JsonUtils.deserializeFromCamelCase(this.json, Company.class);
+  }
+}
@@ -0,0 +1,178 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.mappers.CompanyMapper;
+import com.mycompany.microservice.api.mappers.CompanyMapperImpl;
+import com.mycompany.microservice.api.responses.management.CompanyManagementResponse;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess.PaginationLink;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess.PaginationMeta;
+import com.mycompany.microservice.api.utils.UrlUtils;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/*
+ * Management list response of a page of companies, from the entities to the serialized body: the
+ * previous path (a uri builder per link, Page.map copy) against the link template and the content
+ * mapped while serialized. The gc profiler reports the allocation per operation.
+ *
+ * make benchmark BENCHMARK="ListResponseBenchmark -prof gc"
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListResponseBenchmark {
+
+  private static final PaginationCountEnum COUNT = PaginationCountEnum.EXACT;
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private final CompanyMapper mapper = new CompanyMapperImpl();
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private Page<Company> page;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ListResponseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final List<Company> companies =
+        IntStream.range(0, this.pageSize)
+            .mapToObj(
+                i -> {
+                  final Company company =
+                      Company.builder()
+                          .id((long) i)
+                          .slug("company-" + i)
+                          .name("Company " + i)
+                          .federalTaxId(String.valueOf(10_000_000_000_000L + i))
+                          .email("contact@company-" + i + ".com")
+                          .addressCity("Sao Paulo")
+                          .isPlatform(true)
+                          .build();
+                  company.setCreatedAt(LocalDateTime.now());
+                  company.setUpdatedAt(LocalDateTime.now());
+                  return company;
+                })
+            .toList();
+    this.page =
+        new PageImpl<>(
+            companies, PageRequest.of(3, this.pageSize, Sort.by("name", "createdAt")), 10_000);
+
+    final MockHttpServletRequest request =
+        new MockHttpServletRequest("GET", "/management/companies");
+    request.setQueryString("filter=isPlatform:eq:true&page=3&size=20&sort=name,asc&count=exact");
+    request.addParameter("filter", "isPlatform:eq:true");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public Object linksPerLinkBuilder() {
+    return previousLinks(this.page);
+  }
+
+  @Benchmark
+  public Object linksTemplate() {
+    return new PaginationLink<>(this.page, COUNT);
+  }
+
+  @Benchmark
+  public void responsePerLinkBuilder() throws IOException {
+    final Page<CompanyManagementResponse> response =
+        this.page.map(this.mapper::toManagementResponse);
+    this.objectMapper.writeValue(
+        OutputStream.nullOutputStream(),
+        new ApiListPaginationSuccess<>(
+            new PaginationMeta<>(response, COUNT), response.getContent(), previousLinks(response)));
+  }
+
+  @Benchmark
+  public void responseTemplate() throws IOException {
+    this.objectMapper.writeValue(
+        OutputStream.nullOutputStream(),
+        ApiListPaginationSuccess.of(this.page, this.mapper::toManagementResponse, COUNT));
+  }
+
+  /*
+   * PaginationLink before the template: one uri builder, parse and sort encoding per link.
+   * */
+  private static <T> PaginationLink<T> previousLinks(final Page<T> page) {
+    return new PaginationLink<>(
+        previousLink(page, page.getNumber()),
+        previousLink(page, 0),
+        previousLink(page, page.getTotalPages() - 1),
+        page.hasNext() ? previousLink(page, page.getNumber() + 1) : "",
+        !page.isFirst() ? previousLink(page, page.getNumber() - 1) : "");
+  }
+
+  private static String previousLink(final Page<?> page, final int number) {
+    final StringBuilder sort = new StringBuilder();
+    for (final Sort.Order s : page.getSort()) {
+      sort.append("&" + PaginationLink.SORT_PARAMS + "=");
+      sort.append(UrlUtils.encodeURLComponent(s.getProperty()));
+      sort.append(",");
+      sort.append(UrlUtils.encodeURLComponent(s.getDirection().name().toLowerCase()));
+    }
+    final UriComponentsBuilder builder =
+        ServletUriComponentsBuilder.fromCurrentRequest()
+            .replaceQueryParam(PaginationLink.PAGE_PARAMS)
+            .replaceQueryParam(PaginationLink.SIZE_PARAMS)
+            .replaceQueryParam(PaginationLink.COUNT_PARAMS)
+            .replaceQueryParam(PaginationLink.SORT_PARAMS);
+    return builder
+        .queryParam(PaginationLink.PAGE_PARAMS, number)
+        .queryParam(PaginationLink.SIZE_PARAMS, page.getSize())
+        .queryParam(PaginationLink.COUNT_PARAMS, COUNT.getName())
+        .query(sort.toString())
+        .build()
+        .toUriString();
+  }
+}
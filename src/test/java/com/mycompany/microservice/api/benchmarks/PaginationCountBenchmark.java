@@ -0,0 +1,135 @@
+package com.mycompany.microservice.api.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/*
+ * Per-page cost of each PaginationCountEnum strategy on a Testcontainers postgres.
+ * It executes the same statements as BaseService: the page (or slice) query plus the count.
+ *
+ * make benchmark BENCHMARK=PaginationCountBenchmark
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationCountBenchmark {
+
+  private static final String PAGE = "SELECT * FROM company ORDER BY id LIMIT ? OFFSET ?";
+  private static final String EXACT_COUNT = "SELECT count(*) FROM company";
+  private static final String ESTIMATED_COUNT =
+      "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('public.company')";
+
+  @Param({"100000", "1000000"})
+  private int rows;
+
+  @Param({"0", "10000"})
+  private int offset;
+
+  @Param({"20"})
+  private int pageSize;
+
+  private PostgreSQLContainer<?> postgres;
+  private Connection connection;
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PaginationCountBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    this.postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+    this.postgres.start();
+
+    Flyway.configure()
+        .dataSource(
+            this.postgres.getJdbcUrl(), this.postgres.getUsername(), this.postgres.getPassword())
+        .locations("classpath:db/migration/postgresql")
+        .load()
+        .migrate();
+
+    this.connection =
+        DriverManager.getConnection(
+            this.postgres.getJdbcUrl(), this.postgres.getUsername(), this.postgres.getPassword());
+
+    try (final Statement statement = this.connection.createStatement()) {
+      statement.execute(
+          "INSERT INTO company (slug, name, federal_tax_id, created_at, updated_at) "
+              + "SELECT 'slug-' || i, 'name-' || i, i, now(), now() "
+              + "FROM generate_series(1, "
+              + this.rows
+              + ") i");
+      statement.execute("ANALYZE company");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    this.connection.close();
+    this.postgres.stop();
+  }
+
+  @Benchmark
+  public long exact() throws SQLException {
+    return this.page(this.pageSize) + this.count(EXACT_COUNT);
+  }
+
+  @Benchmark
+  public long estimated() throws SQLException {
+    return this.page(this.pageSize) + this.count(ESTIMATED_COUNT);
+  }
+
+  @Benchmark
+  public long none() throws SQLException {
+    // one extra row tells if a next page exists
+    return this.page(this.pageSize + 1);
+  }
+
+  private long page(final int limit) throws SQLException {
+    try (final PreparedStatement statement = this.connection.prepareStatement(PAGE)) {
+      statement.setInt(1, limit);
+      statement.setInt(2, this.offset);
+      long fetched = 0;
+      try (final ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          fetched += resultSet.getLong("id");
+        }
+      }
+      return fetched;
+    }
+  }
+
+  private long count(final String sql) throws SQLException {
+    try (final Statement statement = this.connection.createStatement();
+        final ResultSet resultSet = statement.executeQuery(sql)) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+}
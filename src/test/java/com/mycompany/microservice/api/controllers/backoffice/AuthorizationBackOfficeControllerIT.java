@@ -7,12 +7,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.microservice.api.BaseIntegrationTest;
 import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.junit.QueryBudget;
 import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+@QueryBudget(statements = 0, connections = 0)
 class AuthorizationBackOfficeControllerIT extends BaseIntegrationTest {
 
   private final String URL = BackOfficeController.BASE_URL + "/hello-world";
@@ -5,6 +5,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.microservice.api.BaseIntegrationTest;
 import com.mycompany.microservice.api.constants.AppHeaders;
+import com.mycompany.microservice.api.junit.QueryBudget;
 import com.mycompany.microservice.api.services.ApiKeyService;
 import com.mycompany.microservice.api.services.CompanyService;
 import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+@QueryBudget(statements = 2, connections = 2, cacheMisses = 2)
 class AuthorizationInternalControllerIT extends BaseIntegrationTest {
 
   private static final String URL = CacheInternalApiController.BASE_URL;
@@ -24,6 +26,7 @@ class AuthorizationInternalControllerIT extends BaseIntegrationTest {
   void init() {}
 
   @Test
+  @QueryBudget(statements = 1, connections = 1, cacheMisses = 1)
   void return_401_IfApikeyIsNotFound() throws Exception {
     this.mockMvc
         .perform(delete(URL).header(AppHeaders.API_KEY_HEADER, random()))
@@ -46,6 +49,7 @@ class AuthorizationInternalControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @QueryBudget(statements = 1, connections = 1, cacheMisses = 1)
   void return_401_IfApikeyIsDisabled() throws Exception {
     final var internal = this.companyService.create(CompanyBuilder.internal());
     final var apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(internal));
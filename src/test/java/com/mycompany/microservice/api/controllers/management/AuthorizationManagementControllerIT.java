@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.microservice.api.BaseIntegrationTest;
 import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.junit.QueryBudget;
 import com.mycompany.microservice.api.services.ApiKeyService;
 import com.mycompany.microservice.api.services.CompanyService;
 import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
@@ -15,6 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 
+@QueryBudget(statements = 0, connections = 0)
 class AuthorizationManagementControllerIT extends BaseIntegrationTest {
 
   private final String URL = CompanyManagementController.BASE_URL;
@@ -51,6 +53,7 @@ class AuthorizationManagementControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @QueryBudget(statements = 2, connections = 1)
   void return_200() throws Exception {
     this.mockMvc
         .perform(
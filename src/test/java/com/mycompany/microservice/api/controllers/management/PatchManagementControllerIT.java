@@ -0,0 +1,186 @@
+package com.mycompany.microservice.api.controllers.management;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.ApiKey;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.repositories.ApikeyRepository;
+import com.mycompany.microservice.api.repositories.CompanyRepository;
+import com.mycompany.microservice.api.services.ApiKeyService;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class PatchManagementControllerIT extends BaseIntegrationTest {
+
+  private static final String COMPANIES = CompanyManagementController.BASE_URL;
+  private static final String API_KEYS = ApikeyManagementController.BASE_URL;
+
+  @Autowired private CompanyService companyService;
+  @Autowired private ApiKeyService apiKeyService;
+  @Autowired private CacheManager cacheManager;
+
+  @Test
+  void patchWithVersionUpdatesTheEntity() throws Exception {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final String name = random();
+
+    final JsonNode patched =
+        this.read(
+            this.perform(
+                    patch(COMPANIES + "/" + company.getId()),
+                    company.getUpdatedAt().toString(),
+                    Map.of("name", name))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(name))
+                .andExpect(jsonPath("$.slug").value(company.getSlug())));
+
+    Assertions.assertNotEquals(
+        company.getUpdatedAt().toString(), patched.get("updatedAt").asText());
+    Assertions.assertEquals(name, this.companyService.findById(company.getId()).getName());
+  }
+
+  @Test
+  void patchWithStaleVersionReturns412() throws Exception {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final String version = company.getUpdatedAt().toString();
+
+    this.perform(patch(COMPANIES + "/" + company.getId()), version, Map.of("name", random()))
+        .andExpect(status().isOk());
+    this.perform(patch(COMPANIES + "/" + company.getId()), version, Map.of("name", random()))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void patchUnknownIdReturns404() throws Exception {
+    this.perform(
+            patch(COMPANIES + "/" + Long.MAX_VALUE),
+            "2024-01-01T00:00:00.000001",
+            Map.of("name", random()))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void patchEvictsCompanyCaches() throws Exception {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    this.companyService.findById(company.getId());
+    this.companyService.findBySlug(company.getSlug());
+    final Cache cache = this.cacheManager.getCache(CompanyRepository.CACHE_NAME);
+    Assertions.assertNotNull(cache.get(List.of("byId", company.getId())));
+    Assertions.assertNotNull(cache.get(List.of("bySlug", company.getSlug())));
+
+    final String name = random();
+    this.perform(
+            patch(COMPANIES + "/" + company.getId()),
+            company.getUpdatedAt().toString(),
+            Map.of("name", name))
+        .andExpect(status().isOk());
+
+    Assertions.assertNull(cache.get(List.of("byId", company.getId())));
+    Assertions.assertNull(cache.get(List.of("bySlug", company.getSlug())));
+    Assertions.assertEquals(name, this.companyService.findById(company.getId()).getName());
+    Assertions.assertEquals(name, this.companyService.findBySlug(company.getSlug()).getName());
+  }
+
+  @Test
+  void patchOfSlugClearsCompanyCache() throws Exception {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final Company other = this.companyService.create(CompanyBuilder.company());
+    this.companyService.findBySlug(company.getSlug());
+    this.companyService.findById(other.getId());
+    final Cache cache = this.cacheManager.getCache(CompanyRepository.CACHE_NAME);
+
+    final String slug = random();
+    this.perform(
+            patch(COMPANIES + "/" + company.getId()),
+            company.getUpdatedAt().toString(),
+            Map.of("slug", slug))
+        .andExpect(status().isOk());
+
+    // the previous slug is unknown to the statement, the whole cache is cleared.
+    Assertions.assertNull(cache.get(List.of("bySlug", company.getSlug())));
+    Assertions.assertNull(cache.get(List.of("byId", other.getId())));
+    Assertions.assertTrue(this.companyService.findBySlugOptional(company.getSlug()).isEmpty());
+    Assertions.assertEquals(company.getId(), this.companyService.findBySlug(slug).getId());
+  }
+
+  @Test
+  void patchEvictsApiKeyCache() throws Exception {
+    final Company company = this.companyService.create(CompanyBuilder.platform());
+    final ApiKey apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(company));
+    this.apiKeyService.findByKeyOptional(apiKey.getKey());
+    final Cache cache = this.cacheManager.getCache(ApikeyRepository.CACHE_NAME);
+    Assertions.assertNotNull(cache.get(List.of("findByKeyAndIsActive", apiKey.getKey())));
+
+    final String name = random();
+    this.perform(
+            patch(API_KEYS + "/" + apiKey.getId()),
+            apiKey.getUpdatedAt().toString(),
+            Map.of("name", name))
+        .andExpect(status().isOk());
+
+    Assertions.assertNull(cache.get(List.of("findByKeyAndIsActive", apiKey.getKey())));
+    Assertions.assertEquals(
+        name, this.apiKeyService.findByKeyOptional(apiKey.getKey()).orElseThrow().getName());
+  }
+
+  @Test
+  void updatedAtOfCreateAndUpdateResponsesIsAValidVersion() throws Exception {
+    final JsonNode created =
+        this.read(
+            this.perform(post(COMPANIES), null, Map.of("slug", random(), "name", random()))
+                .andExpect(status().isCreated()));
+    final String url = COMPANIES + "/" + created.get("id").asLong();
+
+    this.perform(patch(url), created.get("updatedAt").asText(), Map.of("officialName", random()))
+        .andExpect(status().isOk());
+
+    final JsonNode updated =
+        this.read(
+            this.perform(put(url), null, Map.of("slug", random(), "name", random()))
+                .andExpect(status().isOk()));
+    this.perform(patch(url), updated.get("updatedAt").asText(), Map.of("name", random()))
+        .andExpect(status().isOk());
+  }
+
+  private ResultActions perform(
+      final MockHttpServletRequestBuilder request,
+      final String version,
+      final Map<String, Object> body)
+      throws Exception {
+    if (version != null) {
+      request.header(HttpHeaders.IF_MATCH, "\"" + version + "\"");
+    }
+    return this.mockMvc.perform(
+        request
+            .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_ADMIN)))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(JsonUtils.serializeToCamelCase(body)));
+  }
+
+  private JsonNode read(final ResultActions result) throws Exception {
+    return JsonUtils.deserializeFromCamelCase(
+        result.andReturn().getResponse().getContentAsString(), JsonNode.class);
+  }
+}
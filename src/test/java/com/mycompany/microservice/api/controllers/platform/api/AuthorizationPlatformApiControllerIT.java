@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.microservice.api.BaseIntegrationTest;
 import com.mycompany.microservice.api.constants.AppHeaders;
+import com.mycompany.microservice.api.junit.QueryBudget;
 import com.mycompany.microservice.api.services.ApiKeyService;
 import com.mycompany.microservice.api.services.CompanyService;
 import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+@QueryBudget(statements = 2, connections = 2, cacheMisses = 2)
 class AuthorizationPlatformApiControllerIT extends BaseIntegrationTest {
 
   private static final String URL = PlatformApiController.BASE_URL + "/hello-world";
@@ -25,6 +27,7 @@ class AuthorizationPlatformApiControllerIT extends BaseIntegrationTest {
   void init() {}
 
   @Test
+  @QueryBudget(statements = 1, connections = 1, cacheMisses = 1)
   void return_401_IfApikeyIsNotFound() throws Exception {
     this.mockMvc
         .perform(get(URL).header(AppHeaders.API_KEY_HEADER, random()))
@@ -47,6 +50,7 @@ class AuthorizationPlatformApiControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @QueryBudget(statements = 1, connections = 1, cacheMisses = 1)
   void return_401_IfApikeyIsDisabled() throws Exception {
     final var platform = this.companyService.create(CompanyBuilder.platform());
     final var apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(platform));
@@ -64,4 +68,16 @@ class AuthorizationPlatformApiControllerIT extends BaseIntegrationTest {
         .perform(get(URL).header(AppHeaders.API_KEY_HEADER, apiKey.getKey()))
         .andExpect(status().isOk());
   }
+
+  @Test
+  @QueryBudget(selects = 0, connections = 0, cacheMisses = 0, warmupRequests = 1)
+  void return_200_IfApikeyIsCached() throws Exception {
+    final var platform = this.companyService.create(CompanyBuilder.platform());
+    final var apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(platform));
+    for (int i = 0; i < 2; i++) {
+      this.mockMvc
+          .perform(get(URL).header(AppHeaders.API_KEY_HEADER, apiKey.getKey()))
+          .andExpect(status().isOk());
+    }
+  }
 }
@@ -0,0 +1,35 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class BulkheadDataSourceTest {
+
+  @Test
+  void verifyFailFastWhenFullAndReleaseOnClose() throws Exception {
+    final HikariDataSource pool = Mockito.mock(HikariDataSource.class);
+    Mockito.when(pool.getMaximumPoolSize()).thenReturn(1);
+    Mockito.when(pool.getPoolName()).thenReturn("test");
+    Mockito.when(pool.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 10, meterRegistry);
+
+    final Connection connection = bulkhead.getConnection();
+    Assertions.assertThrows(SQLTransientConnectionException.class, bulkhead::getConnection);
+    Assertions.assertEquals(1, meterRegistry.get("db.bulkhead.rejected").counter().count());
+
+    connection.close();
+    connection.close();
+    Assertions.assertEquals(1, meterRegistry.get("db.bulkhead.idle").gauge().value());
+
+    bulkhead.getConnection().close();
+    Assertions.assertEquals(
+        2, meterRegistry.get("db.bulkhead.wait").tag("outcome", "acquired").timer().count());
+  }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.constants.AppHeaders;
+import com.mycompany.microservice.api.controllers.platform.api.PlatformApiController;
+import com.mycompany.microservice.api.services.ApiKeyService;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.mycompany.microservice.api.testutils.datasource.ConnectionCounter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class CachedReadConnectionIT extends BaseIntegrationTest {
+
+  private static final String URL = PlatformApiController.BASE_URL + "/hello-world";
+
+  @Autowired private ApiKeyService apiKeyService;
+  @Autowired private CompanyService companyService;
+
+  // connections are counted on the test thread (mockMvc runs the request on it).
+  @Test
+  void cachedApiKeyAuthenticationDoesNotAcquireConnections() throws Exception {
+    final var platform = this.companyService.create(CompanyBuilder.platform());
+    final var apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(platform));
+
+    // first request loads the apiKey and the company into the cache.
+    this.mockMvc
+        .perform(get(URL).header(AppHeaders.API_KEY_HEADER, apiKey.getKey()))
+        .andExpect(status().isOk());
+
+    final long before = ConnectionCounter.count();
+    for (int i = 0; i < 10; i++) {
+      this.mockMvc
+          .perform(get(URL).header(AppHeaders.API_KEY_HEADER, apiKey.getKey()))
+          .andExpect(status().isOk());
+    }
+    Assertions.assertEquals(before, ConnectionCounter.count());
+  }
+
+  @Test
+  void cachedSlugReadDoesNotAcquireConnections() {
+    final var company = this.companyService.create(CompanyBuilder.company());
+    this.companyService.findBySlug(company.getSlug());
+    this.companyService.findById(company.getId());
+
+    final long before = ConnectionCounter.count();
+    this.companyService.findBySlug(company.getSlug());
+    this.companyService.findById(company.getId());
+    Assertions.assertEquals(before, ConnectionCounter.count());
+  }
+
+  @Test
+  void cacheMissAcquiresConnection() {
+    final var company = this.companyService.create(CompanyBuilder.company());
+
+    final long before = ConnectionCounter.count();
+    this.companyService.findBySlugOptional(random());
+    Assertions.assertTrue(ConnectionCounter.count() > before);
+    Assertions.assertEquals(company, this.companyService.findById(company.getId()));
+  }
+}
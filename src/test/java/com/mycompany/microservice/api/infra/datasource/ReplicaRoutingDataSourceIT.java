@@ -0,0 +1,174 @@
+package com.mycompany.microservice.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.containers.wait.strategy.WaitAllStrategy;
+
+@TestInstance(Lifecycle.PER_CLASS)
+class ReplicaRoutingDataSourceIT {
+
+  private static final String IMAGE = "bitnami/postgresql:15.4.0-debian-11-r21";
+  private static final String IS_REPLICA = "SELECT pg_is_in_recovery()";
+
+  private final Network network = Network.newNetwork();
+
+  private final GenericContainer<?> primary =
+      this.postgres()
+          .withNetworkAliases("primary")
+          .withEnv("POSTGRESQL_REPLICATION_MODE", "master");
+
+  private final GenericContainer<?> replica =
+      this.postgres()
+          .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+          .withEnv("POSTGRESQL_MASTER_HOST", "primary")
+          .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432");
+
+  private HikariDataSource primaryDataSource;
+  private ReplicaRoutingDataSource replicas;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnly;
+  private TransactionTemplate readWrite;
+
+  @BeforeAll
+  void init() {
+    this.primary.start();
+    this.replica.start();
+
+    final HikariConfig config = new HikariConfig();
+    config.setJdbcUrl(this.jdbcUrl(this.primary));
+    config.setUsername("user");
+    config.setPassword("password");
+    // copied to the replica pools, bounds the lag check of an unreachable replica.
+    config.setConnectionTimeout(1_000);
+    this.primaryDataSource = new HikariDataSource(config);
+
+    this.replicas =
+        new ReplicaRoutingDataSource(
+            List.of(this.jdbcUrl(this.replica)), 1_000, 1_000, new SimpleMeterRegistry());
+    this.replicas.setPrimary(this.primaryDataSource, this.primaryDataSource);
+    this.replicas.checkReplicationLag();
+
+    final LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(this.primaryDataSource);
+    dataSource.setReadOnlyDataSource(this.replicas);
+
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    this.readOnly.setReadOnly(true);
+  }
+
+  @AfterAll
+  void tearDown() {
+    this.replicas.destroy();
+    this.primaryDataSource.close();
+    this.replica.stop();
+    this.primary.stop();
+  }
+
+  @Test
+  void readOnlyTransactionUsesReplica() {
+    Assertions.assertTrue(this.isReplica(this.readOnly));
+  }
+
+  @Test
+  void readWriteTransactionUsesPrimary() {
+    Assertions.assertFalse(this.isReplica(this.readWrite));
+  }
+
+  @Test
+  void pinnedRequestUsesPrimary() {
+    ReplicaRoutingDataSource.pinToPrimary();
+    try {
+      Assertions.assertFalse(this.isReplica(this.readOnly));
+    } finally {
+      ReplicaRoutingDataSource.unpin();
+    }
+  }
+
+  @Test
+  void unreachableReplicaDoesNotFailAndReadsUsePrimary() throws Exception {
+    final ReplicaRoutingDataSource unreachable =
+        new ReplicaRoutingDataSource(
+            List.of("jdbc:postgresql://localhost:1/api"), 1_000, 1_000, new SimpleMeterRegistry());
+    try {
+      unreachable.setPrimary(this.primaryDataSource, this.primaryDataSource);
+      unreachable.checkReplicationLag();
+
+      try (final Connection connection = unreachable.getConnection();
+          final Statement statement = connection.createStatement();
+          final ResultSet resultSet = statement.executeQuery(IS_REPLICA)) {
+        resultSet.next();
+        Assertions.assertFalse(resultSet.getBoolean(1));
+      }
+    } finally {
+      unreachable.destroy();
+    }
+  }
+
+  @Test
+  void writesAreReplicated() throws InterruptedException {
+    this.readWrite.executeWithoutResult(
+        status -> this.jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replicated (id int)"));
+
+    final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (!this.tableExistsOnReplica() && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+    }
+    Assertions.assertTrue(this.tableExistsOnReplica());
+  }
+
+  private boolean tableExistsOnReplica() {
+    return Boolean.TRUE.equals(
+        this.readOnly.execute(
+            status ->
+                this.jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('public.replicated') IS NOT NULL", Boolean.class)));
+  }
+
+  private boolean isReplica(final TransactionTemplate transaction) {
+    return Boolean.TRUE.equals(
+        transaction.execute(status -> this.jdbcTemplate.queryForObject(IS_REPLICA, Boolean.class)));
+  }
+
+  private String jdbcUrl(final GenericContainer<?> container) {
+    return "jdbc:postgresql://%s:%s/api"
+        .formatted(container.getHost(), container.getMappedPort(5432));
+  }
+
+  private GenericContainer<?> postgres() {
+    return new GenericContainer<>(IMAGE)
+        .withNetwork(this.network)
+        .withExposedPorts(5432)
+        .withEnv("POSTGRESQL_USERNAME", "user")
+        .withEnv("POSTGRESQL_PASSWORD", "password")
+        .withEnv("POSTGRESQL_DATABASE", "api")
+        .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+        .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "password")
+        // the image starts a temporary server during its setup, wait for the final one
+        .waitingFor(
+            new WaitAllStrategy()
+                .withStrategy(Wait.forLogMessage(".*\\*\\* Starting PostgreSQL \\*\\*.*", 1))
+                .withStrategy(Wait.forSuccessfulCommand("pg_isready -h 127.0.0.1 -p 5432"))
+                .withStartupTimeout(Duration.ofMinutes(2)));
+  }
+}
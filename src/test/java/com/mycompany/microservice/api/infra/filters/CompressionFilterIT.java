@@ -0,0 +1,66 @@
+package com.mycompany.microservice.api.infra.filters;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.controllers.management.CompanyManagementController;
+import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+class CompressionFilterIT extends BaseIntegrationTest {
+
+  private static final String URL = CompanyManagementController.BASE_URL + "?size=20";
+
+  @Autowired private CompanyService companyService;
+  @Autowired private ObjectMapper objectMapper;
+
+  @BeforeAll
+  void init() {
+    for (int i = 0; i < 20; i++) {
+      this.companyService.create(CompanyBuilder.company());
+    }
+  }
+
+  @Test
+  void verifyListingIsGzippedWhenAccepted() throws Exception {
+    final byte[] body =
+        this.mockMvc
+            .perform(
+                get(URL)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                    .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    try (final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      final JsonNode json = this.objectMapper.readTree(input);
+      Assertions.assertEquals(20, json.get("data").size());
+    }
+  }
+
+  @Test
+  void verifyListingIsNotGzippedByDefault() throws Exception {
+    this.mockMvc
+        .perform(
+            get(URL).with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+  }
+}
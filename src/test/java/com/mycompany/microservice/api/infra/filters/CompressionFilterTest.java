@@ -0,0 +1,220 @@
+package com.mycompany.microservice.api.infra.filters;
+
+import com.mycompany.microservice.api.infra.compression.CompressionProperties;
+import com.mycompany.microservice.api.infra.compression.CompressionProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+class CompressionFilterTest {
+
+  private static final String LARGE_BODY = "{\"name\":\"company\"},".repeat(500);
+  private static final String SMALL_BODY = "{\"name\":\"company\"}";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CompressionFilter filter =
+      new CompressionFilter(
+          new CompressionProperties(
+              true,
+              4,
+              List.of(
+                  new Policy(
+                      "management",
+                      List.of("/management/**"),
+                      DataSize.ofKilobytes(1),
+                      List.of(MediaType.APPLICATION_JSON_VALUE),
+                      5))),
+          this.meterRegistry);
+
+  @Test
+  void verifyLargeBodyIsGzipped() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      final MockHttpServletResponse response =
+          this.perform("/management/companies", "gzip, deflate, br", json(LARGE_BODY));
+
+      Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+      Assertions.assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+      Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+      Assertions.assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    Assertions.assertEquals(3, this.count("http.compression.responses", "compressed"));
+    Assertions.assertEquals(
+        3.0 * LARGE_BODY.length(),
+        this.meterRegistry.get("http.compression.bytes.in").counter().count());
+    Assertions.assertTrue(
+        this.meterRegistry.get("http.compression.bytes.saved").counter().count()
+            > 2.0 * LARGE_BODY.length());
+    Assertions.assertEquals(3, this.meterRegistry.get("http.compression.deflate").timer().count());
+    // the deflater is reused
+    Assertions.assertEquals(
+        1, this.meterRegistry.get("http.compression.deflaters.created").counter().count());
+  }
+
+  @Test
+  void verifyWriterBodyIsGzipped() throws Exception {
+    final MockHttpServletResponse response =
+        this.perform(
+            "/management/companies",
+            "gzip",
+            (request, res) -> {
+              res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+              res.setCharacterEncoding(StandardCharsets.UTF_8.name());
+              res.getWriter().write(LARGE_BODY);
+            });
+
+    Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+  }
+
+  @Test
+  void verifySmallBodyIsSentAsIs() throws Exception {
+    final MockHttpServletResponse response =
+        this.perform("/management/companies", "gzip", json(SMALL_BODY));
+
+    Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(SMALL_BODY.length(), response.getContentLength());
+    Assertions.assertEquals(SMALL_BODY, response.getContentAsString());
+    Assertions.assertEquals(1, this.count("http.compression.responses", "too_small"));
+  }
+
+  @Test
+  void verifyUnsupportedOrEncodedBodyIsSentAsIs() throws Exception {
+    MockHttpServletResponse response =
+        this.perform(
+            "/management/companies",
+            "gzip",
+            (request, res) -> {
+              res.setContentType(MediaType.TEXT_HTML_VALUE);
+              res.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+            });
+    Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(LARGE_BODY, response.getContentAsString());
+    Assertions.assertEquals(1, this.count("http.compression.responses", "content_type"));
+
+    response =
+        this.perform(
+            "/management/companies",
+            "gzip",
+            (request, res) -> {
+              ((HttpServletResponse) res).setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+              json(LARGE_BODY).doFilter(request, res);
+            });
+    Assertions.assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(LARGE_BODY, response.getContentAsString());
+    Assertions.assertEquals(1, this.count("http.compression.responses", "already_encoded"));
+  }
+
+  @Test
+  void verifyNotCompressedWithoutPolicyOrAcceptEncoding() throws Exception {
+    for (final String[] request :
+        List.of(
+            new String[] {"/public/companies", "gzip"},
+            new String[] {"/management/companies", null},
+            new String[] {"/management/companies", "br, gzip;q=0"})) {
+      final MockHttpServletResponse response =
+          this.perform(request[0], request[1], json(LARGE_BODY));
+      Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+      Assertions.assertEquals(LARGE_BODY, response.getContentAsString());
+    }
+    Assertions.assertTrue(this.meterRegistry.find("http.compression.responses").meters().isEmpty());
+  }
+
+  @Test
+  void verifyPolicyRoutesVaryOnAcceptEncoding() throws Exception {
+    for (final String[] request :
+        List.of(
+            new String[] {"gzip", LARGE_BODY},
+            new String[] {"gzip", SMALL_BODY},
+            new String[] {null, LARGE_BODY},
+            new String[] {"br, gzip;q=0", LARGE_BODY})) {
+      final MockHttpServletResponse response =
+          this.perform("/management/companies", request[0], json(request[1]));
+      Assertions.assertEquals(
+          List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders(HttpHeaders.VARY));
+    }
+
+    Assertions.assertNull(
+        this.perform("/public/companies", "gzip", json(LARGE_BODY)).getHeader(HttpHeaders.VARY));
+  }
+
+  @Test
+  void verifyVaryIsKeptAfterReset() throws Exception {
+    final MockHttpServletResponse response =
+        this.perform(
+            "/management/companies",
+            "gzip",
+            (request, res) -> {
+              ((HttpServletResponse) res).addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+              res.reset();
+              ((HttpServletResponse) res).addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+              json(SMALL_BODY).doFilter(request, res);
+            });
+
+    Assertions.assertEquals(
+        List.of(HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ORIGIN),
+        response.getHeaders(HttpHeaders.VARY));
+  }
+
+  @Test
+  void verifyEncodingIsNotSentBeforeCompressedBytes() throws Exception {
+    final MockHttpServletResponse response =
+        this.perform(
+            "/management/companies",
+            "gzip",
+            (request, res) -> {
+              res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+              res.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+              res.resetBuffer();
+              json(SMALL_BODY).doFilter(request, res);
+            });
+
+    Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(SMALL_BODY, response.getContentAsString());
+  }
+
+  private MockHttpServletResponse perform(
+      final String uri, final String acceptEncoding, final FilterChain chain) throws Exception {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+    if (acceptEncoding != null) {
+      request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+    }
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    this.filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  private double count(final String name, final String outcome) {
+    return this.meterRegistry.get(name).tag("outcome", outcome).counter().count();
+  }
+
+  private static FilterChain json(final String body) {
+    return (request, response) -> {
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      // written in chunks, as the message converters do
+      for (int off = 0; off < bytes.length; off += 512) {
+        response.getOutputStream().write(bytes, off, Math.min(512, bytes.length - off));
+      }
+      response.flushBuffer();
+    };
+  }
+
+  private static String gunzip(final byte[] body) throws IOException {
+    try (final GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.microservice.api.infra.json;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.controllers.management.CompanyManagementController;
+import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+class CborContentNegotiationIT extends BaseIntegrationTest {
+
+  private static final String URL = CompanyManagementController.BASE_URL;
+
+  @Autowired private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+  @Test
+  void verifyDefaultCborConverterIsReplaced() {
+    Assertions.assertEquals(
+        1,
+        this.requestMappingHandlerAdapter.getMessageConverters().stream()
+            .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+            .peek(c -> Assertions.assertInstanceOf(RouteScopedCborHttpMessageConverter.class, c))
+            .count());
+  }
+
+  @Test
+  void verifyJsonStaysTheDefault() throws Exception {
+    this.mockMvc
+        .perform(
+            get(URL)
+                .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR)
+                .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void verifyCborIsNotAcceptableOutsideConfiguredRoutes() throws Exception {
+    this.mockMvc
+        .perform(
+            get(URL)
+                .accept(MediaType.APPLICATION_CBOR)
+                .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+        .andExpect(status().isNotAcceptable());
+
+    this.mockMvc
+        .perform(
+            post(URL)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .content(new byte[] {(byte) 0xa0})
+                .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+        .andExpect(status().isUnsupportedMediaType());
+  }
+}
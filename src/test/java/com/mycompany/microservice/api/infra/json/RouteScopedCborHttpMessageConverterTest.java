@@ -0,0 +1,76 @@
+package com.mycompany.microservice.api.infra.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class RouteScopedCborHttpMessageConverterTest {
+
+  private final RouteScopedCborHttpMessageConverter converter =
+      new RouteScopedCborHttpMessageConverter(
+          new ObjectMapper(new CBORFactory()), List.of("/internal/**", "/platform/api/**"));
+
+  @AfterEach
+  void reset() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void verifyCborOnlyOnConfiguredRoutes() {
+    request("/internal/caches");
+    Assertions.assertTrue(this.converter.canRead(Map.class, MediaType.APPLICATION_CBOR));
+    Assertions.assertTrue(this.converter.canWrite(Map.class, MediaType.APPLICATION_CBOR));
+    Assertions.assertTrue(this.converter.canWrite(Map.class, null));
+
+    request("/platform/api/hello-world");
+    Assertions.assertTrue(this.converter.canWrite(Map.class, MediaType.APPLICATION_CBOR));
+
+    request("/management/companies");
+    Assertions.assertFalse(this.converter.canRead(Map.class, MediaType.APPLICATION_CBOR));
+    Assertions.assertFalse(this.converter.canWrite(Map.class, MediaType.APPLICATION_CBOR));
+    Assertions.assertFalse(this.converter.canWrite(Map.class, null));
+
+    request("/platform/apis");
+    Assertions.assertFalse(this.converter.canWrite(Map.class, MediaType.APPLICATION_CBOR));
+  }
+
+  @Test
+  void verifyJsonIsNeverHandled() {
+    request("/internal/caches");
+    Assertions.assertFalse(this.converter.canRead(Map.class, MediaType.APPLICATION_JSON));
+    Assertions.assertFalse(this.converter.canWrite(Map.class, MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void verifyUnrestrictedOutsideRequest() {
+    Assertions.assertTrue(this.converter.canRead(Map.class, MediaType.APPLICATION_CBOR));
+    Assertions.assertTrue(this.converter.canWrite(Map.class, MediaType.APPLICATION_CBOR));
+  }
+
+  @Test
+  void verifyRoundTrip() throws Exception {
+    request("/internal/caches");
+    final MockHttpOutputMessage output = new MockHttpOutputMessage();
+    this.converter.write(Map.of("name", "companies"), MediaType.APPLICATION_CBOR, output);
+
+    Assertions.assertEquals(MediaType.APPLICATION_CBOR, output.getHeaders().getContentType());
+    Assertions.assertEquals(
+        Map.of("name", "companies"),
+        this.converter.read(Map.class, new MockHttpInputMessage(output.getBodyAsBytes())));
+  }
+
+  private static void request(final String uri) {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("GET", uri)));
+  }
+}
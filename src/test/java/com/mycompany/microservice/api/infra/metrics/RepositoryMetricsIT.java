@@ -0,0 +1,90 @@
+package com.mycompany.microservice.api.infra.metrics;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.controllers.management.CompanyManagementController;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.enums.UserRolesEnum;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.mycompany.microservice.api.testutils.builders.JwtBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class RepositoryMetricsIT extends BaseIntegrationTest {
+
+  private static final String REPOSITORY = "CompanyRepository";
+
+  @Autowired private CompanyService companyService;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void recordsLatencyRowsAndCacheResultPerMethod() {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final double invocations = this.invocations("findById");
+    final double hits = this.cache("findById", "hit");
+    final double misses = this.cache("findById", "miss");
+
+    this.companyService.findById(company.getId());
+    this.companyService.findById(company.getId());
+
+    Assertions.assertEquals(invocations + 2, this.invocations("findById"));
+    Assertions.assertEquals(misses + 1, this.cache("findById", "miss"));
+    Assertions.assertEquals(hits + 1, this.cache("findById", "hit"));
+    Assertions.assertEquals(
+        1,
+        this.meterRegistry
+            .get("repository.rows")
+            .tags("repository", REPOSITORY, "method", "findById")
+            .summary()
+            .max());
+    Assertions.assertNull(
+        this.meterRegistry
+            .find("repository.cache")
+            .tags("repository", REPOSITORY, "method", "findAll")
+            .counter());
+  }
+
+  @Test
+  void recordsStatementsPerRequest() throws Exception {
+    this.mockMvc
+        .perform(
+            get(CompanyManagementController.BASE_URL)
+                .with(authentication(JwtBuilder.jwt(random(), UserRolesEnum.MANAGEMENT_USER))))
+        .andExpect(status().isOk());
+
+    final DistributionSummary statements =
+        this.meterRegistry
+            .get("db.statements")
+            .tags("method", "GET", "uri", CompanyManagementController.BASE_URL)
+            .summary();
+    Assertions.assertTrue(statements.count() > 0);
+    Assertions.assertTrue(statements.max() > 0);
+  }
+
+  private double invocations(final String method) {
+    final Timer timer =
+        this.meterRegistry
+            .find("repository.invocations")
+            .tags("repository", REPOSITORY, "method", method, "outcome", "success")
+            .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private double cache(final String method, final String result) {
+    final Counter counter =
+        this.meterRegistry
+            .find("repository.cache")
+            .tags("repository", REPOSITORY, "method", method, "result", result)
+            .counter();
+    return counter == null ? 0 : counter.count();
+  }
+}
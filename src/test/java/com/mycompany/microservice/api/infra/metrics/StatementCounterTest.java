@@ -0,0 +1,51 @@
+package com.mycompany.microservice.api.infra.metrics;
+
+import com.mycompany.microservice.api.infra.metrics.StatementCounter.Statements;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StatementCounterTest {
+
+  private final StatementCounter statementCounter = new StatementCounter();
+
+  @Test
+  void shapeCollapsesParameterLists() {
+    Assertions.assertEquals(
+        "select * from company where id in (?) and slug = ?",
+        StatementCounter.shape("select * from company where id in (?, ?,?) and slug = ?"));
+  }
+
+  @Test
+  void countsStatementsOfTheThread() {
+    final long before = StatementCounter.count();
+    this.statementCounter.inspect("select 1");
+    this.statementCounter.inspect("select 2");
+    Assertions.assertEquals(before + 2, StatementCounter.count());
+  }
+
+  @Test
+  void detectsRepeatedStatementsOfTheRequest() {
+    StatementCounter.begin();
+    for (int i = 0; i < 5; i++) {
+      this.statementCounter.inspect("select * from api_key where company_id = ?");
+      this.statementCounter.inspect("select * from company where id in (" + "?,".repeat(i) + "?)");
+    }
+    this.statementCounter.inspect("select * from company");
+    final Statements statements = StatementCounter.end();
+
+    Assertions.assertEquals(11, statements.getTotal());
+    Assertions.assertEquals(
+        Map.of(
+            "select * from api_key where company_id = ?", 5,
+            "select * from company where id in (?)", 5),
+        statements.getRepeated(4));
+    Assertions.assertTrue(statements.getRepeated(5).isEmpty());
+  }
+
+  @Test
+  void ignoresStatementsOutsideRequests() {
+    this.statementCounter.inspect("select 1");
+    Assertions.assertNull(StatementCounter.end());
+  }
+}
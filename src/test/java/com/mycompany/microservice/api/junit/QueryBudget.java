@@ -0,0 +1,32 @@
+package com.mycompany.microservice.api.junit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Database budget of every MockMvc request performed by the annotated test (or by each test of the
+ * annotated class, a method budget replaces the class one). The test fails when a request runs more
+ * statements, selects, acquires more connections or misses the cache more often than declared. A
+ * negative value is not checked.
+ *
+ * <p>Ex: {@code @QueryBudget(selects = 0, warmupRequests = 1)} for a cached authentication.
+ */
+@ExtendWith(QueryBudgetExtension.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface QueryBudget {
+
+  int statements() default -1;
+
+  int selects() default -1;
+
+  int connections() default -1;
+
+  int cacheMisses() default -1;
+
+  /** First requests of the test not checked, ex: the one loading the caches. */
+  int warmupRequests() default 0;
+}
@@ -0,0 +1,90 @@
+package com.mycompany.microservice.api.junit;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Checks the {@link QueryBudget} of a test against the requests recorded by the {@link
+ * QueryBudgetFilter}. MockMvc runs the request on the test thread, which scopes the recording.
+ */
+@Slf4j
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+  private static final ThreadLocal<List<RequestUsage>> REQUESTS = new ThreadLocal<>();
+
+  /*
+   * No-op when the current test has no budget.
+   * */
+  static void record(final RequestUsage usage) {
+    final List<RequestUsage> requests = REQUESTS.get();
+    if (requests != null) {
+      requests.add(usage);
+    }
+  }
+
+  @Override
+  public void beforeEach(final ExtensionContext context) {
+    REQUESTS.set(new ArrayList<>());
+  }
+
+  @Override
+  public void afterEach(final ExtensionContext context) {
+    final List<RequestUsage> requests = REQUESTS.get();
+    REQUESTS.remove();
+
+    final QueryBudget budget =
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+            .or(
+                () ->
+                    AnnotationSupport.findAnnotation(
+                        context.getRequiredTestClass(), QueryBudget.class))
+            .orElseThrow();
+    if (requests.isEmpty()) {
+      throw new AssertionFailedError("query budget declared but no MockMvc request performed");
+    }
+
+    final List<String> exceeded = new ArrayList<>();
+    for (int i = 0; i < requests.size(); i++) {
+      final RequestUsage usage = requests.get(i);
+      log.info("[query-budget] {} {}", context.getDisplayName(), usage);
+      if (i >= budget.warmupRequests() && usage.exceeds(budget)) {
+        exceeded.add(usage.toString());
+      }
+    }
+    if (!exceeded.isEmpty()) {
+      throw new AssertionFailedError(
+          format(
+              "query budget %s exceeded by %s/%s requests: %s",
+              describe(budget), exceeded.size(), requests.size(), exceeded));
+    }
+  }
+
+  private static String describe(final QueryBudget budget) {
+    return format(
+        "{statements=%s, selects=%s, connections=%s, cacheMisses=%s}",
+        budget.statements(), budget.selects(), budget.connections(), budget.cacheMisses());
+  }
+
+  record RequestUsage(
+      String request, long statements, long selects, long connections, long cacheMisses) {
+
+    private boolean exceeds(final QueryBudget budget) {
+      return exceeds(this.statements, budget.statements())
+          || exceeds(this.selects, budget.selects())
+          || exceeds(this.connections, budget.connections())
+          || exceeds(this.cacheMisses, budget.cacheMisses());
+    }
+
+    private static boolean exceeds(final long used, final int budget) {
+      return budget >= 0 && used > budget;
+    }
+  }
+}
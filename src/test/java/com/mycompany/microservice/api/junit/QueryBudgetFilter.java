@@ -0,0 +1,43 @@
+package com.mycompany.microservice.api.junit;
+
+import com.mycompany.microservice.api.infra.metrics.StatementCounter;
+import com.mycompany.microservice.api.junit.QueryBudgetExtension.RequestUsage;
+import com.mycompany.microservice.api.testutils.datasource.ConnectionCounter;
+import com.mycompany.microservice.api.testutils.metrics.CacheMissCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Outermost filter (authentication included) recording the statements, selects, connections and
+ * cache misses of a request for the {@link QueryBudgetExtension}, from the per-thread counters.
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull final HttpServletRequest request,
+      @NonNull final HttpServletResponse response,
+      @NonNull final FilterChain filterChain)
+      throws ServletException, IOException {
+    final long statements = StatementCounter.count();
+    final long selects = StatementCounter.countSelects();
+    final long connections = ConnectionCounter.count();
+    final long cacheMisses = CacheMissCounter.count();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryBudgetExtension.record(
+          new RequestUsage(
+              request.getMethod() + " " + request.getRequestURI(),
+              StatementCounter.count() - statements,
+              StatementCounter.countSelects() - selects,
+              ConnectionCounter.count() - connections,
+              CacheMissCounter.count() - cacheMisses));
+    }
+  }
+}
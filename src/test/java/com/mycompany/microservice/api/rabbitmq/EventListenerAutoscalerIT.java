@@ -0,0 +1,65 @@
+package com.mycompany.microservice.api.rabbitmq;
+
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_ASYNC_EVENT_LISTENER_ID;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.clients.http.WebhookSiteHttpClient;
+import com.mycompany.microservice.api.rabbitmq.listeners.EventListenerAutoscaler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(
+    properties = {
+      "rabbitmq.listeners.event.autoscaling.enabled=true",
+      "rabbitmq.listeners.event.autoscaling.interval-in-ms=3600000",
+      "rabbitmq.listeners.event.prefetch-count=40",
+      "rabbitmq.listeners.event.autoscaling.min-prefetch=10"
+    })
+class EventListenerAutoscalerIT extends BaseIntegrationTest {
+
+  @Autowired private EventListenerAutoscaler autoscaler;
+  @Autowired private WebhookSiteHttpClient webhookSiteHttpClient;
+  @Autowired private RabbitListenerEndpointRegistry registry;
+  @Autowired private MeterRegistry meterRegistry;
+
+  // this context consumes the same queue as the others, it must not keep consuming.
+  @AfterAll
+  void stopListener() {
+    this.registry.getListenerContainer(RABBIT_ASYNC_EVENT_LISTENER_ID).stop();
+  }
+
+  @Test
+  void verifyScaleDownWhenIdleAndBackOffOnOpenCircuitBreaker() {
+    // one consumer, no backlog: the prefetch goes down
+    this.autoscaler.scale();
+    Assertions.assertEquals(1, this.decisions("scale_down", "idle"));
+    Assertions.assertEquals(1, this.gauge("rabbitmq.listener.autoscaler.consumers"));
+    Assertions.assertEquals(20, this.gauge("rabbitmq.listener.autoscaler.prefetch"));
+
+    this.webhookSiteHttpClient.getDefaultCircuitBreaker().transitionToOpenState();
+    try {
+      this.autoscaler.scale();
+    } finally {
+      this.webhookSiteHttpClient.getDefaultCircuitBreaker().transitionToClosedState();
+    }
+    Assertions.assertEquals(1, this.decisions("back_off", "circuit_breaker"));
+    Assertions.assertEquals(10, this.gauge("rabbitmq.listener.autoscaler.prefetch"));
+  }
+
+  private double gauge(final String name) {
+    return this.meterRegistry.get(name).gauge().value();
+  }
+
+  private double decisions(final String decision, final String reason) {
+    return this.meterRegistry
+        .get("rabbitmq.listener.autoscaler.decisions")
+        .tags("decision", decision, "reason", reason)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,88 @@
+package com.mycompany.microservice.api.rabbitmq;
+
+import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_EVENT_PUBLISHER;
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_ASYNC_EVENT_LISTENER_ID;
+import static com.mycompany.microservice.api.rabbitmq.listeners.EventListener.RABBIT_BATCH_EVENT_LISTENER_ID;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+class EventListenerIT extends BaseIntegrationTest {
+
+  private static final String EXCHANGE = "outbound";
+  private static final String ROUTING_KEY = "to_outbound_webhook";
+  private static final String DEAD_LETTER_QUEUE = "webhook-dead-letter";
+  private static final long TIMEOUT_IN_MS = 10_000;
+
+  @Autowired private RabbitListenerEndpointRegistry registry;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired
+  @Qualifier(RABBIT_EVENT_PUBLISHER)
+  private RabbitTemplate rabbitTemplate;
+
+  @BeforeAll
+  void useBatchListener() {
+    this.registry.getListenerContainer(RABBIT_ASYNC_EVENT_LISTENER_ID).stop();
+    this.registry.getListenerContainer(RABBIT_BATCH_EVENT_LISTENER_ID).start();
+  }
+
+  @AfterAll
+  void useSingleListener() {
+    this.registry.getListenerContainer(RABBIT_BATCH_EVENT_LISTENER_ID).stop();
+    this.registry.getListenerContainer(RABBIT_ASYNC_EVENT_LISTENER_ID).start();
+  }
+
+  @Test
+  void verifyBatchIsAckedAndFailedMessagesAreDeadLettered() throws InterruptedException {
+    final double acked = this.consumed("acked");
+    final double rejected = this.consumed("rejected");
+
+    for (int i = 0; i < 20; i++) {
+      this.send("{\"value\": \"" + random() + "\"}");
+      if (i == 10) {
+        this.send("not json");
+      }
+    }
+
+    final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+    while (this.consumed("acked") < acked + 20 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    Assertions.assertEquals(acked + 20, this.consumed("acked"));
+    Assertions.assertEquals(rejected + 1, this.consumed("rejected"));
+
+    final Message deadLetter = this.rabbitTemplate.receive(DEAD_LETTER_QUEUE, TIMEOUT_IN_MS);
+    Assertions.assertNotNull(deadLetter);
+    Assertions.assertEquals("not json", new String(deadLetter.getBody(), StandardCharsets.UTF_8));
+  }
+
+  private void send(final String body) {
+    this.rabbitTemplate.send(
+        EXCHANGE,
+        ROUTING_KEY,
+        MessageBuilder.withBody(body.getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .build());
+  }
+
+  private double consumed(final String outcome) {
+    return this.meterRegistry
+        .get("rabbitmq.listener.messages")
+        .tags("mode", "batch", "outcome", outcome)
+        .counter()
+        .count();
+  }
+}
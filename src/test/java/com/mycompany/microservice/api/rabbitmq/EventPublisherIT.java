@@ -0,0 +1,127 @@
+package com.mycompany.microservice.api.rabbitmq;
+
+import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_EVENT_PUBLISHER;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.rabbitmq.publishers.EventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.util.unit.DataSize;
+
+class EventPublisherIT extends BaseIntegrationTest {
+
+  private static final String EXCHANGE = "inbound";
+  private static final String ROUTING_KEY = "to_inbound_event";
+  private static final String QUEUE = "event";
+
+  @Autowired private EventPublisher eventPublisher;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired
+  @Qualifier(RABBIT_EVENT_PUBLISHER)
+  private RabbitTemplate rabbitTemplate;
+
+  @BeforeEach
+  void purge() {
+    while (this.rabbitTemplate.receive(QUEUE) != null) {
+      // drains the messages of the other tests.
+    }
+  }
+
+  @Test
+  void verifyConfirmedMessageCompletesFuture() throws Exception {
+    final String value = random();
+
+    this.eventPublisher
+        .publish(EXCHANGE, ROUTING_KEY, Map.of("value", value))
+        .get(5, TimeUnit.SECONDS);
+
+    final Message message = this.rabbitTemplate.receive(QUEUE, 5_000);
+    Assertions.assertNotNull(message);
+    Assertions.assertTrue(new String(message.getBody()).contains(value));
+    Assertions.assertNotNull(message.getMessageProperties().getMessageId());
+    Assertions.assertNotNull(
+        this.meterRegistry
+            .find("rabbitmq.publish.confirm")
+            .tags("exchange", EXCHANGE, "outcome", "ack")
+            .timer());
+  }
+
+  @Test
+  void verifyUnroutableMessageFailsFuture() {
+    final ExecutionException ex =
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () ->
+                this.eventPublisher
+                    .publish(EXCHANGE, random(), Map.of("value", random()))
+                    .get(5, TimeUnit.SECONDS));
+
+    // returned then acked by RabbitMQ, other brokers nack it.
+    Assertions.assertInstanceOf(AmqpException.class, ex.getCause());
+    Assertions.assertNull(this.rabbitTemplate.receive(QUEUE));
+  }
+
+  @Test
+  void verifyPublishAllSendsEveryMessage() throws Exception {
+    final List<Map<String, String>> payloads =
+        IntStream.range(0, 250).mapToObj(i -> Map.of("value", random())).toList();
+
+    this.eventPublisher.publishAll(EXCHANGE, ROUTING_KEY, payloads).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertEquals(250, this.drain());
+  }
+
+  @Test
+  void verifyBatchedPublishIsSentOnceFullOrFlushed() throws Exception {
+    final RabbitTemplate template = new RabbitTemplate(this.rabbitTemplate.getConnectionFactory());
+    template.setMandatory(true);
+    final EventPublisher batching =
+        new EventPublisher(
+            template,
+            this.meterRegistry,
+            100,
+            5_000,
+            true,
+            10,
+            DataSize.ofKilobytes(256),
+            60_000,
+            0.01,
+            512);
+    batching.start();
+
+    final List<CompletableFuture<Void>> results =
+        IntStream.range(0, 25)
+            .mapToObj(i -> batching.publish(EXCHANGE, ROUTING_KEY, Map.of("value", random())))
+            .toList();
+
+    CompletableFuture.allOf(results.subList(0, 20).toArray(CompletableFuture[]::new))
+        .get(5, TimeUnit.SECONDS);
+    Assertions.assertFalse(results.get(20).isDone());
+
+    batching.stop();
+    Assertions.assertTrue(results.stream().allMatch(CompletableFuture::isDone));
+    Assertions.assertEquals(25, this.drain());
+  }
+
+  private int drain() {
+    int received = 0;
+    while (this.rabbitTemplate.receive(QUEUE, 1_000) != null) {
+      received++;
+    }
+    return received;
+  }
+}
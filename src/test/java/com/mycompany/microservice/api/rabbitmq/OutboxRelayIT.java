@@ -0,0 +1,164 @@
+package com.mycompany.microservice.api.rabbitmq;
+
+import static com.mycompany.microservice.api.rabbitmq.configs.RabbitConfig.RABBIT_EVENT_PUBLISHER;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.entities.OutboxEvent;
+import com.mycompany.microservice.api.repositories.OutboxEventRepository;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.services.OutboxService.EntityEvent;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.mycompany.microservice.api.utils.JsonUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OutboxRelayIT extends BaseIntegrationTest {
+
+  private static final String QUEUE = "entity-event";
+  private static final long TIMEOUT_IN_MS = 10_000;
+
+  @Autowired private CompanyService companyService;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private OutboxEventRepository outboxEventRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired
+  @Qualifier(RABBIT_EVENT_PUBLISHER)
+  private RabbitTemplate rabbitTemplate;
+
+  @BeforeEach
+  void purge() {
+    while (this.rabbitTemplate.receive(QUEUE) != null) {
+      // drains the events of the other tests.
+    }
+  }
+
+  @Test
+  void verifyCommittedEntitiesArePublished() {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+
+    final Message message = this.receive(company.getId()).getLast();
+    Assertions.assertEquals(
+        "company.created", message.getMessageProperties().getReceivedRoutingKey());
+    Assertions.assertNotNull(message.getMessageProperties().getMessageId());
+  }
+
+  @Test
+  void verifyRolledBackEntitiesAreNotPublished() {
+    final String slug = random();
+    final TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+    transaction.executeWithoutResult(
+        status -> {
+          final Company company = CompanyBuilder.company();
+          company.setSlug(slug);
+          this.companyService.create(company);
+          status.setRollbackOnly();
+        });
+
+    // events are relayed in order, the rolled back one would come before.
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    this.receive(company.getId())
+        .forEach(message -> Assertions.assertFalse(new String(message.getBody()).contains(slug)));
+  }
+
+  @Test
+  void verifyPoisonEventDoesNotBlockLaterEvents() throws InterruptedException {
+    final double failed = this.failed();
+    final OutboxEvent poison = this.outboxEventRepository.save(this.unroutable());
+    try {
+      final Company company = this.companyService.create(CompanyBuilder.company());
+
+      this.receive(company.getId());
+      // settled with the batch, once every confirm arrived.
+      final OutboxEvent event = this.await(poison.getId(), relayed -> relayed.getAttempts() > 0);
+      Assertions.assertTrue(event.getAttempts() > 0);
+      Assertions.assertNotNull(event.getLastError());
+      Assertions.assertTrue(this.failed() > failed);
+    } finally {
+      this.outboxEventRepository.deleteById(poison.getId());
+    }
+  }
+
+  @Test
+  void verifyFailingEventIsParked() throws InterruptedException {
+    final OutboxEvent poison = this.outboxEventRepository.save(this.unroutable());
+    try {
+      // max-attempts and retry-backoff-in-ms of the test configuration.
+      final OutboxEvent event =
+          this.await(poison.getId(), relayed -> relayed.getParkedAt() != null);
+      Assertions.assertNotNull(event.getParkedAt());
+      Assertions.assertEquals(3, event.getAttempts());
+
+      // no longer claimed.
+      Thread.sleep(500);
+      Assertions.assertEquals(
+          3, this.outboxEventRepository.findById(poison.getId()).orElseThrow().getAttempts());
+    } finally {
+      this.outboxEventRepository.deleteById(poison.getId());
+    }
+  }
+
+  private OutboxEvent unroutable() {
+    return OutboxEvent.builder()
+        .exchange("outbound")
+        .routingKey("unbound")
+        .payload("{}")
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private OutboxEvent await(final Long id, final Predicate<OutboxEvent> condition)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+    OutboxEvent event = this.outboxEventRepository.findById(id).orElseThrow();
+    while (!condition.test(event) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+      event = this.outboxEventRepository.findById(id).orElseThrow();
+    }
+    return event;
+  }
+
+  /*
+   * RabbitMQ returns the message (reason returned), other brokers may nack it (reason error).
+   * */
+  private double failed() {
+    return this.meterRegistry.get("outbox.relay.failed").counters().stream()
+        .mapToDouble(Counter::count)
+        .sum();
+  }
+
+  /*
+   * Receives until the event of the entity, messages of other entities may still be in flight.
+   * */
+  private List<Message> receive(final Long id) {
+    final List<Message> messages = new ArrayList<>();
+    final long deadline = System.currentTimeMillis() + TIMEOUT_IN_MS;
+    while (System.currentTimeMillis() < deadline) {
+      final Message message = this.rabbitTemplate.receive(QUEUE, TIMEOUT_IN_MS);
+      if (message == null) {
+        break;
+      }
+      messages.add(message);
+      final EntityEvent event =
+          JsonUtils.deserializeFromCamelCase(new String(message.getBody()), EntityEvent.class);
+      if (id.equals(event.id())) {
+        return messages;
+      }
+    }
+    return Assertions.fail("event not published for entity " + id);
+  }
+}
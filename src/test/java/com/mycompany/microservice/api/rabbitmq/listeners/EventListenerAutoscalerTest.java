@@ -0,0 +1,48 @@
+package com.mycompany.microservice.api.rabbitmq.listeners;
+
+import com.mycompany.microservice.api.rabbitmq.listeners.EventListenerAutoscaler.Policy;
+import com.mycompany.microservice.api.rabbitmq.listeners.EventListenerAutoscaler.Step;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EventListenerAutoscalerTest {
+
+  private final Policy policy = new Policy(1, 4, 10, 80, 100, 200);
+
+  @Test
+  void verifyScaleUpOnBacklog() {
+    Assertions.assertEquals(
+        new Step("scale_up", "backlog", 3, 40), this.policy.next(2, 20, 500, 50, null));
+    // slow calls get a consumer, not a bigger prefetch
+    Assertions.assertEquals(
+        new Step("scale_up", "slow_calls", 3, 20), this.policy.next(2, 20, 500, 900, null));
+    Assertions.assertEquals(
+        new Step("scale_up", "slow_calls", 3, 20), this.policy.next(2, 20, 500, Double.NaN, null));
+  }
+
+  @Test
+  void verifyScaleDownWhenIdle() {
+    Assertions.assertEquals(
+        new Step("scale_down", "idle", 1, 20), this.policy.next(2, 40, 10, 50, null));
+    Assertions.assertEquals(
+        new Step("hold", "target", 2, 40), this.policy.next(2, 40, 150, 50, null));
+  }
+
+  @Test
+  void verifyBackOffUnderPressure() {
+    Assertions.assertEquals(
+        new Step("back_off", "pool", 2, 40), this.policy.next(4, 80, 10_000, 50, "pool"));
+    Assertions.assertEquals(
+        new Step("back_off", "circuit_breaker", 1, 10),
+        this.policy.next(2, 15, 10_000, 50, "circuit_breaker"));
+  }
+
+  @Test
+  void verifyBounds() {
+    Assertions.assertEquals(
+        new Step("hold", "backlog", 4, 80), this.policy.next(4, 80, 10_000, 50, null));
+    Assertions.assertEquals(new Step("hold", "idle", 1, 10), this.policy.next(1, 10, 0, 50, null));
+    Assertions.assertEquals(
+        new Step("back_off", "pool", 1, 10), this.policy.next(1, 20, 0, 50, "pool"));
+  }
+}
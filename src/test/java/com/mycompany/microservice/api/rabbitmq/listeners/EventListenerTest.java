@@ -0,0 +1,80 @@
+package com.mycompany.microservice.api.rabbitmq.listeners;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+class EventListenerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Channel channel = Mockito.mock(Channel.class);
+
+  @Test
+  void verifyBatchIsAckedAtOnce() throws Exception {
+    final EventListener listener = new EventListener("webhook", this.meterRegistry);
+
+    listener.processBatch(messages("{}", "not json", "{}", "{}"), this.channel);
+
+    Mockito.verify(this.channel).basicNack(2, false, false);
+    Mockito.verify(this.channel).basicAck(4, true);
+    Mockito.verifyNoMoreInteractions(this.channel);
+    Assertions.assertEquals(3, this.consumed("acked"));
+    Assertions.assertEquals(1, this.consumed("rejected"));
+  }
+
+  @Test
+  void verifyFailedBatchIsProcessedOneAtATime() throws Exception {
+    final EventListener listener = Mockito.spy(new EventListener("webhook", this.meterRegistry));
+    Mockito.doThrow(new IllegalStateException("bulk write failed"))
+        .when(listener)
+        .processAll(ArgumentMatchers.argThat(events -> events.size() > 1));
+    Mockito.doThrow(new IllegalStateException("poison event"))
+        .when(listener)
+        .processAll(
+            ArgumentMatchers.argThat(
+                (List<JsonNode> events) -> events.getFirst().path("poison").asBoolean()));
+
+    listener.processBatch(messages("{}", "{\"poison\": true}", "{}", "{}"), this.channel);
+
+    final InOrder inOrder = Mockito.inOrder(this.channel);
+    inOrder.verify(this.channel).basicAck(1, false);
+    inOrder.verify(this.channel).basicNack(2, false, false);
+    inOrder.verify(this.channel).basicAck(3, false);
+    inOrder.verify(this.channel).basicAck(4, false);
+    Mockito.verifyNoMoreInteractions(this.channel);
+    Assertions.assertEquals(3, this.consumed("acked"));
+    Assertions.assertEquals(1, this.consumed("rejected"));
+  }
+
+  private double consumed(final String outcome) {
+    return this.meterRegistry
+        .get("rabbitmq.listener.messages")
+        .tags("mode", "batch", "outcome", outcome)
+        .counter()
+        .count();
+  }
+
+  /*
+   * Delivery tags start at 1, in order.
+   * */
+  private static List<Message> messages(final String... bodies) {
+    return IntStream.range(0, bodies.length)
+        .mapToObj(
+            i -> {
+              final MessageProperties props = new MessageProperties();
+              props.setDeliveryTag(i + 1);
+              return new Message(bodies[i].getBytes(StandardCharsets.UTF_8), props);
+            })
+        .toList();
+  }
+}
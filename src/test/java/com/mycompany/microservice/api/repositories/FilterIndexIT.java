@@ -0,0 +1,174 @@
+package com.mycompany.microservice.api.repositories;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.entities.QCompany;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.services.ApiKeyService;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import com.querydsl.core.types.Path;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+/*
+ * Plans of the management filters with the default planner settings, on a production like
+ * distribution (few flagged companies, mostly active keys, a year of timestamps). The rows are
+ * inserted and analyzed in a transaction that is rolled back.
+ * Flags are filtered on their rare value, the common one is rightly read with a seq scan.
+ * */
+class FilterIndexIT extends BaseIntegrationTest {
+
+  private static final int ROWS = 50_000;
+
+  private static final String SEED_COMPANIES =
+      """
+      INSERT INTO company (slug, name, email, federal_tax_id,
+        is_platform, is_back_office, is_management, is_internal, created_at, updated_at)
+      SELECT '%1$s-' || i, '%1$s-' || i, '%1$s-' || i || '@example.com', '%1$s-' || i,
+        i %% 200 = 0, i %% 200 = 1, i %% 500 = 2, i %% 500 = 3,
+        localtimestamp - i * interval '10 minutes', localtimestamp - (i %% 5000) * interval '1 hour'
+      FROM generate_series(1, %2$d) i
+      """;
+  private static final String SEED_API_KEYS =
+      """
+      INSERT INTO api_key (company_id, name, key, is_active, created_at, updated_at)
+      SELECT id, slug, slug, id %% 50 <> 0, created_at, updated_at
+      FROM company WHERE slug LIKE '%1$s-%%'
+      """;
+
+  @Autowired private DataSource dataSource;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private CompanyService companyService;
+  @Autowired private ApiKeyService apiKeyService;
+
+  @Test
+  void filtersUseIndexes() throws Exception {
+    try (final Connection connection = this.dataSource.getConnection();
+        final Statement statement = connection.createStatement()) {
+      connection.setAutoCommit(false);
+      try {
+        final String prefix = random();
+        statement.execute(SEED_COMPANIES.formatted(prefix, ROWS));
+        statement.execute(SEED_API_KEYS.formatted(prefix));
+        statement.execute("ANALYZE company, api_key");
+
+        final List<Path<?>> paths =
+            Stream.of(this.companyService, this.apiKeyService)
+                .flatMap(service -> service.getFilterableFields().values().stream())
+                .toList();
+        for (final Path<?> path : paths) {
+          this.assertFilterUsesIndex(statement, path);
+        }
+      } finally {
+        connection.rollback();
+      }
+    }
+  }
+
+  @Test
+  void flagFilterReturnsFlaggedRows() {
+    final Company platform = this.companyService.create(CompanyBuilder.platform());
+    final Company company = this.companyService.create(CompanyBuilder.company());
+
+    final List<Long> ids =
+        this.companyService
+            .findAll(
+                QCompany.company
+                    .id
+                    .in(platform.getId(), company.getId())
+                    .and(this.companyService.getFilterPredicate(List.of("isPlatform:eq:true"))),
+                PageRequest.of(0, 10),
+                PaginationCountEnum.NONE)
+            .map(Company::getId)
+            .getContent();
+    Assertions.assertEquals(List.of(platform.getId()), ids);
+  }
+
+  private void assertFilterUsesIndex(final Statement statement, final Path<?> path)
+      throws Exception {
+    final AbstractEntityPersister persister =
+        (AbstractEntityPersister)
+            this.entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(path.getMetadata().getRootPath().getType());
+    final String table = persister.getTableName();
+    final String column = persister.getPropertyColumnNames(path.getMetadata().getName())[0];
+
+    if (path.getType() == Boolean.class) {
+      // booleans are sent as literals, see FilterUtils.
+      this.assertUsesIndex(
+          statement,
+          table,
+          column,
+          "=",
+          this.select(
+              statement,
+              "SELECT %1$s::text FROM %2$s WHERE %1$s IS NOT NULL GROUP BY 1 ORDER BY count(*) LIMIT 1"
+                  .formatted(column, table)));
+      return;
+    }
+
+    this.assertUsesIndex(
+        statement,
+        table,
+        column,
+        "=",
+        this.select(
+            statement,
+            "SELECT quote_literal(%s) FROM %s ORDER BY id DESC LIMIT 1".formatted(column, table)));
+    if (Temporal.class.isAssignableFrom(path.getType())) {
+      // the last 1% of the rows, ex: changes of the last days.
+      this.assertUsesIndex(
+          statement,
+          table,
+          column,
+          ">=",
+          this.select(
+              statement,
+              "SELECT quote_literal(percentile_disc(0.99) WITHIN GROUP (ORDER BY %s)) FROM %s"
+                  .formatted(column, table)));
+    }
+  }
+
+  private void assertUsesIndex(
+      final Statement statement,
+      final String table,
+      final String column,
+      final String operator,
+      final String value)
+      throws Exception {
+    final StringBuilder plan = new StringBuilder();
+    try (final ResultSet resultSet =
+        statement.executeQuery(
+            "EXPLAIN SELECT * FROM %s WHERE %s %s %s".formatted(table, column, operator, value))) {
+      while (resultSet.next()) {
+        plan.append(resultSet.getString(1)).append('\n');
+      }
+    }
+
+    final String message = table + "." + column + " " + operator + " " + value + "\n" + plan;
+    Assertions.assertFalse(plan.toString().contains("Seq Scan"), message);
+    Assertions.assertTrue(plan.toString().contains("Index"), message);
+  }
+
+  private String select(final Statement statement, final String sql) throws Exception {
+    try (final ResultSet resultSet = statement.executeQuery(sql)) {
+      Assertions.assertTrue(resultSet.next(), sql);
+      return resultSet.getString(1);
+    }
+  }
+}
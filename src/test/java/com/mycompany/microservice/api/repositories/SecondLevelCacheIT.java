@@ -0,0 +1,105 @@
+package com.mycompany.microservice.api.repositories;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.ApiKey;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.services.ApiKeyService;
+import com.mycompany.microservice.api.services.CompanyService;
+import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SecondLevelCacheIT extends BaseIntegrationTest {
+
+  @Autowired private ApiKeyService apiKeyService;
+  @Autowired private CompanyService companyService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Statistics statistics;
+
+  @BeforeAll
+  void init() {
+    this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void verifyMergeIsServedFromEntityCache() {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    // without a version, dynamic updates invalidate the entry on write: it is cached on read.
+    this.companyService.findById(company.getId());
+    Assertions.assertTrue(
+        this.entityManagerFactory.getCache().contains(Company.class, company.getId()));
+
+    final long hits = this.regionHits(Company.TABLE_NAME);
+    company.setName(random());
+    this.companyService.update(company);
+    Assertions.assertTrue(this.regionHits(Company.TABLE_NAME) > hits);
+  }
+
+  @Test
+  void verifyFinderIsServedFromQueryCache() {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final ApiKey apiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(company));
+
+    this.apiKeyService.findFirstByCompanyIdAndIsActive(company.getId());
+    final long hits = this.statistics.getQueryCacheHitCount();
+    Assertions.assertEquals(
+        apiKey.getId(),
+        this.apiKeyService.findFirstByCompanyIdAndIsActive(company.getId()).getId());
+    Assertions.assertTrue(this.statistics.getQueryCacheHitCount() > hits);
+
+    // any write to the table invalidates the cached results.
+    this.apiKeyService.inactivate(apiKey.getId());
+    Assertions.assertNull(this.apiKeyService.findFirstByCompanyIdAndIsActive(company.getId()));
+  }
+
+  @Test
+  void verifySaveAllAndDeleteAllInvalidation() {
+    final List<Company> companies =
+        this.companyService.createAll(List.of(CompanyBuilder.company(), CompanyBuilder.company()));
+    companies.forEach(company -> this.companyService.findById(company.getId()));
+
+    companies.forEach(company -> company.setName(random()));
+    this.companyService.updateAll(companies);
+    companies.forEach(
+        company ->
+            Assertions.assertEquals(
+                company.getName(), this.companyService.findById(company.getId()).getName()));
+
+    this.companyService.deleteAll(companies, false);
+    // read-write regions keep a soft lock on deleted entries until it times out.
+    companies.forEach(
+        company ->
+            Assertions.assertTrue(this.companyService.findByIdOptional(company.getId()).isEmpty()));
+  }
+
+  @Test
+  void verifyPatchInvalidation() {
+    final Company company = this.companyService.create(CompanyBuilder.company());
+    final Company changes = Company.builder().name(random()).build();
+    final LocalDateTime version =
+        this.jdbcTemplate.queryForObject(
+            "SELECT updated_at FROM company WHERE id = ?", LocalDateTime.class, company.getId());
+
+    final Company patched =
+        this.companyService.patch(company.getId(), version, changes, Set.of("name"));
+    Assertions.assertEquals(changes.getName(), patched.getName());
+    Assertions.assertEquals(
+        changes.getName(), this.companyService.findById(company.getId()).getName());
+  }
+
+  private long regionHits(final String region) {
+    return this.statistics.getDomainDataRegionStatistics(region).getHitCount();
+  }
+}
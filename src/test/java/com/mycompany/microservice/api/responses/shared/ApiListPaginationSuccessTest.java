@@ -0,0 +1,106 @@
+package com.mycompany.microservice.api.responses.shared;
+
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.responses.shared.ApiListPaginationSuccess.PaginationLink;
+import com.mycompany.microservice.api.services.base.CountedPage;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ApiListPaginationSuccessTest {
+
+  private static final String URL = "http://localhost/management/companies";
+
+  @AfterEach
+  void reset() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void verifyLinksKeepOtherParams() {
+    request("fields=id,slug&page=1&size=2&sort=name,desc&count=none");
+    final PaginationLink<Long> links =
+        new PaginationLink<>(
+            new PageImpl<>(
+                List.of(1L, 2L), PageRequest.of(1, 2, Sort.by(Sort.Order.desc("name"))), 7),
+            PaginationCountEnum.EXACT);
+
+    final String params = "&size=2&count=exact&sort=name,desc";
+    Assertions.assertEquals(URL + "?fields=id,slug&page=1" + params, links.self());
+    Assertions.assertEquals(URL + "?fields=id,slug&page=0" + params, links.first());
+    Assertions.assertEquals(URL + "?fields=id,slug&page=3" + params, links.last());
+    Assertions.assertEquals(URL + "?fields=id,slug&page=2" + params, links.next());
+    Assertions.assertEquals(URL + "?fields=id,slug&page=0" + params, links.previous());
+  }
+
+  @Test
+  void verifyNextAndPreviousOnMiddlePage() {
+    request("page=2&size=10");
+    final PaginationLink<Long> links =
+        new PaginationLink<>(
+            new PageImpl<>(List.of(1L), PageRequest.of(2, 10), 50), PaginationCountEnum.EXACT);
+
+    Assertions.assertEquals(URL + "?page=3&size=10&count=exact", links.next());
+    Assertions.assertEquals(URL + "?page=1&size=10&count=exact", links.previous());
+  }
+
+  @Test
+  void verifySliceLinksWithoutOtherParams() {
+    request(null);
+    final PaginationLink<Long> links =
+        new PaginationLink<>(
+            new SliceImpl<>(List.of(1L), PageRequest.of(0, 1), false), PaginationCountEnum.NONE);
+
+    Assertions.assertEquals(URL + "?page=0&size=1&count=none", links.self());
+    Assertions.assertEquals("", links.last());
+    Assertions.assertEquals("", links.next());
+    Assertions.assertEquals("", links.previous());
+  }
+
+  @Test
+  void verifyContentIsMappedOnRead() {
+    request(null);
+    final AtomicInteger mapped = new AtomicInteger();
+    final ApiListPaginationSuccess<String> response =
+        ApiListPaginationSuccess.of(
+            new PageImpl<>(List.of(1L, 2L)),
+            id -> {
+              mapped.incrementAndGet();
+              return "id-" + id;
+            },
+            PaginationCountEnum.EXACT);
+
+    Assertions.assertEquals(0, mapped.get());
+    Assertions.assertEquals(List.of("id-1", "id-2"), List.copyOf(response.data()));
+    Assertions.assertEquals(2, response.meta().totalItems());
+  }
+
+  @Test
+  void verifyMetaReportsTheCountActuallyUsed() {
+    request("count=estimated");
+    final ApiListPaginationSuccess<String> response =
+        ApiListPaginationSuccess.of(
+            new CountedPage<>(List.of(1L), PageRequest.of(0, 1), 3, PaginationCountEnum.EXACT)
+                .map(id -> "id-" + id),
+            PaginationCountEnum.ESTIMATED);
+
+    Assertions.assertEquals("exact", response.meta().countStrategy());
+    Assertions.assertTrue(response.links().next().endsWith("&count=estimated"));
+  }
+
+  private static void request(final String queryString) {
+    final MockHttpServletRequest request =
+        new MockHttpServletRequest("GET", "/management/companies");
+    request.setQueryString(queryString);
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+}
@@ -0,0 +1,114 @@
+package com.mycompany.microservice.api.services;
+
+import static com.mycompany.microservice.api.entities.QCompany.company;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.AuditTrail;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AuditTrailIT extends BaseIntegrationTest {
+
+  @Autowired private AuditTrailService auditTrailService;
+  @Autowired private CompanyService companyService;
+  @Autowired private AuditTrailWriter auditTrailWriter;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void verifyChangesAreWrittenInBatches() throws InterruptedException {
+    final LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+    final Company entity = this.companyService.create(CompanyBuilder.company());
+    this.companyService.updateWhere(company.id.eq(entity.getId()), Map.of("name", random()));
+    this.companyService.deleteByIds(List.of(entity.getId()));
+
+    final List<String> operations =
+        this.awaitAuditTrail(entity.getId(), from, 3).stream()
+            .map(AuditTrail::getOperation)
+            .toList();
+    Assertions.assertEquals(List.of("created", "updated", "deleted"), operations);
+  }
+
+  @Test
+  void verifyRecordsOfTheDefaultPartitionAreMovedToTheNewPartition() throws Exception {
+    final LocalDate month = LocalDate.of(2199, 1, 1);
+    final LocalDateTime occurredAt = month.atStartOfDay().plusDays(3);
+    // written while the partition is missing.
+    this.transactionTemplate.executeWithoutResult(
+        status ->
+            this.jdbcTemplate.update(
+                "INSERT INTO audit_trail (entity_name, entity_id, operation, occurred_at) VALUES (?, ?, ?, ?)",
+                Company.TABLE_NAME,
+                -1L,
+                "created",
+                occurredAt));
+
+    try {
+      this.auditTrailWriter.createPartition(month);
+      // already created, nothing to do.
+      this.auditTrailWriter.createPartition(month);
+
+      Assertions.assertEquals(
+          1,
+          this.jdbcTemplate.queryForObject(
+              "SELECT count(*) FROM audit_trail_2199_01 WHERE entity_id = -1", Integer.class));
+      Assertions.assertEquals(
+          0,
+          this.jdbcTemplate.queryForObject(
+              "SELECT count(*) FROM audit_trail_default WHERE entity_id = -1", Integer.class));
+      Assertions.assertEquals(
+          1,
+          this.auditTrailService
+              .findAll(
+                  Company.TABLE_NAME,
+                  -1L,
+                  occurredAt.minusDays(1),
+                  occurredAt.plusDays(1),
+                  PageRequest.of(0, 10))
+              .getNumberOfElements());
+    } finally {
+      this.transactionTemplate.executeWithoutResult(
+          status -> this.jdbcTemplate.execute("DROP TABLE IF EXISTS audit_trail_2199_01"));
+    }
+  }
+
+  @Test
+  void verifyFromMustBeBeforeTo() {
+    final LocalDateTime now = LocalDateTime.now();
+    Assertions.assertThrows(
+        BadRequestException.class,
+        () -> this.auditTrailService.findAll("company", null, now, now, PageRequest.of(0, 10)));
+  }
+
+  private List<AuditTrail> awaitAuditTrail(
+      final Long entityId, final LocalDateTime from, final int expected)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10_000;
+    List<AuditTrail> auditTrail;
+    do {
+      Thread.sleep(200);
+      auditTrail =
+          this.auditTrailService
+              .findAll(
+                  Company.TABLE_NAME,
+                  entityId,
+                  from,
+                  LocalDateTime.now().plusMinutes(1),
+                  PageRequest.of(0, 10, Sort.by("id")))
+              .getContent();
+    } while (auditTrail.size() < expected && System.currentTimeMillis() < deadline);
+    return auditTrail;
+  }
+}
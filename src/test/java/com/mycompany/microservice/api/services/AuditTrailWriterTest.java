@@ -0,0 +1,149 @@
+package com.mycompany.microservice.api.services;
+
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent;
+import com.mycompany.microservice.api.listeners.AuditTrailListener.EntityTransactionLogEvent.EntityTransactionLogEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+class AuditTrailWriterTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  @TempDir private Path spillDir;
+
+  @Test
+  void verifyFailedBatchIsRetriedThenSpilledAndReplayed() throws Exception {
+    final DataSource dataSource = Mockito.mock(DataSource.class);
+    Mockito.when(dataSource.getConnection())
+        .thenThrow(new SQLTransientConnectionException("database down"));
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    final AuditTrailWriter down = this.writer(dataSource, meterRegistry, 100);
+    down.start();
+    try {
+      down.enqueue(event(1L, 2L));
+      await(() -> meterRegistry.get("audit.trail.spilled").counter().count() == 2);
+    } finally {
+      down.stop();
+    }
+    Assertions.assertEquals(
+        2.0 * MAX_ATTEMPTS, meterRegistry.get("audit.trail.failed").counter().count());
+    Assertions.assertEquals(0, meterRegistry.get("audit.trail.dropped").counter().count());
+    Assertions.assertEquals(1, this.spilledFiles().size());
+
+    // written, then deleted, once the database is back.
+    final List<String> copied = new ArrayList<>();
+    final AuditTrailWriter up = this.writer(this.copying(copied), new SimpleMeterRegistry(), 100);
+    up.start();
+    try {
+      await(() -> this.spilledFiles().isEmpty());
+    } finally {
+      up.stop();
+    }
+    Assertions.assertEquals(1, copied.size());
+    Assertions.assertTrue(copied.getFirst().startsWith("company,1,created,"));
+    Assertions.assertTrue(copied.getFirst().contains("\ncompany,2,created,"));
+  }
+
+  @Test
+  void verifyOverflowIsSpilledWhenQueueIsFull() throws Exception {
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // not started, nothing drains the queue.
+    final AuditTrailWriter writer = this.writer(Mockito.mock(DataSource.class), meterRegistry, 1);
+
+    writer.enqueue(event(1L, 2L, 3L));
+
+    Assertions.assertEquals(2, meterRegistry.get("audit.trail.spilled").counter().count());
+    Assertions.assertEquals(0, meterRegistry.get("audit.trail.dropped").counter().count());
+    final List<Path> files = this.spilledFiles();
+    Assertions.assertEquals(1, files.size());
+    Assertions.assertEquals(2, Files.readAllLines(files.getFirst()).size());
+  }
+
+  @Test
+  void verifyRecordsAreDroppedWhenSpillFails() throws Exception {
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final Path notADirectory = Files.createFile(this.spillDir.resolve("file"));
+    final AuditTrailWriter writer =
+        new AuditTrailWriter(
+            Mockito.mock(DataSource.class),
+            meterRegistry,
+            1,
+            10,
+            50,
+            0,
+            MAX_ATTEMPTS,
+            1,
+            notADirectory);
+
+    writer.enqueue(event(1L, 2L));
+
+    Assertions.assertEquals(1, meterRegistry.get("audit.trail.dropped").counter().count());
+  }
+
+  private AuditTrailWriter writer(
+      final DataSource dataSource, final SimpleMeterRegistry meterRegistry, final int capacity) {
+    return new AuditTrailWriter(
+        dataSource, meterRegistry, capacity, 10, 50, 0, MAX_ATTEMPTS, 1, this.spillDir);
+  }
+
+  /*
+   * Connections whose COPY records the copied rows, other statements (partitions) fail.
+   * */
+  private DataSource copying(final List<String> copied) throws Exception {
+    final CopyManager copyManager = Mockito.mock(CopyManager.class);
+    Mockito.when(copyManager.copyIn(Mockito.anyString(), Mockito.any(Reader.class)))
+        .thenAnswer(
+            invocation -> {
+              final StringWriter csv = new StringWriter();
+              invocation.getArgument(1, Reader.class).transferTo(csv);
+              copied.add(csv.toString());
+              return 0L;
+            });
+    final PGConnection pgConnection = Mockito.mock(PGConnection.class);
+    Mockito.when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    final Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    final DataSource dataSource = Mockito.mock(DataSource.class);
+    Mockito.when(dataSource.getConnection()).thenReturn(connection);
+    return dataSource;
+  }
+
+  private List<Path> spilledFiles() {
+    try (final Stream<Path> files = Files.list(this.spillDir)) {
+      return files.filter(file -> file.toString().endsWith(".csv")).toList();
+    } catch (final Exception ex) {
+      return Assertions.fail(ex);
+    }
+  }
+
+  private static EntityTransactionLogEvent event(final Long... ids) {
+    return new EntityTransactionLogEvent(
+        EntityTransactionLogEnum.CREATE, "company", List.of(ids), null, LocalDateTime.now());
+  }
+
+  private static void await(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    Assertions.assertTrue(condition.getAsBoolean());
+  }
+}
@@ -0,0 +1,105 @@
+package com.mycompany.microservice.api.services;
+
+import static com.mycompany.microservice.api.entities.QCompany.company;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.ApiKey;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.mycompany.microservice.api.repositories.CompanyRepository;
+import com.mycompany.microservice.api.testutils.builders.ApiKeyBuilder;
+import com.mycompany.microservice.api.testutils.builders.CompanyBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class BulkOperationIT extends BaseIntegrationTest {
+
+  @Autowired private ApiKeyService apiKeyService;
+  @Autowired private CompanyService companyService;
+  @Autowired private CompanyRepository companyRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Test
+  void verifyInactivateAllForCompany() {
+    final Company platform = this.companyService.create(CompanyBuilder.platform());
+    final Company other = this.companyService.create(CompanyBuilder.platform());
+    final List<ApiKey> apiKeys =
+        this.apiKeyService.createAll(
+            IntStream.range(0, 5).mapToObj(i -> ApiKeyBuilder.apiKey(platform)).toList());
+    final ApiKey otherApiKey = this.apiKeyService.create(ApiKeyBuilder.apiKey(other));
+
+    // loads the keys in the cache, they must be evicted.
+    apiKeys.forEach(
+        apiKey ->
+            Assertions.assertTrue(
+                this.apiKeyService.findByKeyOptional(apiKey.getKey()).isPresent()));
+
+    Assertions.assertEquals(5, this.apiKeyService.inactivateAllForCompany(platform.getId()).size());
+
+    apiKeys.forEach(
+        apiKey ->
+            Assertions.assertTrue(this.apiKeyService.findByKeyOptional(apiKey.getKey()).isEmpty()));
+    Assertions.assertTrue(this.apiKeyService.findByKeyOptional(otherApiKey.getKey()).isPresent());
+    Assertions.assertTrue(this.apiKeyService.inactivateAllForCompany(platform.getId()).isEmpty());
+  }
+
+  @Test
+  void verifyUpdateWhere() {
+    final Company entity = this.companyService.create(CompanyBuilder.company());
+    this.companyService.findById(entity.getId());
+
+    final String name = random();
+    final List<Company> updated =
+        this.companyService.updateWhere(company.id.eq(entity.getId()), Map.of("name", name));
+
+    Assertions.assertEquals(1, updated.size());
+    Assertions.assertEquals(name, this.companyService.findById(entity.getId()).getName());
+  }
+
+  @Test
+  void verifyUpdateWhereRefreshesManagedEntities() {
+    final Company entity = this.companyService.create(CompanyBuilder.company());
+    final String name = random();
+
+    this.transactionTemplate.executeWithoutResult(
+        status -> {
+          final Company managed = this.companyRepository.findById(entity.getId()).orElseThrow();
+          final Company updated =
+              this.companyService
+                  .updateWhere(company.id.eq(entity.getId()), Map.of("name", name))
+                  .getFirst();
+
+          Assertions.assertSame(managed, updated);
+          Assertions.assertEquals(name, updated.getName());
+          Assertions.assertTrue(updated.getUpdatedAt().isAfter(entity.getUpdatedAt()));
+        });
+  }
+
+  @Test
+  void verifyUpdateWhereRejectsAuditColumns() {
+    final Company entity = this.companyService.create(CompanyBuilder.company());
+
+    Assertions.assertThrows(
+        BadRequestException.class,
+        () ->
+            this.companyService.updateWhere(
+                company.id.eq(entity.getId()), Map.of("updatedBy", random())));
+  }
+
+  @Test
+  void verifyDeleteByIds() {
+    final List<Company> companies =
+        this.companyService.createAll(List.of(CompanyBuilder.company(), CompanyBuilder.company()));
+    final List<Long> ids = companies.stream().map(Company::getId).toList();
+    ids.forEach(this.companyService::findById);
+
+    Assertions.assertEquals(2, this.companyService.deleteByIds(ids).size());
+    ids.forEach(id -> Assertions.assertTrue(this.companyService.findByIdOptional(id).isEmpty()));
+    Assertions.assertTrue(this.companyService.deleteByIds(List.of()).isEmpty());
+  }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.microservice.api.services;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.services.CompanyImportService.ImportReport;
+import com.mycompany.microservice.api.services.CompanyImportService.Rejection;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@Slf4j
+class CompanyImportIT extends BaseIntegrationTest {
+
+  private static final String HEADER = "slug,name,federalTaxId,phone,isPlatform\n";
+
+  @Autowired private CompanyImportService companyImportService;
+  @Autowired private CompanyService companyService;
+
+  @Test
+  void verifyImportReportsConflicts() {
+    final Company existing =
+        this.companyService.create(
+            Company.builder()
+                .slug(random())
+                .name(random())
+                .federalTaxId(randomNumeric(14))
+                .build());
+    final String slug = random();
+    final String federalTaxId = randomNumeric(14);
+    // cached as missing, must be evicted by the import.
+    Assertions.assertTrue(this.companyService.findBySlugOptional(slug).isEmpty());
+
+    final String csv =
+        HEADER
+            + String.join(
+                "\n",
+                slug + "," + random() + ",\"12.345.678/0001-" + federalTaxId + "\",(11) 2222,true",
+                existing.getSlug() + "," + random() + ",,,",
+                random() + "," + random() + "," + existing.getFederalTaxId() + ",,",
+                slug + "," + random() + ",,,",
+                random() + ",,,,");
+
+    final ImportReport report = this.importCsv(csv);
+
+    Assertions.assertEquals(5, report.received());
+    Assertions.assertEquals(1, report.imported());
+    Assertions.assertEquals(4, report.rejected());
+    Assertions.assertEquals(
+        List.of("slug_conflict", "federal_tax_id_conflict", "slug_conflict", "invalid"),
+        report.rejections().stream().map(Rejection::reason).toList());
+    Assertions.assertEquals(
+        List.of(3L, 4L, 5L, 6L), report.rejections().stream().map(Rejection::line).toList());
+
+    final Company imported = this.companyService.findBySlug(slug);
+    Assertions.assertEquals("123456780001" + federalTaxId, imported.getFederalTaxId());
+    Assertions.assertEquals("112222", imported.getPhone());
+    Assertions.assertTrue(imported.getIsPlatform());
+    Assertions.assertFalse(imported.getIsInternal());
+  }
+
+  @Test
+  void verifyInvalidRowsAreRejectedBeforeTheCopy() {
+    final String slug = random();
+    final String csv =
+        HEADER
+            + String.join(
+                "\n",
+                random() + "," + "n".repeat(256) + ",,,",
+                random() + "," + random() + "," + "1".repeat(256) + ",,",
+                "\"" + random() + "\u0000\"," + random() + ",,,",
+                " ," + random() + ",,,",
+                slug + "," + (random() + "n".repeat(255)).substring(0, 255) + ",,,");
+
+    final ImportReport report = this.importCsv(csv);
+
+    Assertions.assertEquals(5, report.received());
+    Assertions.assertEquals(1, report.imported());
+    Assertions.assertEquals(
+        List.of(2L, 3L, 4L, 5L), report.rejections().stream().map(Rejection::line).toList());
+    report
+        .rejections()
+        .forEach(rejection -> Assertions.assertEquals("invalid", rejection.reason()));
+    Assertions.assertEquals(255, this.companyService.findBySlug(slug).getName().length());
+  }
+
+  @Test
+  void verifyImportThroughput() {
+    final int rows = 50_000;
+    final StringBuilder csv = new StringBuilder(HEADER);
+    final String prefix = random();
+    for (int i = 0; i < rows; i++) {
+      csv.append(prefix)
+          .append('-')
+          .append(i)
+          .append(',')
+          .append(prefix)
+          .append(' ')
+          .append(i)
+          .append(',')
+          .append(randomNumeric(14))
+          .append(",,false\n");
+    }
+
+    final long start = System.nanoTime();
+    final ImportReport report = this.importCsv(csv.toString());
+    final long elapsedInMs = (System.nanoTime() - start) / 1_000_000;
+    log.info(
+        "imported {} companies in {} ms ({} rows/s)",
+        rows,
+        elapsedInMs,
+        rows * 1000L / elapsedInMs);
+
+    Assertions.assertEquals(rows, report.imported());
+    Assertions.assertEquals(0, report.rejected());
+  }
+
+  private ImportReport importCsv(final String csv) {
+    return this.companyImportService.importCsv(
+        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.microservice.api.services;
+
+import static com.mycompany.microservice.api.entities.QCompany.company;
+
+import com.mycompany.microservice.api.BaseIntegrationTest;
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.enums.PaginationCountEnum;
+import com.mycompany.microservice.api.repositories.CompanyRepository;
+import com.mycompany.microservice.api.services.base.CountedPage;
+import com.querydsl.core.types.Predicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+class PaginationCountIT extends BaseIntegrationTest {
+
+  @Autowired private CompanyService companyService;
+  @Autowired private CompanyRepository companyRepository;
+
+  @Test
+  void verifyCachedCountIsEvictedOnWrites() {
+    final String prefix = random();
+    this.createCompanies(prefix, 2);
+
+    CountedPage<Company> page =
+        this.findAll(company.name.startsWith(prefix), PaginationCountEnum.CACHED);
+    Assertions.assertEquals(2, page.getTotalElements());
+    Assertions.assertEquals(PaginationCountEnum.CACHED, page.getCount());
+
+    // no entity event, the cached total is kept.
+    this.companyRepository.save(Company.builder().name(prefix + random()).slug(random()).build());
+    page = this.findAll(company.name.startsWith(prefix), PaginationCountEnum.CACHED);
+    Assertions.assertEquals(2, page.getTotalElements());
+
+    final Company created = this.createCompanies(prefix, 1);
+    page = this.findAll(company.name.startsWith(prefix), PaginationCountEnum.CACHED);
+    Assertions.assertEquals(4, page.getTotalElements());
+
+    this.companyService.delete(created.getId());
+    page = this.findAll(company.name.startsWith(prefix), PaginationCountEnum.CACHED);
+    Assertions.assertEquals(3, page.getTotalElements());
+  }
+
+  @Test
+  void verifyFilteredEstimateReportsExactCount() {
+    final String prefix = random();
+    this.createCompanies(prefix, 3);
+
+    final CountedPage<Company> page =
+        this.findAll(company.name.startsWith(prefix), PaginationCountEnum.ESTIMATED);
+    Assertions.assertEquals(3, page.getTotalElements());
+    Assertions.assertEquals(PaginationCountEnum.EXACT, page.getCount());
+  }
+
+  @Test
+  void verifyLastPageReportsExactCount() {
+    final String prefix = random();
+    this.createCompanies(prefix, 1);
+
+    final CountedPage<Company> page =
+        this.findAll(company.name.startsWith(prefix), PaginationCountEnum.CACHED);
+    Assertions.assertEquals(1, page.getTotalElements());
+    Assertions.assertEquals(PaginationCountEnum.EXACT, page.getCount());
+  }
+
+  private Company createCompanies(final String prefix, final int size) {
+    return IntStream.range(0, size)
+        .mapToObj(
+            i ->
+                this.companyService.create(
+                    Company.builder().name(prefix + random()).slug(random()).build()))
+        .toList()
+        .getLast();
+  }
+
+  private CountedPage<Company> findAll(final Predicate predicate, final PaginationCountEnum count) {
+    final Slice<Company> slice =
+        this.companyService.findAll(predicate, PageRequest.of(0, 1), count);
+    return Assertions.assertInstanceOf(CountedPage.class, slice);
+  }
+}
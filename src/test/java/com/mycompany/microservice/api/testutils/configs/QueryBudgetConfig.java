@@ -0,0 +1,48 @@
+package com.mycompany.microservice.api.testutils.configs;
+
+import com.mycompany.microservice.api.infra.datasource.DataSourceConfig;
+import com.mycompany.microservice.api.junit.QueryBudgetFilter;
+import com.mycompany.microservice.api.testutils.datasource.ConnectionCounter;
+import com.mycompany.microservice.api.testutils.metrics.CacheMissCounter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfig {
+
+  @Bean
+  public CacheMissCounter cacheMissCounter() {
+    return new CacheMissCounter();
+  }
+
+  /*
+   * Counts the connections from the creation of the pool, before DataSourceConfig wraps it, so a
+   * running context is never modified by a test.
+   * */
+  @Bean
+  public static BeanPostProcessor connectionCounterPostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(
+          @NonNull final Object bean, @NonNull final String beanName) {
+        return DataSourceConfig.PRIMARY_DATASOURCE.equals(beanName)
+                && bean instanceof final HikariDataSource primary
+            ? ConnectionCounter.wrap(primary)
+            : bean;
+      }
+    };
+  }
+
+  @Bean
+  public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter() {
+    final FilterRegistrationBean<QueryBudgetFilter> registration =
+        new FilterRegistrationBean<>(new QueryBudgetFilter());
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+}
@@ -0,0 +1,48 @@
+package com.mycompany.microservice.api.testutils.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.lang.NonNull;
+
+/*
+ * ConnectionCounter:
+ *
+ * Counts the connections borrowed by each thread from the primary pool. The application DataSource
+ * is a lazy connection proxy, a connection is borrowed at the first statement, so background work
+ * (relays, writers) on other threads does not change the count of a test.
+ * Replica reads use their own pools and are not counted.
+ * */
+public class ConnectionCounter implements MethodInterceptor {
+
+  private static final ThreadLocal<long[]> ACQUIRED = ThreadLocal.withInitial(() -> new long[1]);
+
+  private ConnectionCounter() {}
+
+  /*
+   * Class based proxy of the pool, it is still a HikariDataSource for DataSourceConfig and the pool
+   * metrics. Applied once when the context creates the pool (see QueryBudgetConfig).
+   * */
+  public static HikariDataSource wrap(final HikariDataSource dataSource) {
+    final ProxyFactory proxyFactory = new ProxyFactory(dataSource);
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvice(new ConnectionCounter());
+    return (HikariDataSource) proxyFactory.getProxy();
+  }
+
+  /*
+   * Connections borrowed by the current thread, compare two reads.
+   * */
+  public static long count() {
+    return ACQUIRED.get()[0];
+  }
+
+  @Override
+  public Object invoke(@NonNull final MethodInvocation invocation) throws Throwable {
+    if ("getConnection".equals(invocation.getMethod().getName())) {
+      ACQUIRED.get()[0]++;
+    }
+    return invocation.proceed();
+  }
+}
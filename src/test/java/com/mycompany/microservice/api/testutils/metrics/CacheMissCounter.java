@@ -0,0 +1,27 @@
+package com.mycompany.microservice.api.testutils.metrics;
+
+import com.mycompany.microservice.api.infra.metrics.RepositoryMetricsInterceptor.CacheMissListener;
+import java.lang.reflect.Method;
+
+/*
+ * CacheMissCounter:
+ *
+ * Counts the repository cache misses of each thread, registered as a bean by the test config so
+ * the repository interceptors notify it.
+ * */
+public class CacheMissCounter implements CacheMissListener {
+
+  private static final ThreadLocal<long[]> MISSES = ThreadLocal.withInitial(() -> new long[1]);
+
+  /*
+   * Cache misses of the current thread, compare two reads.
+   * */
+  public static long count() {
+    return MISSES.get()[0];
+  }
+
+  @Override
+  public void onMiss(final Class<?> repositoryInterface, final Method method) {
+    MISSES.get()[0]++;
+  }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.microservice.api.utils;
+
+import com.mycompany.microservice.api.entities.Company;
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+class CursorUtilsTest {
+
+  private static final Sort SORT = Sort.by("createdAt", "id");
+
+  @Test
+  void verifyEncodeDecode() {
+    final Map<String, Object> keys = new LinkedHashMap<>();
+    keys.put("createdAt", LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000));
+    keys.put("id", 42L);
+
+    final String cursor = CursorUtils.encode(ScrollPosition.forward(keys));
+    final KeysetScrollPosition position = CursorUtils.decode(cursor, Company.class, SORT);
+
+    Assertions.assertEquals(keys, position.getKeys());
+  }
+
+  @Test
+  void verifyEmptyCursorIsInitialPosition() {
+    Assertions.assertTrue(CursorUtils.decode("", Company.class, SORT).isInitial());
+    Assertions.assertEquals("", CursorUtils.encode(ScrollPosition.keyset()));
+  }
+
+  @Test
+  void verifyInvalidCursor() {
+    Assertions.assertThrows(
+        BadRequestException.class, () -> CursorUtils.decode("not-a-cursor", Company.class, SORT));
+
+    final String unknownProperty =
+        CursorUtils.encode(ScrollPosition.forward(Map.of("createdAt", "2024-01-01T00:00", "x", 1)));
+    Assertions.assertThrows(
+        BadRequestException.class, () -> CursorUtils.decode(unknownProperty, Company.class, SORT));
+  }
+
+  @Test
+  void verifyCursorKeysMustMatchTheSort() {
+    // an entity property outside of the sort, ex: an unindexed column.
+    final String otherProperty =
+        CursorUtils.encode(ScrollPosition.forward(Map.of("name", "a", "id", 1)));
+    Assertions.assertThrows(
+        BadRequestException.class, () -> CursorUtils.decode(otherProperty, Company.class, SORT));
+
+    final String missingProperty = CursorUtils.encode(ScrollPosition.forward(Map.of("id", 1)));
+    Assertions.assertThrows(
+        BadRequestException.class, () -> CursorUtils.decode(missingProperty, Company.class, SORT));
+
+    final Map<String, Object> nullValue = new LinkedHashMap<>();
+    nullValue.put("createdAt", null);
+    nullValue.put("id", 1);
+    final String nullCursor = CursorUtils.encode(ScrollPosition.forward(nullValue));
+    Assertions.assertThrows(
+        BadRequestException.class, () -> CursorUtils.decode(nullCursor, Company.class, SORT));
+
+    final String idOnly = CursorUtils.encode(ScrollPosition.forward(Map.of("id", 1)));
+    Assertions.assertEquals(
+        Map.of("id", 1L), CursorUtils.decode(idOnly, Company.class, Sort.by("id")).getKeys());
+  }
+}
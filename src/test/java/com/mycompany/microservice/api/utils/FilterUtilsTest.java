@@ -0,0 +1,56 @@
+package com.mycompany.microservice.api.utils;
+
+import static com.mycompany.microservice.api.entities.QCompany.company;
+
+import com.mycompany.microservice.api.exceptions.BadRequestException;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.Expressions;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FilterUtilsTest {
+
+  private static final Map<String, Path<?>> FIELDS =
+      Map.of(
+          "slug", company.slug, "isInternal", company.isInternal, "createdAt", company.createdAt);
+
+  @Test
+  void verifyPredicate() {
+    Assertions.assertEquals(
+        company
+            .slug
+            .eq("my:slug")
+            .and(company.isInternal.eq(Expressions.TRUE))
+            .and(company.createdAt.goe(LocalDateTime.of(2024, 1, 1, 0, 0))),
+        ExpressionUtils.extract(
+            FilterUtils.toPredicate(
+                List.of("slug:eq:my:slug", "isInternal:eq:true", "createdAt:gte:2024-01-01"),
+                FIELDS)));
+  }
+
+  @Test
+  void verifyEmptyFilters() {
+    Assertions.assertNull(ExpressionUtils.extract(FilterUtils.toPredicate(null, FIELDS)));
+  }
+
+  @Test
+  void verifyInvalidFilters() {
+    for (final String filter :
+        List.of(
+            "slug",
+            "name:eq:x",
+            "slug:like:x",
+            "slug:gte:x",
+            "isInternal:eq:yes",
+            "createdAt:lt:yesterday")) {
+      Assertions.assertThrows(
+          BadRequestException.class,
+          () -> FilterUtils.toPredicate(List.of(filter), FIELDS),
+          filter);
+    }
+  }
+}
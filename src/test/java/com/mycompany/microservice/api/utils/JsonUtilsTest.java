@@ -1,6 +1,9 @@
 package com.mycompany.microservice.api.utils;
 
 import com.mycompany.microservice.api.entities.Company;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,4 +35,34 @@ class JsonUtilsTest {
     final String json = JsonUtils.serializeToSnakeCase(new Company());
     Assertions.assertTrue(json.contains("official_name"));
   }
+
+  @Test
+  void verifyBytesRoundTrip() {
+    final Company company = Company.builder().officialName("test").build();
+    final byte[] json = JsonUtils.serializeToSnakeCaseBytes(company);
+    Assertions.assertEquals(
+        JsonUtils.serializeToSnakeCase(company), new String(json, StandardCharsets.UTF_8));
+    Assertions.assertEquals(
+        "test", JsonUtils.deserializeFromSnakeCase(json, Company.class).getOfficialName());
+    Assertions.assertNotNull(JsonUtils.deserializeFromSnakeCase(new byte[0], Company.class));
+  }
+
+  @Test
+  void verifyStreamRoundTrip() {
+    final Company company = Company.builder().officialName("test").build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    JsonUtils.serializeToCamelCase(company, output);
+    output.write('\n');
+
+    final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+    Assertions.assertEquals(
+        "test", JsonUtils.deserializeFromCamelCase(input, Company.class).getOfficialName());
+  }
+
+  @Test
+  void verifyInvalidContentThrows() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> JsonUtils.deserializeFromCamelCase("{", Company.class));
+  }
 }
@@ -0,0 +1,50 @@
+package com.mycompany.microservice.api.utils;
+
+import static com.mycompany.microservice.api.entities.QApiKey.apiKey;
+
+import com.mycompany.microservice.api.utils.PredicateSqlUtils.SqlPredicate;
+import com.querydsl.core.BooleanBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PredicateSqlUtilsTest {
+
+  private static final Function<String, String> COLUMNS =
+      property -> property.replaceAll("([A-Z])", "_$1").toLowerCase();
+
+  @Test
+  void verifyToSql() {
+    final SqlPredicate where =
+        PredicateSqlUtils.toSql(
+            apiKey
+                .companyId
+                .eq(1L)
+                .and(apiKey.isActive.isTrue())
+                .and(apiKey.id.in(List.of(2L, 3L)).or(apiKey.name.isNull())),
+            COLUMNS);
+
+    Assertions.assertEquals(
+        "((company_id = :where0 AND is_active = :where1) "
+            + "AND (id IN (:where2) OR name IS NULL))",
+        where.sql());
+    Assertions.assertEquals(
+        Map.of("where0", 1L, "where1", true, "where2", List.of(2L, 3L)), where.parameters());
+  }
+
+  @Test
+  void verifyEmptyPredicateIsRejected() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> PredicateSqlUtils.toSql(new BooleanBuilder(), COLUMNS));
+  }
+
+  @Test
+  void verifyUnsupportedOperatorIsRejected() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> PredicateSqlUtils.toSql(apiKey.name.startsWith("a"), COLUMNS));
+  }
+}